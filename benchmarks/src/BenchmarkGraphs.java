@@ -0,0 +1,197 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+
+/**
+ * This class creates the flight networks the benchmarks run on, and the work
+ * each benchmark measures on them. Synthetic networks come from
+ * NetworkGenerator, and are written to a temporary DOT file in the same
+ * format as flights.dot so they are loaded the same way.
+ *
+ * The application's classes are in the default package, which JMH doesn't
+ * allow benchmarks to be in, and classes in a named package can't refer to
+ * them. So the benchmarks in the benchmarks package call the methods of this
+ * class through reflection, and it hands the work back as java.util.function
+ * types that don't name any class of the application.
+ */
+public class BenchmarkGraphs {
+
+    // The file of real flights, relative to the project directory the benchmarks are run from
+    public static final String FLIGHTS_FILE = "src/flights.dot";
+
+    /**
+     * Writes a network made by NetworkGenerator to a temporary DOT file. The
+     * same seed always gives the same network.
+     *
+     * @param airports the number of airports
+     * @param flights  the number of flights, each of which is stored as an
+     *                 edge in both directions
+     * @param seed     the seed of the random numbers
+     * @return the path of the file, which is deleted when the JVM exits
+     * @throws IOException if the file can't be written
+     */
+    public static Path writeNetwork(int airports, int flights, long seed) throws IOException {
+        Path file = Files.createTempFile("benchmark-flights", ".dot");
+        file.toFile().deleteOnExit();
+        new NetworkGenerator(airports, flights, seed).writeDot(file.toString());
+        return file;
+    }
+
+    /**
+     * Returns the file of a network: flights.dot for "flights", or a
+     * synthetic network with that many flights and about ten flights per
+     * airport.
+     *
+     * @param network "flights" or the number of flights
+     * @return the path of the file
+     * @throws IOException if a synthetic network can't be written
+     */
+    public static String networkFile(String network) throws IOException {
+        if (network.equals("flights"))
+            return FLIGHTS_FILE;
+        int flights = Integer.parseInt(network);
+        int airports = Math.max(100, flights / 10);
+        return writeNetwork(airports, flights, 42).toString();
+    }
+
+    /**
+     * Loads a DOT file of flights into a new graph, the same way the
+     * application does.
+     *
+     * @param file the path of the file
+     * @return the graph holding the airports and flights in the file
+     * @throws IOException if the file can't be read
+     */
+    public static DijkstraGraph<String, Integer> load(String file) throws IOException {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new OpenAddressingMap<>());
+        new Backend<>(graph).readDataFromFile(file);
+        return graph;
+    }
+
+    /**
+     * Returns the work of LoadBenchmark, which loads a network into a new
+     * graph each time it is called.
+     *
+     * @param network "flights" or the number of flights, as for networkFile
+     * @return a call that loads the network and returns the graph
+     * @throws IOException if a synthetic network can't be written
+     */
+    public static Callable<Object> loadWork(String network) throws IOException {
+        String file = networkFile(network);
+        return () -> load(file);
+    }
+
+    /**
+     * Returns the work of EdgeBenchmark, on a graph of random edges with four
+     * edges per node. Each function takes the number of a node pair, and the
+     * same number always uses the same pair.
+     *
+     * @param nodes the number of nodes in the graph
+     * @param pairs the number of node pairs
+     * @return the functions "getEdge", which looks up an edge,
+     *         "insertEdgeUpdatingWeight", which inserts an edge that is
+     *         already in the graph, and "insertAndRemoveNewEdge", which
+     *         inserts a new edge and removes it again so the graph stays the
+     *         same size
+     */
+    public static Map<String, IntFunction<Object>> edgeWork(int nodes, int pairs) {
+        Random random = new Random(42);
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new OpenAddressingMap<>());
+        for (int i = 0; i < nodes; i++)
+            graph.insertNode(NetworkGenerator.airportCode(i));
+        for (int i = 0; i < nodes * 4; i++)
+            graph.insertEdge(NetworkGenerator.airportCode(random.nextInt(nodes)),
+                    NetworkGenerator.airportCode(random.nextInt(nodes)), 1 + random.nextInt(3000));
+        String[] preds = new String[pairs]; // the predecessor of each pair, which has an edge
+        String[] succs = new String[pairs]; // the successor of each pair
+        String[] newSuccs = new String[pairs]; // a successor the predecessor has no edge to
+        for (int i = 0; i < pairs; i++) {
+            // pick a pair that is an edge, and a pair from the same node that is not
+            List<BaseGraph<String, Integer>.Edge> edges;
+            do {
+                edges = graph.nodeList.get(random.nextInt(nodes)).edgesLeaving;
+            } while (edges.isEmpty());
+            BaseGraph<String, Integer>.Edge edge = edges.get(random.nextInt(edges.size()));
+            String pred = edge.predecessor.data;
+            String succ = edge.successor.data;
+            String newSucc;
+            do {
+                newSucc = NetworkGenerator.airportCode(random.nextInt(nodes));
+            } while (graph.containsEdge(pred, newSucc));
+            preds[i] = pred;
+            succs[i] = succ;
+            newSuccs[i] = newSucc;
+        }
+        Map<String, IntFunction<Object>> work = new HashMap<>();
+        work.put("getEdge", pair -> graph.getEdge(preds[pair], succs[pair]));
+        work.put("insertEdgeUpdatingWeight", pair -> graph.insertEdge(preds[pair], succs[pair], pair));
+        work.put("insertAndRemoveNewEdge", pair -> {
+            graph.insertEdge(preds[pair], newSuccs[pair], pair);
+            return graph.removeEdge(preds[pair], newSuccs[pair]);
+        });
+        return work;
+    }
+
+    /**
+     * Returns the work of ShortestPathBenchmark, which finds the route between
+     * the next of a fixed list of airport pairs. Pairs with no route make the
+     * search settle every airport it can reach before it gives up.
+     *
+     * @param network "flights" or the number of flights, as for networkFile
+     * @param kind    "random" for random pairs, "hubToHub" for pairs of the
+     *                busiest airports, or "unreachable" for pairs with no route
+     * @param pairs   the number of pairs
+     * @param hubs    the number of busiest airports counted as hubs
+     * @return a function that takes the number of a pair and returns its
+     *         route, or null when there is none
+     * @throws IOException if the network can't be written or read
+     */
+    public static IntFunction<List<String>> shortestPathWork(String network, String kind, int pairs, int hubs)
+            throws IOException {
+        DijkstraGraph<String, Integer> graph = load(networkFile(network));
+        List<String> airports = new ArrayList<>();
+        for (BaseGraph<String, Integer>.Node node : graph.nodeList)
+            airports.add(node.data);
+        // the hubs are the airports with the most flights
+        List<String> busiest = new ArrayList<>(airports);
+        busiest.sort((a, b) -> graph.nodes.get(b).edgesLeaving.size() - graph.nodes.get(a).edgesLeaving.size());
+        busiest = busiest.subList(0, hubs);
+        // two airports that are only connected to each other can't be reached from the rest of the network
+        graph.insertNode("UNREACHABLE1");
+        graph.insertNode("UNREACHABLE2");
+        graph.insertEdge("UNREACHABLE1", "UNREACHABLE2", 100);
+        graph.insertEdge("UNREACHABLE2", "UNREACHABLE1", 100);
+
+        Random random = new Random(42);
+        String[] starts = new String[pairs];
+        String[] ends = new String[pairs];
+        for (int i = 0; i < pairs; i++) {
+            if (kind.equals("random")) {
+                starts[i] = airports.get(random.nextInt(airports.size()));
+                ends[i] = airports.get(random.nextInt(airports.size()));
+            } else if (kind.equals("hubToHub")) {
+                starts[i] = busiest.get(random.nextInt(hubs));
+                ends[i] = busiest.get(random.nextInt(hubs));
+            } else {
+                starts[i] = airports.get(random.nextInt(airports.size()));
+                ends[i] = "UNREACHABLE" + (1 + random.nextInt(2));
+            }
+        }
+        return pair -> {
+            try {
+                return graph.shortestPathData(starts[pair], ends[pair]);
+            } catch (NoSuchElementException e) {
+                return null; // no route, which is expected for the unreachable pairs
+            }
+        };
+    }
+
+}
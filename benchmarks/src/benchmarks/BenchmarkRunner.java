@@ -0,0 +1,42 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so the allocation rate and bytes
+ * allocated per operation are reported next to each time, and saves the
+ * results as JSON so runs before and after a change can be compared.
+ *
+ * Run it from the project directory, so flights.dot is found, with the name
+ * of the results file and optionally a regular expression picking which
+ * benchmarks to run, for example:
+ *
+ *   java benchmarks.BenchmarkRunner before.json ShortestPath
+ *
+ * The benchmarks can also be run through JMH's own main class, with the same
+ * profiler turned on by its -prof gc option:
+ *
+ *   java org.openjdk.jmh.Main ShortestPath -prof gc -rf json -rff after.json
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Usage: java benchmarks.BenchmarkRunner <results file> [benchmark pattern]");
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .include(args.length == 2 ? args[1] : "Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args[0])
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Measures BaseGraph.insertEdge and getEdge on a graph of random edges. Each
+ * call uses the next of a fixed list of node pairs, so every iteration does
+ * the same work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EdgeBenchmark {
+
+    private static final int PAIRS = 1 << 16; // the number of node pairs, a power of two
+
+    // The number of nodes in the graph, which has four edges per node
+    @Param({"1000", "100000"})
+    public int nodes;
+
+    private IntFunction<Object> getEdge;
+    private IntFunction<Object> insertEdgeUpdatingWeight;
+    private IntFunction<Object> insertAndRemoveNewEdge;
+    private int next = 0; // the pair the next call uses
+
+    @Setup
+    public void buildGraph() throws Exception {
+        Map<String, IntFunction<Object>> work = Workloads.call("edgeWork", nodes, PAIRS);
+        getEdge = work.get("getEdge");
+        insertEdgeUpdatingWeight = work.get("insertEdgeUpdatingWeight");
+        insertAndRemoveNewEdge = work.get("insertAndRemoveNewEdge");
+    }
+
+    @Benchmark
+    public Object getEdge() {
+        return getEdge.apply(next++ & (PAIRS - 1));
+    }
+
+    @Benchmark
+    public Object insertEdgeUpdatingWeight() {
+        return insertEdgeUpdatingWeight.apply(next++ & (PAIRS - 1));
+    }
+
+    @Benchmark
+    public Object insertAndRemoveNewEdge() {
+        // the edge is removed again so the graph stays the same size
+        return insertAndRemoveNewEdge.apply(next++ & (PAIRS - 1));
+    }
+
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Backend.readDataFromFile on flights.dot and on synthetic networks
+ * of up to a few million flights. Every flight is stored as two edges, so the
+ * largest network has six million edges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LoadBenchmark {
+
+    // The number of flights in a synthetic network, or "flights" for flights.dot
+    @Param({"flights", "10000", "100000", "1000000", "3000000"})
+    public String network;
+
+    private Callable<Object> load; // loads the network into a new graph
+
+    @Setup
+    public void writeFile() throws Exception {
+        load = Workloads.call("loadWork", network);
+    }
+
+    @Benchmark
+    public Object readDataFromFile() throws Exception {
+        return load.call();
+    }
+
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Measures DijkstraGraph.shortestPathData for three kinds of airport pairs:
+ * random pairs, pairs of the busiest hubs, and pairs with no route between
+ * them, which make the search settle every airport it can reach before it
+ * gives up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ShortestPathBenchmark {
+
+    private static final int PAIRS = 1024; // the number of pairs, a power of two
+    private static final int HUBS = 10; // the number of busiest airports counted as hubs
+
+    // The number of flights in a synthetic network, or "flights" for flights.dot
+    @Param({"flights", "100000"})
+    public String network;
+
+    // The kind of pairs to find routes between
+    @Param({"random", "hubToHub", "unreachable"})
+    public String pairs;
+
+    private IntFunction<List<String>> route; // finds the route of a pair, or null when there is none
+    private int next = 0; // the pair the next call uses
+
+    @Setup
+    public void buildPairs() throws Exception {
+        route = Workloads.call("shortestPathWork", network, pairs, PAIRS, HUBS);
+    }
+
+    @Benchmark
+    public List<String> shortestPathData() {
+        return route.apply(next++ & (PAIRS - 1));
+    }
+
+}
@@ -0,0 +1,46 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Calls the static methods of BenchmarkGraphs, which is in the default
+ * package with the rest of the application and so can only be reached
+ * through reflection from this package. The reflection is only used while a
+ * benchmark is set up, never in the code being measured.
+ */
+final class Workloads {
+
+    private static final String BRIDGE = "BenchmarkGraphs"; // the class holding the work of each benchmark
+
+    private Workloads() {
+    }
+
+    /**
+     * Calls a public static method of BenchmarkGraphs.
+     *
+     * @param name the name of the method, which must not be overloaded
+     * @param args the arguments to pass to it
+     * @return what the method returns
+     * @throws Exception what the method throws, or an exception if it can't
+     *                   be found or called
+     */
+    @SuppressWarnings("unchecked") // the caller names the type the method is declared to return
+    static <T> T call(String name, Object... args) throws Exception {
+        for (Method method : Class.forName(BRIDGE).getMethods()) {
+            if (!method.getName().equals(name))
+                continue;
+            try {
+                return (T) method.invoke(null, args);
+            } catch (InvocationTargetException e) {
+                // rethrow what the method threw rather than the wrapper around it
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception)
+                    throw (Exception) cause;
+                throw (Error) cause;
+            }
+        }
+        throw new NoSuchMethodException(BRIDGE + "." + name);
+    }
+
+}
@@ -1,6 +1,13 @@
-import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class implements the BackendInterface and stores a file of flights and airports in a DijkstraGraph and uses the
@@ -10,7 +17,22 @@ import java.util.Scanner;
 public class Backend<NodeType, EdgeType extends Number> implements BackendInterface{
 
     private DijkstraGraph graph; // The graph we are storing the airports (nodes) and flights (edges) in
-    private int totalMiles = 0; // The total mileage in all flights in the dataset
+    private final AtomicLong totalMiles = new AtomicLong(); // The total mileage in all flights read from files
+    // The read-only graph read from a snapshot or published by publishGraph, used in place of graph. It is volatile so
+    // every thread that finds routes sees the whole graph once it is set.
+    private volatile FrozenGraph<String, Integer> snapshot = null;
+    private volatile long snapshotMiles = 0; // The total mileage in all flights in the snapshot
+    // A frozen copy of graph for the searches that need one when there is no snapshot, and the modCount of graph when
+    // it was made, so it is only copied again after the graph changes
+    private FrozenGraph<String, Integer> frozenCopy = null;
+    private long frozenCopyModCount = -1;
+    private GreatCircleHeuristic coordinates = new GreatCircleHeuristic(); // The coordinates of the airports
+    private volatile ContractionHierarchy<String, Integer> hierarchy = null; // Answers route queries once built
+    // The modCount of graph when the hierarchy was built from it, or -1 when it was built from the snapshot, so a
+    // hierarchy made before the graph changed is not used
+    private volatile long hierarchyModCount = -1;
+    private volatile RouteCache<String, Integer> routeCache = null; // Keeps recent routes, when it is turned on
+    private volatile LatencyHistogram searchLatencies = null; // The time of each route search, when it is turned on
 
     /**
      * Creates a new Backend object
@@ -29,44 +51,217 @@ public class Backend<NodeType, EdgeType extends Number> implements BackendInterf
     @Override
     public void readDataFromFile(String filePath) throws IOException {
         // Make sure the file exists and if not, throw an IOException
-        try {
-            // Create the file and a scanner to read from the file
-            File file = new File(filePath);
-            Scanner fileScanner = new Scanner(file);
-            // Keep reading from the scanner until the file doesn't have a line
-            while (fileScanner.hasNextLine()){
-                String line = fileScanner.nextLine().trim(); // The current line in the file
-                // Use regex to see if the current line is an edge in the file
-                if (line.matches("\"[A-Z][A-Z][A-Z]......[A-Z][A-Z][A-Z].*")){
-                    // The starting airport should be from indexes 1-4 in the line
-                    String airportFrom = line.substring(1,4);
-                    // The destination airport should be from indexes 10-13 in the line
-                    String airportTo = line.substring(10,13);
-                    // Check if the graph contains a node with the data from either airport
-                    if (!graph.containsNode(airportFrom)){
-                        // If it does not contain this node, insert it into the graph as a node
-                        graph.insertNode(airportFrom);
-                    }
-                    if (!graph.containsNode(airportTo)){
-                        // If it does not contain this node, insert it into the graph as a node
-                        graph.insertNode(airportTo);
+        Path path = Paths.get(filePath);
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("File not found");
+        }
+        // The graph is about to change, so stop using a snapshot or hierarchy made before, and the routes found in them
+        this.snapshot = null;
+        this.hierarchy = null;
+        clearRouteCache();
+        // Stream the edges out of the file, adding each airport and flight to the graph as it is read
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            DotParser parser = new DotParser(channel, "miles");
+            parser.parse(new DotParser.Handler() {
+                @Override
+                public void edge(String airportFrom, String airportTo, long miles) throws IOException {
+                    // Weights are stored as ints, so a larger mileage would wrap around to a negative weight
+                    if (miles > Integer.MAX_VALUE) {
+                        throw new IOException("Line " + parser.getLine() + " of " + filePath + ": " + miles +
+                                " miles is too many for one flight");
                     }
-                    // The weight should be from index 22 to index length-2 in the line
-                    int weight = Integer.parseInt(line.substring(22, line.length()-2));
-                    totalMiles+=weight; // Update the total miles with this new edge
+                    // Intern each airport code as the id of its node, inserting the node if the graph does not
+                    // contain it yet, so the code is only hashed once for this edge
+                    int fromId = graph.internNode(airportFrom);
+                    int toId = graph.internNode(airportTo);
+                    int weight = (int) miles;
+                    totalMiles.addAndGet(weight); // Update the total miles with this new edge
                     // Because the edges are undirected, we must insert two new edges, one from the start airport to
                     // the end airport, and one from the end airport to the start airport
-                    graph.insertEdge(airportFrom, airportTo, weight);
-                    graph.insertEdge(airportTo, airportFrom, weight);
+                    graph.insertEdgeById(fromId, toId, weight);
+                    graph.insertEdgeById(toId, fromId, weight);
                 }
+
+                @Override
+                public void nodeAttribute(String airport, String name, String value) {
+                    // Airports may be given lat and lon attributes, which are used for the A* search
+                    setCoordinate(airport, name, value);
+                }
+            });
+        }
+        catch (NumberFormatException e) {
+            throw new IOException("Invalid coordinate in " + filePath, e);
+        }
+        updateHeuristic();
+    }
+
+    /**
+     * Reads the coordinates of airports from a side file, where each line holds an airport code, its latitude and its
+     * longitude in degrees, separated by commas (for example ORD,41.9786,-87.9048). Blank lines and lines starting
+     * with # are skipped. Once every airport in the graph has coordinates, routes are found with an A* search that
+     * uses the great-circle distance to the destination as its estimate.
+     *
+     * @param filePath The path to the file of coordinates.
+     * @throws IOException If there's an issue reading the file, or a line is not valid.
+     */
+    public void readCoordinatesFromFile(String filePath) throws IOException {
+        // Make sure the file exists and if not, throw an IOException
+        Path path = Paths.get(filePath);
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("File not found");
+        }
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(path)) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            try {
+                coordinates.setLatitude(fields[0].trim(), Double.parseDouble(fields[1].trim()));
+                coordinates.setLongitude(fields[0].trim(), Double.parseDouble(fields[2].trim()));
+            }
+            catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Line " + lineNumber + " of " + filePath + " is not airport,latitude,longitude");
             }
         }
-        // Throw an exception if the file isn't found
-        catch(Exception e){
+        updateHeuristic();
+    }
+
+    // Stores a lat or lon attribute of an airport, ignoring other attributes
+    private void setCoordinate(String airport, String name, String value) {
+        if (name.equals("lat") || name.equals("latitude")) {
+            coordinates.setLatitude(airport, Double.parseDouble(value));
+        } else if (name.equals("lon") || name.equals("longitude")) {
+            coordinates.setLongitude(airport, Double.parseDouble(value));
+        }
+    }
+
+    // Turns on the A* search when every airport in the graph has coordinates. If any airport were missing them, its
+    // estimate of 0 could make the heuristic inconsistent, so plain Dijkstra's algorithm is used instead.
+    private void updateHeuristic() {
+        for (Object node : graph.nodeList) {
+            if (node != null && !coordinates.hasCoordinates((String) ((BaseGraph.Node) node).data)) {
+                graph.setHeuristic(null);
+                return;
+            }
+        }
+        graph.setHeuristic(graph.getNodeCount() > 0 ? coordinates : null);
+    }
+
+
+    /**
+     * Reads a binary snapshot of the graph written by GraphSnapshot, and uses it in place of the graph for finding
+     * routes and statistics, until another file is read into the graph.
+     *
+     * @param filePath The path to the snapshot file.
+     * @throws IOException If there's an issue reading the file, or it is not a valid snapshot.
+     */
+    @Override
+    public void readDataFromSnapshot(String filePath) throws IOException {
+        // Make sure the file exists and if not, throw an IOException
+        if (!Files.isRegularFile(Paths.get(filePath))) {
             throw new IOException("File not found");
         }
+        FrozenGraph<String, Integer> loaded = GraphSnapshot.read(filePath);
+        // Each flight is stored as two edges, one in each direction, so the total miles is half the sum of the weights
+        long miles = 0;
+        for (double weight : loaded.weights) {
+            miles += (long) weight;
+        }
+        this.snapshotMiles = miles / 2;
+        this.snapshot = loaded;
+        this.hierarchy = null;
+        clearRouteCache();
+    }
+
+    /**
+     * Freezes the airports and flights loaded so far into a read-only graph and uses it to find routes from now on.
+     * Once it is published, any number of threads may call getShortestRoute, getShortestRoutes and
+     * getDatasetStatistics at the same time, each searching with its own arrays. Reading another file stops using the
+     * published graph until it is published again, and reading files must not overlap with other calls.
+     */
+    public void publishGraph() {
+        this.hierarchy = null;
+        this.snapshotMiles = this.totalMiles.get();
+        this.snapshot = graph.freeze();
+        clearRouteCache();
+    }
+
+    /**
+     * Builds a contraction hierarchy of the airports and flights loaded so far, and uses it to find every route from
+     * now on. Building it can take a few seconds on a large dataset, but each route is then found by searching only a
+     * handful of airports. Loading another file throws the hierarchy away, and changing the graph directly stops
+     * using it until it is built again.
+     */
+    public void buildContractionHierarchy() {
+        FrozenGraph<String, Integer> frozen = this.snapshot;
+        long modCount = -1;
+        if (frozen == null) {
+            modCount = graph.getModCount();
+            frozen = graph.freeze();
+        }
+        // Set the modCount first, so a thread that sees the new hierarchy also sees the modCount it was built at
+        this.hierarchyModCount = modCount;
+        this.hierarchy = new ContractionHierarchy<>(frozen);
+        clearRouteCache();
+    }
+
+    /**
+     * Turns on a cache of the most recently used routes, so routes that are asked for again are not searched for
+     * again. The cache is emptied whenever the graph changes or another graph is loaded, and its hits, misses and
+     * evictions are added to the dataset statistics.
+     *
+     * @param maxSize          The most routes to keep at once.
+     * @param timeToLiveMillis How long to keep a route, in milliseconds, or 0 to keep it until it is evicted for space.
+     */
+    public void enableRouteCache(int maxSize, long timeToLiveMillis) {
+        this.routeCache = new RouteCache<>(maxSize, timeToLiveMillis);
+    }
+
+    /**
+     * Turns on search statistics. Each route found from then on carries the counters of the search that found it,
+     * available from its getSearchStats(), and the time of each search is added to a histogram whose percentiles are
+     * added to the dataset statistics. While they are off, searches don't count or time anything.
+     */
+    public void enableSearchStats() {
+        this.searchLatencies = new LatencyHistogram();
+    }
+
+    /**
+     * Returns the histogram of the time each route search took since search statistics were turned on.
+     *
+     * @return the histogram of search times, or null if search statistics are off
+     */
+    public LatencyHistogram getSearchLatencies() {
+        return this.searchLatencies;
+    }
+
+    // Returns the snapshot when one was read or published, or else a frozen copy of the graph. The copy is kept and
+    // used again until the graph changes, so its per-thread engines are kept as well.
+    private FrozenGraph<String, Integer> frozenGraph() {
+        FrozenGraph<String, Integer> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            long modCount = graph.getModCount();
+            if (frozenCopy == null || frozenCopyModCount != modCount) {
+                frozenCopy = graph.freeze();
+                frozenCopyModCount = modCount;
+            }
+            return frozenCopy;
+        }
     }
 
+    // Empties the route cache, if it is turned on, since the graph routes are found in was replaced
+    private void clearRouteCache() {
+        RouteCache<String, Integer> cache = this.routeCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
 
     /**
      * Gets the shortest route from a start to a destination airport in the dataset.
@@ -77,8 +272,136 @@ public class Backend<NodeType, EdgeType extends Number> implements BackendInterf
      */
     @Override
     public ShortestPathResult getShortestRoute(Object startAirport, Object destinationAirport) {
+        RouteCache<String, Integer> cache = this.routeCache;
+        if (cache == null) {
+            return timedRoute(startAirport, destinationAirport);
+        }
+        // Use the cached route if it was found since the graph last changed
+        long version = graph.getModCount();
+        ShortestPathResult<String, Integer> cached = cache.get((String) startAirport, (String) destinationAirport,
+                version);
+        if (cached != null) {
+            return cached;
+        }
+        ShortestPathResult<String, Integer> result = timedRoute(startAirport, destinationAirport);
+        try {
+            // Compute the route now, since the cache shares it with every thread that asks for it
+            result.getTotalMiles();
+            cache.put((String) startAirport, (String) destinationAirport, version, result);
+        }
+        catch (NoSuchElementException e) {
+            // There is no route, so there is nothing to cache, and the result reports it when it is used
+        }
+        return result;
+    }
+
+    // Finds the route between two airports, and when search statistics are on, records how long its search took
+    private ShortestPathResult timedRoute(Object startAirport, Object destinationAirport) {
+        LatencyHistogram latencies = this.searchLatencies;
+        if (latencies == null) {
+            return findRoute(startAirport, destinationAirport, null);
+        }
+        SearchStats stats = new SearchStats();
+        try {
+            ShortestPathResult result = findRoute(startAirport, destinationAirport, stats);
+            try {
+                // Compute the route now, so its search is timed even if the result is never used
+                result.getTotalMiles();
+            }
+            catch (NoSuchElementException e) {
+                // There is no route, and the result reports it when it is used
+            }
+            return result;
+        }
+        finally {
+            latencies.record(stats.getNanos());
+        }
+    }
+
+    // Finds the route between two airports with the hierarchy, the snapshot or the graph, whichever is in use, and
+    // counts the work done by its search in stats unless stats is null
+    private ShortestPathResult findRoute(Object startAirport, Object destinationAirport, SearchStats stats) {
+        // Read each volatile field once, so the whole search uses the same graph
+        ContractionHierarchy<String, Integer> hierarchy = this.hierarchy;
+        FrozenGraph<String, Integer> snapshot = this.snapshot;
+        // When a contraction hierarchy was built, use it to find the route, unless it was built from the graph and
+        // the graph changed since
+        long modCount = this.hierarchyModCount;
+        if (hierarchy != null && (modCount == -1 || modCount == graph.getModCount())) {
+            return hierarchy.shortestPathResult((String) startAirport, (String) destinationAirport, stats);
+        }
+        // When a snapshot was read or published, find the route in it right away
+        if (snapshot != null) {
+            return snapshot.shortestPathResult((String) startAirport, (String) destinationAirport, stats);
+        }
         // Create and return a new ShortestPathResult with the current graph, start airport, and destination airport
-        return new ShortestPathResult(this.graph, startAirport, destinationAirport);
+        return new ShortestPathResult(this.graph, startAirport, destinationAirport, stats);
+    }
+
+    /**
+     * Gets the shortest route from a start to a destination airport that takes at most a given number of flights,
+     * which may be longer than the shortest route when that route has more flights. The route is found in the
+     * snapshot, or a frozen copy of the graph, even when a contraction hierarchy was built, since its shortcuts hide
+     * how many flights a route takes. These routes are not kept in the route cache.
+     *
+     * @param startAirport       The starting airport.
+     * @param destinationAirport The destination airport.
+     * @param maxFlights         The most flights the route may take, so 1 only allows a direct flight.
+     * @return An instance of ShortestPathResult containing the shortest path information.
+     * @throws NoSuchElementException if either airport is not in the dataset, or there is no route with at most
+     *                                maxFlights flights.
+     * @throws IllegalArgumentException if maxFlights is negative.
+     */
+    @Override
+    public ShortestPathResult getShortestRoute(Object startAirport, Object destinationAirport, int maxFlights) {
+        FrozenGraph<String, Integer> frozen = frozenGraph();
+        // Time the search when search statistics are on, like the routes without a limit
+        LatencyHistogram latencies = this.searchLatencies;
+        if (latencies == null) {
+            return frozen.shortestPathResult((String) startAirport, (String) destinationAirport, maxFlights, null);
+        }
+        SearchStats stats = new SearchStats();
+        try {
+            return frozen.shortestPathResult((String) startAirport, (String) destinationAirport, maxFlights, stats);
+        }
+        finally {
+            latencies.record(stats.getNanos());
+        }
+    }
+
+    /**
+     * Gets the shortest routes for a batch of start and destination airports. Pairs that share a start airport are
+     * answered by one search that stops once all of their destinations are found, and the searches for different
+     * start airports run in parallel.
+     *
+     * @param startAirports       The starting airport of each pair.
+     * @param destinationAirports The destination airport of each pair, in the same order.
+     * @return The shortest route of each pair in the same order as the pairs, with null for pairs that have no route
+     * or an airport that is not in the dataset.
+     */
+    @Override
+    public List<ShortestPathResult<String, Integer>> getShortestRoutes(List startAirports, List destinationAirports) {
+        // Search the snapshot when one was read or published, or else a frozen copy of the graph
+        return frozenGraph().shortestPathResults((List<String>) startAirports, (List<String>) destinationAirports);
+    }
+
+    /**
+     * Gets the cheapest routes from a start to a destination airport that never visit an airport twice, so the
+     * shortest route can be shown along with a few alternatives.
+     *
+     * @param startAirport       The starting airport.
+     * @param destinationAirport The destination airport.
+     * @param count              The most routes to return.
+     * @return Up to count routes in order of total miles, starting with the shortest route, or an empty list when
+     * there is no route or count is 0.
+     * @throws NoSuchElementException if either airport is not in the dataset.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    @Override
+    public List<ShortestPathResult<String, Integer>> getAlternativeRoutes(Object startAirport,
+                                                                         Object destinationAirport, int count) {
+        // Search the snapshot when one was read or published, or else a frozen copy of the graph
+        return frozenGraph().kShortestPaths((String) startAirport, (String) destinationAirport, count);
     }
 
     /**
@@ -89,9 +412,22 @@ public class Backend<NodeType, EdgeType extends Number> implements BackendInterf
      */
     @Override
     public String getDatasetStatistics() {
-        // Return a string with all the data from the graph
-        String statistics = "The number of airports in the graph is " + graph.getNodeCount() + ", the number of flights " +
-                "is " + (graph.getEdgeCount()/2) + ", and the total miles is " + this.totalMiles + ".";
+        // Return a string with all the data from the graph, or from the snapshot when one was read
+        FrozenGraph<String, Integer> snapshot = this.snapshot;
+        GraphADT counted = snapshot != null ? snapshot : graph;
+        long miles = snapshot != null ? this.snapshotMiles : this.totalMiles.get();
+        String statistics = "The number of airports in the graph is " + counted.getNodeCount() + ", the number of flights " +
+                "is " + (counted.getEdgeCount()/2) + ", and the total miles is " + miles + ".";
+        // Add the counters of the route cache, only when it is turned on
+        RouteCache<String, Integer> cache = this.routeCache;
+        if (cache != null) {
+            statistics += " " + cache.getStatistics();
+        }
+        // Add the percentiles of the search times, only when search statistics are turned on
+        LatencyHistogram latencies = this.searchLatencies;
+        if (latencies != null) {
+            statistics += " " + latencies.getStatistics();
+        }
         return statistics;
     }
 
@@ -100,7 +436,7 @@ public class Backend<NodeType, EdgeType extends Number> implements BackendInterf
      */
     public static void main(String[] args) {
 
-        PlaceholderMap map = new PlaceholderMap();
+        OpenAddressingMap map = new OpenAddressingMap();
 
         DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
 
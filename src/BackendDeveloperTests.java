@@ -2,7 +2,20 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * This class tests the Backend class and ShortestPathResult classes and makes sure they function as expected
@@ -309,6 +322,749 @@ public class BackendDeveloperTests {
 
     }
 
-}
+    /**
+     * This method checks that the route, the miles per segment and the total miles of one ShortestPathResult all
+     * describe the same path, and that asking for them again returns the same data
+     */
+    @Test
+    public void testShortestPathResultDataIsConsistent(){
+        // Surround with a try/catch to make sure the readDataFromFile() method doesn't throw an exception
+        try {
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            // Read the data from a test file
+            backend.readDataFromFile("src/SmallFlight.dot");
+
+            ShortestPathResult<String, Integer> shortestPathResult = backend.getShortestRoute("BWI", "STL");
+            // There should be one segment less than the number of airports, and the segments should add up to the
+            // total miles
+            int segmentTotal = 0;
+            for (Object miles : shortestPathResult.getMilesPerSegment()) {
+                segmentTotal += (Integer) miles;
+            }
+            Assertions.assertEquals(shortestPathResult.getRoute().size() - 1,
+                    shortestPathResult.getMilesPerSegment().size());
+            Assertions.assertEquals((double) segmentTotal, (double) shortestPathResult.getTotalMiles());
+            // Asking again should give back the same route
+            Assertions.assertEquals(shortestPathResult.getRoute(), shortestPathResult.getRoute());
+        }
+        // Fails if an exception is thrown in readDataFromFile() method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that readDataFromFile() reads airport ids of any length, quoted or not, along with comments,
+     * edge chains and extra attributes
+     */
+    @Test
+    public void testReadDataFromFileWithLongIds(){
+        // Surround with a try/catch to make sure the readDataFromFile() method doesn't throw an exception
+        try {
+            // Write a small test file
+            Path file = Files.createTempFile("flights", ".dot");
+            Files.write(file, ("graph test {\n" +
+                    "    // airports with longer ids\n" +
+                    "    \"KORD\" -- \"KLAX\" [miles=1744, airline=\"UA\"];\n" +
+                    "    KLAX -- \"EGLL\" -- KJFK [miles=10];\n" +
+                    "    \"KORD\" [city=\"Chicago, IL\"];\n" +
+                    "}\n").getBytes());
+
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            backend.readDataFromFile(file.toString());
+            Files.delete(file);
+
+            String expected = "The number of airports in the graph is 4, the number of flights is 3, and the total miles is 1764.";
+            Assertions.assertEquals(expected, backend.getDatasetStatistics());
+            Assertions.assertEquals(1744, (int) graph.getEdge("KLAX", "KORD"));
+            Assertions.assertTrue(graph.containsEdge("EGLL", "KJFK"));
+        }
+        // Fails if an exception is thrown in readDataFromFile() method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that readDataFromFile() rejects mileages too large to store, naming the line they are on,
+     * instead of wrapping them around to negative weights
+     */
+    @Test
+    public void testReadDataFromFileWithTooManyMiles(){
+        // Surround with a try/catch to make sure writing the test files doesn't throw an exception
+        try {
+            // Write one file with a mileage just too large for an int, and one too large even for a long
+            Path file = Files.createTempFile("flights", ".dot");
+            Path longFile = Files.createTempFile("flights", ".dot");
+            Files.write(file, ("graph test {\n" +
+                    "    ORD -- MSN [miles=109];\n" +
+                    "    ORD -- LAX [miles=2147483648];\n" +
+                    "}\n").getBytes());
+            Files.write(longFile, ("graph test {\n" +
+                    "    ORD -- LAX [miles=99999999999999999999];\n" +
+                    "}\n").getBytes());
+
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            IOException tooLarge = Assertions.assertThrows(IOException.class,
+                    () -> backend.readDataFromFile(file.toString()));
+            Assertions.assertTrue(tooLarge.getMessage().startsWith("Line 3 of "));
+            IOException wrapped = Assertions.assertThrows(IOException.class,
+                    () -> backend.readDataFromFile(longFile.toString()));
+            Assertions.assertTrue(wrapped.getMessage().startsWith("Line 2: "));
+            Files.delete(file);
+            Files.delete(longFile);
+            Assertions.assertFalse(graph.containsEdge("ORD", "LAX"));
+        }
+        // Fails if an exception is thrown while writing the files
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that a snapshot written from a loaded graph can be read back with readDataFromSnapshot(), and
+     * gives the same statistics and routes as the DOT file it was made from
+     */
+    @Test
+    public void testReadDataFromSnapshot(){
+        // Surround with a try/catch to make sure the readDataFromSnapshot() method doesn't throw an exception
+        try {
+            // Load the test file and write a snapshot of it
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            Backend fileBackend = new Backend(graph);
+            fileBackend.readDataFromFile("src/SmallFlight.dot");
+            Path snapshotFile = Files.createTempFile("SmallFlight", ".snapshot");
+            GraphSnapshot.write(graph.freeze(), snapshotFile.toString());
+
+            // Read the snapshot into a backend with an empty graph
+            Backend snapshotBackend = new Backend(new DijkstraGraph(new PlaceholderMap()));
+            snapshotBackend.readDataFromSnapshot(snapshotFile.toString());
+
+            Assertions.assertEquals(fileBackend.getDatasetStatistics(), snapshotBackend.getDatasetStatistics());
+            ShortestPathResult<String, Integer> shortestPathResult = snapshotBackend.getShortestRoute("BWI", "STL");
+            Assertions.assertEquals("[BWI, DFW, BNA, DAL, STL]", shortestPathResult.getRoute().toString());
+            Assertions.assertEquals("[1216, 631, 623, 546]", shortestPathResult.getMilesPerSegment().toString());
+            Assertions.assertEquals(3016.0, (double) shortestPathResult.getTotalMiles());
+
+            // A snapshot with a changed byte should fail its checksum
+            byte[] bytes = Files.readAllBytes(snapshotFile);
+            bytes[bytes.length - 1]++;
+            Files.write(snapshotFile, bytes);
+            Assertions.assertThrows(IOException.class,
+                    () -> snapshotBackend.readDataFromSnapshot(snapshotFile.toString()));
+            Files.delete(snapshotFile);
+        }
+        // Fails if an exception is thrown while writing or reading the snapshot
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that reading a file after a snapshot was read or the graph was published stops using the
+     * snapshot, so the statistics and routes come from the graph the file was read into
+     */
+    @Test
+    public void testReadDataFromFileAfterSnapshot(){
+        // Surround with a try/catch to make sure the read methods don't throw an exception
+        try {
+            // Write a snapshot of the test file
+            DijkstraGraph<String, Integer> fileGraph = new DijkstraGraph(new PlaceholderMap());
+            Backend fileBackend = new Backend(fileGraph);
+            fileBackend.readDataFromFile("src/SmallFlight.dot");
+            Path snapshotFile = Files.createTempFile("SmallFlight", ".snapshot");
+            GraphSnapshot.write(fileGraph.freeze(), snapshotFile.toString());
+            Path file = Files.createTempFile("flights", ".dot");
+            Files.write(file, "graph test {\n    ORD -- MSN [miles=109];\n}\n".getBytes());
+
+            // Read the snapshot, then a file of other flights into the empty graph
+            Backend backend = new Backend(new DijkstraGraph(new PlaceholderMap()));
+            backend.enableRouteCache(10, 0);
+            backend.readDataFromSnapshot(snapshotFile.toString());
+            Assertions.assertEquals("[BWI, DFW, BNA, DAL, STL]", backend.getShortestRoute("BWI", "STL").getRoute().toString());
+            backend.readDataFromFile(file.toString());
+            Files.delete(file);
+            Files.delete(snapshotFile);
+            String expected = "The number of airports in the graph is 2, the number of flights is 1, and the total " +
+                    "miles is 109.";
+            Assertions.assertTrue(backend.getDatasetStatistics().startsWith(expected));
+            Assertions.assertEquals("[ORD, MSN]", backend.getShortestRoute("ORD", "MSN").getRoute().toString());
+            Assertions.assertThrows(NoSuchElementException.class,
+                    () -> backend.getShortestRoute("BWI", "STL").getRoute());
+
+            // Publishing the graph keeps its miles, and reading another file adds to them
+            backend.publishGraph();
+            Assertions.assertTrue(backend.getDatasetStatistics().startsWith(expected));
+            backend.readDataFromFile("src/SmallFlight.dot");
+            Assertions.assertTrue(backend.getDatasetStatistics().startsWith("The number of airports in the graph " +
+                    "is 13, the number of flights is 11, and the total miles is " + (109 + 9937) + "."));
+            Assertions.assertEquals("[BWI, DFW, BNA, DAL, STL]", backend.getShortestRoute("BWI", "STL").getRoute().toString());
+        }
+        // Fails if an exception is thrown while writing or reading the files
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that NetworkGenerator makes the same network from the same seed, with hubs, every airport
+     * connected and mileages no shorter than the great-circle distance, and that its DOT file and snapshot load into
+     * backends that find the same routes
+     */
+    @Test
+    public void testGeneratedNetwork(){
+        // Surround with a try/catch to make sure loading the generated files doesn't throw an exception
+        try {
+            NetworkGenerator generator = new NetworkGenerator(3000, 9000, 7);
+            Path dotFile = Files.createTempFile("generated", ".dot");
+            Path sameSeedFile = Files.createTempFile("generated", ".dot");
+            Path snapshotFile = Files.createTempFile("generated", ".snapshot");
+            generator.writeDot(dotFile.toString());
+            new NetworkGenerator(3000, 9000, 7).writeDot(sameSeedFile.toString());
+            generator.writeSnapshot(snapshotFile.toString());
+            Assertions.assertTrue(Arrays.equals(Files.readAllBytes(dotFile), Files.readAllBytes(sameSeedFile)));
+
+            // The busiest hub should have many times the average of 6 routes per airport
+            int mostRoutes = 0;
+            for (int airport = 0; airport < 3000; airport++)
+                mostRoutes = Math.max(mostRoutes, generator.getRouteCount(airport));
+            Assertions.assertTrue(mostRoutes >= 60);
+
+            // Load the DOT file, whose coordinates turn on the A* search, and the snapshot
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(new OpenAddressingMap());
+            Backend dotBackend = new Backend(graph);
+            dotBackend.readDataFromFile(dotFile.toString());
+            Backend snapshotBackend = new Backend(new DijkstraGraph(new PlaceholderMap()));
+            snapshotBackend.readDataFromSnapshot(snapshotFile.toString());
+            Assertions.assertTrue(dotBackend.getDatasetStatistics().startsWith(
+                    "The number of airports in the graph is 3000, the number of flights is 9000,"));
+            Assertions.assertEquals(dotBackend.getDatasetStatistics(), snapshotBackend.getDatasetStatistics());
+
+            GreatCircleHeuristic coordinates = new GreatCircleHeuristic();
+            for (int airport = 0; airport < 3000; airport++) {
+                coordinates.setLatitude(NetworkGenerator.airportCode(airport), generator.getLatitude(airport));
+                coordinates.setLongitude(NetworkGenerator.airportCode(airport), generator.getLongitude(airport));
+            }
+            Random random = new Random(7);
+            for (int i = 0; i < 50; i++) {
+                String start = NetworkGenerator.airportCode(random.nextInt(3000));
+                String end = NetworkGenerator.airportCode(random.nextInt(3000));
+                // Every airport can reach every other, and both backends agree on the cost
+                ShortestPathResult<String, Integer> route = dotBackend.getShortestRoute(start, end);
+                Assertions.assertEquals((double) route.getTotalMiles(),
+                        (double) snapshotBackend.getShortestRoute(start, end).getTotalMiles());
+                List<String> airports = route.getRoute();
+                for (int j = 0; j + 1 < airports.size(); j++)
+                    Assertions.assertTrue(graph.getEdge(airports.get(j), airports.get(j + 1))
+                            >= coordinates.estimate(airports.get(j), airports.get(j + 1)));
+            }
+            Files.delete(dotFile);
+            Files.delete(sameSeedFile);
+            Files.delete(snapshotFile);
+        }
+        // Fails if an exception is thrown while writing or reading the generated files
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that networks with only a few airports, where a quarter of all pairs is fewer routes than it
+     * takes to connect every airport, can still be generated with just those routes
+     */
+    @Test
+    public void testSmallGeneratedNetworks(){
+        for (int airports = 2; airports <= 5; airports++) {
+            FrozenGraph<String, Integer> graph = new NetworkGenerator(airports, airports - 1, 3).toFrozenGraph();
+            Assertions.assertEquals(airports, graph.getNodeCount());
+            Assertions.assertEquals(2 * (airports - 1), graph.getEdgeCount());
+            // Every airport can reach every other
+            for (int i = 0; i < airports; i++)
+                Assertions.assertTrue(graph.shortestPathTree(NetworkGenerator.airportCode(0))
+                        .canReach(NetworkGenerator.airportCode(i)));
+        }
+        // Five airports allow a quarter of their 20 pairs, and no more
+        Assertions.assertEquals(5, new NetworkGenerator(5, 5, 3).getRouteCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NetworkGenerator(5, 6, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NetworkGenerator(3, 3, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NetworkGenerator(3, 1, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NetworkGenerator(1, 0, 3));
+    }
+
+    /**
+     * This method checks that once every airport has coordinates from readCoordinatesFromFile(), the A* search finds
+     * the same routes as Dijkstra's algorithm
+     */
+    @Test
+    public void testGetShortestRouteWithCoordinates(){
+        // Surround with a try/catch to make sure the read methods don't throw an exception
+        try {
+            // Write the coordinates of the airports in the test file
+            Path file = Files.createTempFile("airports", ".csv");
+            Files.write(file, ("# airport,latitude,longitude\n" +
+                    "DFW,32.8998,-97.0403\nMKE,42.9472,-87.8966\nBNA,36.1245,-86.6782\n" +
+                    "DAL,32.8471,-96.8518\nSTL,38.7487,-90.3700\nSJC,37.3626,-121.9290\n" +
+                    "PDX,45.5898,-122.5951\nBWI,39.1754,-76.6683\nCLE,41.4117,-81.8498\n" +
+                    "CLT,35.2140,-80.9431\nLAS,36.0840,-115.1537\n").getBytes());
+
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            backend.readDataFromFile("src/SmallFlight.dot");
+            Assertions.assertNull(graph.heuristic);
+            backend.readCoordinatesFromFile(file.toString());
+            Files.delete(file);
+            Assertions.assertNotNull(graph.heuristic);
+
+            ShortestPathResult<String, Integer> shortestPathResult = backend.getShortestRoute("BWI", "STL");
+            Assertions.assertEquals("[BWI, DFW, BNA, DAL, STL]", shortestPathResult.getRoute().toString());
+            Assertions.assertEquals(3016.0, (double) shortestPathResult.getTotalMiles());
+            ShortestPathResult<String, Integer> otherResult = backend.getShortestRoute("PDX", "MKE");
+            Assertions.assertEquals("[PDX, DFW, MKE]", otherResult.getRoute().toString());
+        }
+        // Fails if an exception is thrown in the read methods
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * Tests that routes found with a contraction hierarchy cost the same as the routes found in the graph, and list
+     * the airports and flights of the original dataset
+     */
+    @Test
+    public void testGetShortestRouteWithContractionHierarchy(){
+        // Surround with a try/catch to make sure the read method doesn't throw an exception
+        try {
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            backend.readDataFromFile("src/SmallFlight.dot");
+            String[] airports = {"DFW", "MKE", "BNA", "DAL", "STL", "SJC", "PDX", "BWI", "CLE", "CLT", "LAS"};
+            ShortestPathResult[][] expected = new ShortestPathResult[airports.length][airports.length];
+            for (int i = 0; i < airports.length; i++)
+                for (int j = 0; j < airports.length; j++)
+                    expected[i][j] = backend.getShortestRoute(airports[i], airports[j]);
+
+            backend.buildContractionHierarchy();
+            for (int i = 0; i < airports.length; i++) {
+                for (int j = 0; j < airports.length; j++) {
+                    ShortestPathResult<String, Integer> result = backend.getShortestRoute(airports[i], airports[j]);
+                    Assertions.assertEquals((double) expected[i][j].getTotalMiles(), (double) result.getTotalMiles());
+                    // Every hop must be a flight in the dataset, not a shortcut
+                    List<String> route = result.getRoute();
+                    List<Integer> miles = result.getMilesPerSegment();
+                    for (int k = 0; k < miles.size(); k++)
+                        Assertions.assertEquals((int) graph.getEdge(route.get(k), route.get(k + 1)), (int) miles.get(k));
+                }
+            }
+        }
+        // Fails if an exception is thrown in the read method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * Tests that a contraction hierarchy built from the graph is not used once the graph is changed directly, and is
+     * used again once it is rebuilt
+     */
+    @Test
+    public void testContractionHierarchyAfterGraphChanges(){
+        // Surround with a try/catch to make sure the read method doesn't throw an exception
+        try {
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+            Backend<String, Integer> backend = new Backend<>(graph);
+            backend.readDataFromFile("src/SmallFlight.dot");
+            backend.buildContractionHierarchy();
+            List<String> route = backend.getShortestRoute("MKE", "STL").getRoute();
+            Assertions.assertTrue(route.size() > 2);
+
+            // A new direct flight is the shortest route right away, without building the hierarchy again
+            graph.insertEdge("MKE", "STL", 1);
+            graph.insertEdge("STL", "MKE", 1);
+            ShortestPathResult<String, Integer> direct = backend.getShortestRoute("MKE", "STL");
+            Assertions.assertEquals(List.of("MKE", "STL"), direct.getRoute());
+            Assertions.assertEquals(1.0, direct.getTotalMiles());
+            // Removing it brings back the old route
+            graph.removeEdge("MKE", "STL");
+            Assertions.assertEquals(route, backend.getShortestRoute("MKE", "STL").getRoute());
+
+            // A hierarchy built after the change sees it
+            graph.insertEdge("MKE", "STL", 1);
+            backend.buildContractionHierarchy();
+            Assertions.assertEquals(List.of("MKE", "STL"), backend.getShortestRoute("MKE", "STL").getRoute());
+        }
+        // Fails if an exception is thrown in the read method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * Tests that a batch of routes gives the same routes as asking for each pair on its own, in the order the pairs
+     * were given, with null for a pair that has an airport not in the dataset, and sees changes to the graph
+     */
+    @Test
+    public void testGetShortestRoutesBatch(){
+        // Surround with a try/catch to make sure the read method doesn't throw an exception
+        try {
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            backend.readDataFromFile("src/SmallFlight.dot");
+            // Many pairs share a start airport, and one airport is not in the dataset
+            String[] airports = {"DFW", "MKE", "BNA", "DAL", "STL", "SJC", "PDX", "BWI", "CLE", "CLT", "LAS"};
+            List<String> starts = new ArrayList<>();
+            List<String> destinations = new ArrayList<>();
+            for (String start : airports) {
+                for (int j = airports.length - 1; j >= 0; j--) {
+                    starts.add(start);
+                    destinations.add(airports[j]);
+                }
+            }
+            starts.add("BWI");
+            destinations.add("XXX");
+
+            List<ShortestPathResult<String, Integer>> results = backend.getShortestRoutes(starts, destinations);
+            Assertions.assertEquals(starts.size(), results.size());
+            for (int i = 0; i < starts.size() - 1; i++) {
+                ShortestPathResult<String, Integer> expected = backend.getShortestRoute(starts.get(i), destinations.get(i));
+                Assertions.assertEquals((double) expected.getTotalMiles(), (double) results.get(i).getTotalMiles());
+                Assertions.assertEquals(starts.get(i), results.get(i).getRoute().get(0));
+                Assertions.assertEquals(destinations.get(i),
+                        results.get(i).getRoute().get(results.get(i).getRoute().size() - 1));
+            }
+            Assertions.assertNull(results.get(starts.size() - 1));
+
+            // The copy of the graph searched by a batch is made again once the graph changes
+            List<String> bwi = List.of("BWI");
+            List<String> stl = List.of("STL");
+            List<ShortestPathResult<String, Integer>> before = backend.getShortestRoutes(bwi, stl);
+            Assertions.assertEquals(3016.0, (double) before.get(0).getTotalMiles());
+            graph.insertEdge("BWI", "STL", 700);
+            List<ShortestPathResult<String, Integer>> after = backend.getShortestRoutes(bwi, stl);
+            Assertions.assertEquals("[BWI, STL]", after.get(0).getRoute().toString());
+        }
+        // Fails if an exception is thrown in the read method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * Tests that many threads can find routes at the same time once the graph is published, and that every thread
+     * gets the same routes as a single thread does
+     */
+    @Test
+    public void testConcurrentRoutesOnPublishedGraph(){
+        // Surround with a try/catch to make sure the read method and threads don't throw an exception
+        try {
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            backend.readDataFromFile("src/SmallFlight.dot");
+            String[] airports = {"DFW", "MKE", "BNA", "DAL", "STL", "SJC", "PDX", "BWI", "CLE", "CLT", "LAS"};
+            double[][] expected = new double[airports.length][airports.length];
+            for (int i = 0; i < airports.length; i++)
+                for (int j = 0; j < airports.length; j++)
+                    expected[i][j] = (double) backend.getShortestRoute(airports[i], airports[j]).getTotalMiles();
+            String statistics = backend.getDatasetStatistics();
+
+            backend.publishGraph();
+            // Start all of the threads at once, each asking for every route many times
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    boolean same = true;
+                    for (int round = 0; round < 50; round++) {
+                        for (int i = 0; i < airports.length; i++) {
+                            for (int j = 0; j < airports.length; j++) {
+                                ShortestPathResult<String, Integer> result =
+                                        backend.getShortestRoute(airports[i], airports[j]);
+                                same &= (double) result.getTotalMiles() == expected[i][j];
+                                same &= result.getRoute().get(0).equals(airports[i]);
+                            }
+                        }
+                        same &= backend.getDatasetStatistics().equals(statistics);
+                    }
+                    return same;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures)
+                Assertions.assertTrue(future.get());
+            pool.shutdown();
+        }
+        // Fails if an exception is thrown in the read method or by a thread
+        catch (IOException | InterruptedException | ExecutionException e){
+            e.printStackTrace();
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * Tests that the route cache evicts the least recently used route when it is full, evicts routes once their time
+     * to live has passed, and empties itself when a newer version of the graph is given
+     */
+    @Test
+    public void testRouteCacheEvictionAndInvalidation(){
+        // Use a clock the test moves forward by hand, in nanoseconds
+        long[] now = {0};
+        RouteCache<String, Integer> cache = new RouteCache<>(2, 10, () -> now[0]);
+        ShortestPathResult<String, Integer> first = new ShortestPathResult<>(List.of("A", "B"), List.of(3), 3);
+        ShortestPathResult<String, Integer> second = new ShortestPathResult<>(List.of("B", "C"), List.of(4), 4);
+        ShortestPathResult<String, Integer> third = new ShortestPathResult<>(List.of("C", "D"), List.of(5), 5);
 
+        Assertions.assertNull(cache.get("A", "B", 0));
+        cache.put("A", "B", 0, first);
+        cache.put("B", "C", 0, second);
+        // Using A to B makes B to C the least recently used route, so it is evicted for C to D
+        Assertions.assertEquals(first, cache.get("A", "B", 0));
+        cache.put("C", "D", 0, third);
+        Assertions.assertNull(cache.get("B", "C", 0));
+        Assertions.assertEquals(third, cache.get("C", "D", 0));
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(2, cache.getMisses());
+        Assertions.assertEquals(1, cache.getEvictions());
 
+        // After 10 milliseconds every route has expired
+        now[0] += 10_000_000L;
+        Assertions.assertNull(cache.get("A", "B", 0));
+        Assertions.assertEquals(2, cache.getEvictions());
+
+        // A route found in an older version of the graph is never returned
+        cache.put("A", "B", 0, first);
+        Assertions.assertNull(cache.get("A", "B", 1));
+        Assertions.assertEquals(1, cache.getInvalidations());
+        cache.put("A", "B", 0, first);
+        Assertions.assertEquals(0, cache.getSize());
+    }
+
+    /**
+     * Tests that the backend answers repeated routes from its cache, finds routes again after the graph changes, and
+     * adds the cache counters to the dataset statistics only when the cache is turned on
+     */
+    @Test
+    public void testGetShortestRouteWithRouteCache(){
+        // Surround with a try/catch to make sure the read method doesn't throw an exception
+        try {
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            backend.readDataFromFile("src/SmallFlight.dot");
+            String statistics = backend.getDatasetStatistics();
+            backend.enableRouteCache(100, 0);
+
+            ShortestPathResult<String, Integer> result = backend.getShortestRoute("BWI", "STL");
+            Assertions.assertEquals(result, backend.getShortestRoute("BWI", "STL"));
+            Assertions.assertTrue(backend.getDatasetStatistics().startsWith(statistics + " The route cache has 1 "));
+            Assertions.assertTrue(backend.getDatasetStatistics().contains("1 hits, 1 misses"));
+
+            // A direct flight makes the cached route out of date
+            graph.insertEdge("BWI", "STL", 1);
+            ShortestPathResult<String, Integer> changed = backend.getShortestRoute("BWI", "STL");
+            Assertions.assertEquals("[BWI, STL]", changed.getRoute().toString());
+            Assertions.assertEquals(1.0, (double) changed.getTotalMiles());
+            Assertions.assertTrue(backend.getDatasetStatistics().contains("1 invalidations"));
+        }
+        // Fails if an exception is thrown in the read method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that routes only carry search counters once search statistics are turned on, that the
+     * counters add up for the graph, snapshot and contraction hierarchy searches, and that the percentiles of the
+     * search times are added to the dataset statistics
+     */
+    @Test
+    public void testGetShortestRouteWithSearchStats(){
+        // Surround with a try/catch to make sure the read method doesn't throw an exception
+        try {
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            backend.readDataFromFile("src/SmallFlight.dot");
+            String statistics = backend.getDatasetStatistics();
+            Assertions.assertNull(backend.getShortestRoute("BWI", "STL").getSearchStats());
+            Assertions.assertNull(backend.getSearchLatencies());
+
+            backend.enableSearchStats();
+            ShortestPathResult<String, Integer> result = backend.getShortestRoute("BWI", "STL");
+            SearchStats stats = result.getSearchStats();
+            Assertions.assertEquals("[BWI, DFW, BNA, DAL, STL]", result.getRoute().toString());
+            // Every entry taken off the heap was settled or skipped, except for the destination
+            Assertions.assertTrue(stats.getSettledCount() >= 4);
+            Assertions.assertEquals(stats.getPopCount(), stats.getSettledCount() + stats.getSkippedCount() + 1);
+            Assertions.assertTrue(stats.getRelaxedCount() >= stats.getSettledCount());
+            Assertions.assertTrue(stats.getPushCount() >= stats.getPopCount());
+            Assertions.assertTrue(stats.getNanos() > 0);
+
+            // The snapshot engine and the hierarchy count their own searches
+            backend.publishGraph();
+            SearchStats snapshotStats = backend.getShortestRoute("BWI", "STL").getSearchStats();
+            Assertions.assertEquals(snapshotStats.getPopCount(), snapshotStats.getSettledCount());
+            Assertions.assertTrue(snapshotStats.getSettledCount() >= 5);
+            backend.buildContractionHierarchy();
+            SearchStats hierarchyStats = backend.getShortestRoute("BWI", "STL").getSearchStats();
+            Assertions.assertEquals(hierarchyStats.getPopCount(),
+                    hierarchyStats.getSettledCount() + hierarchyStats.getSkippedCount());
+
+            Assertions.assertEquals(3, backend.getSearchLatencies().getCount());
+            Assertions.assertTrue(backend.getDatasetStatistics().startsWith(statistics + " Of 3 route searches, 50% "));
+
+            // Percentiles are never below the real time, and at most a sixteenth above it
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (long nanos = 1; nanos <= 100000; nanos++)
+                histogram.record(nanos);
+            Assertions.assertTrue(histogram.getPercentile(0.5) >= 50000);
+            Assertions.assertTrue(histogram.getPercentile(0.5) <= 50000 + 50000 / 16);
+            Assertions.assertTrue(histogram.getPercentile(0.999) >= 99900);
+            Assertions.assertEquals(1, histogram.getPercentile(0));
+        }
+        // Fails if an exception is thrown in the read method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that a limit on the number of flights gives the shortest route with no more flights than that,
+     * which is longer than the shortest route when that takes more flights, and that a limit too low for any route is
+     * reported
+     */
+    @Test
+    public void testGetShortestRouteWithMaxFlights(){
+        // Surround with a try/catch to make sure the read method doesn't throw an exception
+        try {
+            // Create the map and graph that should be used in the backend class
+            PlaceholderMap map = new PlaceholderMap();
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
+            // Create a backend object
+            Backend backend = new Backend(graph);
+            backend.readDataFromFile("src/flights.dot");
+            ShortestPathResult<String, Integer> shortest = backend.getShortestRoute("RNO", "DCA");
+            Assertions.assertEquals("[RNO, SLC, OMA, CMH, DCA]", shortest.getRoute().toString());
+            // With enough flights allowed the route is the shortest route
+            Assertions.assertEquals(shortest.getRoute(), backend.getShortestRoute("RNO", "DCA", 4).getRoute());
+            // With one flight fewer the route is a mile longer, through SLC and maybe OMA, which both come to 2273
+            // miles
+            ShortestPathResult<String, Integer> limited = backend.getShortestRoute("RNO", "DCA", 3);
+            Assertions.assertTrue(limited.getRoute().toString().matches("\\[RNO, SLC, (OMA, )?DCA\\]"));
+            Assertions.assertEquals(2273.0, limited.getTotalMiles());
+            Assertions.assertEquals(limited.getRoute().size() - 1, limited.getMilesPerSegment().size());
+            // The snapshot finds a route just as long
+            backend.publishGraph();
+            Assertions.assertEquals(2273.0, backend.getShortestRoute("RNO", "DCA", 3).getTotalMiles());
+            // No flights only reaches the start airport
+            Assertions.assertThrows(NoSuchElementException.class, () -> backend.getShortestRoute("RNO", "DCA", 0));
+            Assertions.assertEquals(List.of("RNO"), backend.getShortestRoute("RNO", "RNO", 0).getRoute());
+        }
+        // Fails if an exception is thrown in the read method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+    /**
+     * This method checks that the alternative routes between two airports start with the shortest route, get no
+     * shorter, never visit an airport twice and are all different, and that asking for no routes or for an airport
+     * not in the dataset is handled
+     */
+    @Test
+    public void testGetAlternativeRoutes(){
+        // Surround with a try/catch to make sure the read method doesn't throw an exception
+        try {
+            DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+            Backend<String, Integer> backend = new Backend<>(graph);
+            backend.readDataFromFile("src/flights.dot");
+            List<ShortestPathResult<String, Integer>> routes = backend.getAlternativeRoutes("RNO", "DCA", 5);
+            Assertions.assertEquals(5, routes.size());
+            // The first route is the shortest route
+            ShortestPathResult<String, Integer> shortest = backend.getShortestRoute("RNO", "DCA");
+            Assertions.assertEquals(shortest.getRoute(), routes.get(0).getRoute());
+            Assertions.assertEquals(shortest.getTotalMiles(), routes.get(0).getTotalMiles());
+            double previous = 0;
+            for (int i = 0; i < routes.size(); i++) {
+                List<String> route = routes.get(i).getRoute();
+                double total = (double) routes.get(i).getTotalMiles();
+                Assertions.assertTrue(total >= previous);
+                previous = total;
+                Assertions.assertEquals("RNO", route.get(0));
+                Assertions.assertEquals("DCA", route.get(route.size() - 1));
+                // No airport is visited twice, and no route is listed twice
+                Assertions.assertEquals(route.size(), new HashSet<>(route).size());
+                for (int j = 0; j < i; j++)
+                    Assertions.assertFalse(route.equals(routes.get(j).getRoute()));
+            }
+            // Asking for no routes gives none, and an airport not in the dataset is reported either way
+            Assertions.assertTrue(backend.getAlternativeRoutes("RNO", "DCA", 0).isEmpty());
+            Assertions.assertThrows(NoSuchElementException.class, () -> backend.getAlternativeRoutes("RNO", "XXX", 3));
+            Assertions.assertThrows(NoSuchElementException.class, () -> backend.getAlternativeRoutes("XXX", "DCA", 0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> backend.getAlternativeRoutes("RNO", "DCA", -1));
+        }
+        // Fails if an exception is thrown in the read method
+        catch (IOException e){
+            e.printStackTrace();
+            System.out.println("The file was not found");
+            Assertions.fail();
+        }
+    }
+
+}
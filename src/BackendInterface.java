@@ -1,4 +1,6 @@
 import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 public interface BackendInterface<NodeType, EdgeType extends Number> {
     // Constructor (commented for reference)
@@ -12,6 +14,15 @@ public interface BackendInterface<NodeType, EdgeType extends Number> {
      */
     void readDataFromFile(String filePath) throws IOException;
 
+    /**
+     * Reads a binary snapshot of the graph written by GraphSnapshot, and uses it in place of the graph for
+     * finding routes and statistics, until another file is read into the graph.
+     *
+     * @param filePath The path to the snapshot file.
+     * @throws IOException If there's an issue reading the file, or it is not a valid snapshot.
+     */
+    void readDataFromSnapshot(String filePath) throws IOException;
+
     /**
      * Gets the shortest route from a start to a destination airport in the dataset.
      *
@@ -21,6 +32,45 @@ public interface BackendInterface<NodeType, EdgeType extends Number> {
      */
     ShortestPathResult<NodeType, EdgeType> getShortestRoute(NodeType startAirport, NodeType destinationAirport);
 
+    /**
+     * Gets the shortest route from a start to a destination airport that takes at most a given number of flights,
+     * which may be longer than the shortest route when that route has more flights.
+     *
+     * @param startAirport       The starting airport.
+     * @param destinationAirport The destination airport.
+     * @param maxFlights         The most flights the route may take, so 1 only allows a direct flight.
+     * @return An instance of ShortestPathResult containing the shortest path information.
+     */
+    ShortestPathResult<NodeType, EdgeType> getShortestRoute(NodeType startAirport, NodeType destinationAirport,
+                                                            int maxFlights);
+
+    /**
+     * Gets the shortest routes for a batch of start and destination airports. Pairs that share a start airport are
+     * answered by one search, and the searches for different start airports run in parallel.
+     *
+     * @param startAirports       The starting airport of each pair.
+     * @param destinationAirports The destination airport of each pair, in the same order.
+     * @return The shortest route of each pair in the same order as the pairs, with null for pairs that have no route
+     * or an airport that is not in the dataset.
+     */
+    List<ShortestPathResult<NodeType, EdgeType>> getShortestRoutes(List<NodeType> startAirports,
+                                                                  List<NodeType> destinationAirports);
+
+    /**
+     * Gets the cheapest routes from a start to a destination airport that never visit an airport twice, so the
+     * shortest route can be shown along with a few alternatives.
+     *
+     * @param startAirport       The starting airport.
+     * @param destinationAirport The destination airport.
+     * @param count              The most routes to return.
+     * @return Up to count routes in order of total miles, starting with the shortest route, or an empty list when
+     * there is no route or count is 0.
+     * @throws NoSuchElementException if either airport is not in the dataset.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    List<ShortestPathResult<NodeType, EdgeType>> getAlternativeRoutes(NodeType startAirport,
+                                                                     NodeType destinationAirport, int count);
+
     /**
      * Gets a string with statistics about the dataset.
      *
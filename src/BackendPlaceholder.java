@@ -20,6 +20,16 @@ public class BackendPlaceholder<NodeType, EdgeType extends Number> implements Ba
         // Placeholder implementation
     }
 
+    /**
+     * Reads the graph from a binary snapshot file
+     * @param filePath The path to the snapshot file.
+     * @throws IOException if data is invalid
+     */
+    @Override
+    public void readDataFromSnapshot(String filePath) throws IOException {
+        // Placeholder implementation
+    }
+
     /**
      * Returns the shortest path from
      * @param startAirport      The starting airport.
@@ -31,6 +41,41 @@ public class BackendPlaceholder<NodeType, EdgeType extends Number> implements Ba
         return null; // Placeholder implementation
     }
 
+    /**
+     * Returns the shortest path between two airports that takes at most some number of flights
+     * @param startAirport       The starting airport.
+     * @param destinationAirport The destination airport.
+     * @param maxFlights         The most flights the route may take.
+     * @return the shortest path result
+     */
+    @Override
+    public ShortestPathResult getShortestRoute(Object startAirport, Object destinationAirport, int maxFlights){
+        return null; // Placeholder implementation
+    }
+
+    /**
+     * Returns the shortest paths for a batch of airport pairs
+     * @param startAirports       The starting airport of each pair.
+     * @param destinationAirports The destination airport of each pair.
+     * @return the shortest path results as a list
+     */
+    @Override
+    public List getShortestRoutes(List startAirports, List destinationAirports){
+        return null; // Placeholder implementation
+    }
+
+    /**
+     * Returns the cheapest loopless routes between two airports
+     * @param startAirport       The starting airport.
+     * @param destinationAirport The destination airport.
+     * @param count              The most routes to return.
+     * @return the routes as a list
+     */
+    @Override
+    public List getAlternativeRoutes(Object startAirport, Object destinationAirport, int count){
+        return null; // Placeholder implementation
+    }
+
     /**
      * This method gets statistics about the flight graph
      * @return a formatted string containing dataset statistics
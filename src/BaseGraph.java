@@ -1,18 +1,26 @@
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.LinkedList;
 import java.util.NoSuchElementException;
 
 /**
  * This BaseGraph class contains stores a set of nodes, along with a set of
  * directed and weighted edges connecting those nodes.
+ *
+ * A BaseGraph is not thread-safe. To answer queries from many threads at
+ * once, build the graph on one thread and then share a FrozenGraph made by
+ * freeze(), which can be searched by any number of threads.
  */
 public class BaseGraph<NodeType, EdgeType extends Number> {
 
-    // Each node contains unique data along with two lists of directed edges
+    // Each node contains unique data along with two lists of directed edges,
+    // and the id it was given when it was inserted into the graph. The edge
+    // lists are array backed so they can be walked or indexed in linear time.
     protected class Node {
         public NodeType data;
-        public List<Edge> edgesLeaving = new LinkedList<>();
-        public List<Edge> edgesEntering = new LinkedList<>();
+        public int id;
+        public List<Edge> edgesLeaving = new ArrayList<>();
+        public List<Edge> edgesEntering = new ArrayList<>();
 
         public Node(NodeType data) {
             this.data = data;
@@ -22,6 +30,10 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
     // Nodes can be retrieved from this map by their unique data
     protected MapADT<NodeType, Node> nodes = null;
 
+    // Nodes can also be walked in insertion order through this list, where
+    // each node is stored at its id (removed nodes leave a null behind)
+    protected ArrayList<Node> nodeList = new ArrayList<>();
+
     // Each edge contains data/weight, and two nodes that it connects
     protected class Edge {
         public EdgeType data; // the weight or cost of this edge
@@ -36,7 +48,12 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
     }
 
     protected int edgeCount = 0;
-    // Edges can be retrieved through the edge lists in either connected node
+    // Counts the changes made to the graph, so anything computed from it can
+    // tell whether it has changed since
+    protected long modCount = 0;
+    // Edges can be retrieved through the edge lists in either connected node,
+    // or directly by the ids of those two nodes through this index
+    protected HashMap<Long, Edge> edgeIndex = new HashMap<>();
 
     /**
      * Constructor for BaseGraph that provides the map the graph uses.
@@ -59,7 +76,11 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
     public boolean insertNode(NodeType data) {
         if (nodes.containsKey(data))
             return false; // throws NPE when data's null
-        nodes.put(data, new Node(data));
+        Node newNode = new Node(data);
+        newNode.id = nodeList.size();
+        nodeList.add(newNode);
+        nodes.put(data, newNode);
+        modCount++;
         return true;
     }
 
@@ -77,12 +98,23 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
         if (!nodes.containsKey(data))
             return false; // throws NPE when data==null
         Node oldNode = nodes.remove(data);
+        nodeList.set(oldNode.id, null);
         // remove all edges entering neighboring nodes from this one
-        for (Edge edge : oldNode.edgesLeaving)
+        for (Edge edge : oldNode.edgesLeaving) {
             edge.successor.edgesEntering.remove(edge);
+            edgeIndex.remove(edgeKey(edge.predecessor, edge.successor));
+            this.edgeCount--;
+        }
         // remove all edges leaving neighboring nodes toward this one
-        for (Edge edge : oldNode.edgesEntering)
+        // (an edge from this node to itself was already removed above)
+        for (Edge edge : oldNode.edgesEntering) {
+            if (edge.predecessor == oldNode)
+                continue;
             edge.predecessor.edgesLeaving.remove(edge);
+            edgeIndex.remove(edgeKey(edge.predecessor, edge.successor));
+            this.edgeCount--;
+        }
+        modCount++;
         return true;
     }
 
@@ -97,6 +129,68 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
         return nodes.containsKey(data);
     }
 
+    /**
+     * Returns the id of the node containing some data, inserting a new node
+     * for it first if it is not in the graph yet. Node ids are dense ints
+     * given out in insertion order and never reused, so a loader can intern
+     * each item once and then insert all of its edges with insertEdgeById,
+     * hashing and comparing the data only once.
+     *
+     * @param data the data item to find or insert a node for
+     * @return the id of the node containing data
+     * @throws NullPointerException if data is null
+     */
+    public int internNode(NodeType data) {
+        if (nodes.containsKey(data))
+            return nodes.get(data).id; // throws NPE when data's null
+        insertNode(data);
+        return nodeList.size() - 1;
+    }
+
+    /**
+     * Returns the id of the node containing some data.
+     *
+     * @param data the data item stored in the node
+     * @return the id of the node containing data
+     * @throws NoSuchElementException if no node contains data
+     */
+    public int getNodeId(NodeType data) {
+        if (!nodes.containsKey(data))
+            throw new NoSuchElementException("No node containing " + data.toString());
+        return nodes.get(data).id;
+    }
+
+    /**
+     * Returns the data stored in the node with some id.
+     *
+     * @param id the id of the node
+     * @return the data item stored in that node
+     * @throws NoSuchElementException if no node in the graph has that id
+     */
+    public NodeType getNodeData(int id) {
+        Node node = nodeById(id);
+        if (node == null)
+            throw new NoSuchElementException("No node with id " + id);
+        return node.data;
+    }
+
+    // The node with some id, or null if it was removed or never existed
+    protected Node nodeById(int id) {
+        return id >= 0 && id < nodeList.size() ? nodeList.get(id) : null;
+    }
+
+    /**
+     * Returns the number of changes made to the graph so far. Every node or
+     * edge that is inserted, removed or given a new weight counts as one
+     * change, so a value computed from the graph is still correct as long as
+     * this number has not changed.
+     *
+     * @return the number of changes made to the graph
+     */
+    public long getModCount() {
+        return modCount;
+    }
+
     /**
      * Return the number of nodes in the graph
      *
@@ -118,23 +212,56 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
      */
     public boolean insertEdge(NodeType pred, NodeType succ, EdgeType weight) {
         // find nodes associated with node data, and return false when not found
-        Node predNode = nodes.get(pred);
-        Node succNode = nodes.get(succ);
+        if (!nodes.containsKey(pred) || !nodes.containsKey(succ))
+            return false;
+        insertEdgeBetween(nodes.get(pred), nodes.get(succ), weight);
+        return true;
+    }
+
+    /**
+     * Insert a new directed edge between two nodes given by their ids, or
+     * update the weight of the edge between them if it already exists. This
+     * does the same as insertEdge, without hashing or comparing node data.
+     *
+     * @param predId is the id of the new edge's predecessor node
+     * @param succId is the id of the new edge's successor node
+     * @param weight is the non-negative data item stored in the new edge
+     * @return true if the edge could be inserted or updated, or
+     *         false if either id does not belong to a node in the graph
+     */
+    public boolean insertEdgeById(int predId, int succId, EdgeType weight) {
+        Node predNode = nodeById(predId);
+        Node succNode = nodeById(succId);
         if (predNode == null || succNode == null)
             return false;
-        try {
+        insertEdgeBetween(predNode, succNode, weight);
+        return true;
+    }
+
+    /**
+     * Insert a new directed edge between two nodes of this graph, or update
+     * the weight of the edge between them if it already exists.
+     *
+     * @param predNode the new edge's predecessor node
+     * @param succNode the new edge's successor node
+     * @param weight   the non-negative data item stored in the new edge
+     */
+    protected void insertEdgeBetween(Node predNode, Node succNode, EdgeType weight) {
+        long key = edgeKey(predNode, succNode);
+        Edge existingEdge = edgeIndex.get(key);
+        if (existingEdge != null) {
             // when an edge alread exists within the graph, update its weight
-            Edge existingEdge = getEdgeHelper(pred, succ);
             existingEdge.data = weight;
-        } catch (NoSuchElementException e) {
+        } else {
             // otherwise create a new edges
             Edge newEdge = new Edge(weight, predNode, succNode);
             this.edgeCount++;
             // and insert it into each of its adjacent nodes' respective lists
             predNode.edgesLeaving.add(newEdge);
             succNode.edgesEntering.add(newEdge);
+            edgeIndex.put(key, newEdge);
         }
-        return true;
+        modCount++;
     }
 
     /**
@@ -146,19 +273,18 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
      *         false if such an edge is not found in the graph
      */
     public boolean removeEdge(NodeType pred, NodeType succ) {
-        try {
-            // when an edge exists
-            Edge oldEdge = getEdgeHelper(pred, succ);
-            // remove it from the edge lists of each adjacent node
-            oldEdge.predecessor.edgesLeaving.remove(oldEdge);
-            oldEdge.successor.edgesEntering.remove(oldEdge);
-            // and decrement the edge count before removing
-            this.edgeCount--;
-            return true;
-        } catch (NoSuchElementException e) {
-            // when no such edge exists, return false instead
+        Edge oldEdge = findEdge(pred, succ);
+        // when no such edge exists, return false instead
+        if (oldEdge == null)
             return false;
-        }
+        // remove it from the edge lists of each adjacent node and the index
+        oldEdge.predecessor.edgesLeaving.remove(oldEdge);
+        oldEdge.successor.edgesEntering.remove(oldEdge);
+        edgeIndex.remove(edgeKey(oldEdge.predecessor, oldEdge.successor));
+        // and decrement the edge count before removing
+        this.edgeCount--;
+        modCount++;
+        return true;
     }
 
     /**
@@ -169,12 +295,7 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
      * @return true if the edge is found in the graph, or false other
      */
     public boolean containsEdge(NodeType pred, NodeType succ) {
-        try {
-            getEdgeHelper(pred, succ);
-            return true;
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return findEdge(pred, succ) != null;
     }
     /**
      * Return the data associated with a specific edge.
@@ -190,15 +311,32 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
     }
 
     protected Edge getEdgeHelper(NodeType pred, NodeType succ) {
-        Node predNode = nodes.get(pred);
-        // search for edge through the predecessor's list of leaving edges
-        for (Edge edge : predNode.edgesLeaving)
-            // compare succ to the data in each leaving edge's successor
-            if (edge.successor.data.equals(succ))
-                return edge;
+        Edge edge = findEdge(pred, succ);
         // when no such edge can be found, throw NSE
-        throw new NoSuchElementException("No edge from " + pred.toString() + " to " +
-                succ.toString());
+        if (edge == null)
+            throw new NoSuchElementException("No edge from " + pred.toString() + " to " +
+                    succ.toString());
+        return edge;
+    }
+
+    /**
+     * Look up the edge between two nodes in the edge index.
+     *
+     * @param pred the data item contained in the source node for the edge
+     * @param succ the data item contained in the target node for the edge
+     * @return the edge between those nodes, or null if either node or the
+     *         edge are not found within this graph
+     */
+    protected Edge findEdge(NodeType pred, NodeType succ) {
+        if (!nodes.containsKey(pred) || !nodes.containsKey(succ))
+            return null;
+        return edgeIndex.get(edgeKey(nodes.get(pred), nodes.get(succ)));
+    }
+
+    // The key of the edge between two nodes in the edge index. Node ids are
+    // never reused, so a key always refers to the same pair of nodes.
+    protected long edgeKey(Node pred, Node succ) {
+        return ((long) pred.id << 32) | (succ.id & 0xFFFFFFFFL);
     }
 
     /**
@@ -210,4 +348,14 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
         return this.edgeCount;
     }
 
+    /**
+     * Create an immutable, compressed sparse row copy of this graph. Later
+     * changes to this graph are not reflected in the copy.
+     *
+     * @return a read-only snapshot of the nodes and edges in this graph
+     */
+    public FrozenGraph<NodeType, EdgeType> freeze() {
+        return new FrozenGraph<>(this);
+    }
+
 }
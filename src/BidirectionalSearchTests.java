@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests the bidirectional search mode of DijkstraGraph
+ */
+public class BidirectionalSearchTests {
+
+    // Creates a graph where the route S, U, T has the fewest edges, but S, P, Q, T is cheaper
+    private static DijkstraGraph<String, Integer> trapGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("S");
+        graph.insertNode("U");
+        graph.insertNode("P");
+        graph.insertNode("Q");
+        graph.insertNode("T");
+
+        graph.insertEdge("S", "U", 5);
+        graph.insertEdge("U", "T", 5);
+        graph.insertEdge("S", "P", 3);
+        graph.insertEdge("P", "Q", 3);
+        graph.insertEdge("Q", "T", 3);
+        graph.setBidirectional(true);
+        return graph;
+    }
+
+    /**
+     * This test checks that the search doesn't stop at the first node both sides settle, which is U here, but keeps
+     * going until no cheaper path can be found
+     */
+    @Test
+    public void testBidirectionalSearchFindsCheapestMeeting(){
+        DijkstraGraph<String, Integer> graph = trapGraph();
+
+        Assertions.assertEquals(List.of("S", "P", "Q", "T"), graph.shortestPathData("S", "T"));
+        Assertions.assertEquals(9, graph.shortestPathCost("S", "T"));
+        //Once the cheaper route is gone, the search finds the one through U
+        graph.removeEdge("P", "Q");
+        Assertions.assertEquals(List.of("S", "U", "T"), graph.shortestPathData("S", "T"));
+        Assertions.assertEquals(10, graph.shortestPathCost("S", "T"));
+    }
+
+    /**
+     * This test checks that the path joined from the two halves follows the real edges of the graph in order, so the
+     * miles of each segment are the weights of those edges
+     */
+    @Test
+    public void testBidirectionalSearchJoinsHalves(){
+        DijkstraGraph<String, Integer> graph = trapGraph();
+
+        ShortestPathResult<String, Integer> result = new ShortestPathResult<>(graph, "S", "T");
+        Assertions.assertEquals(List.of(3, 3, 3), result.getMilesPerSegment());
+        Assertions.assertEquals(9.0, result.getTotalMiles());
+        //A path of one edge is found by whichever side reaches the other end first
+        Assertions.assertEquals(List.of("P", "Q"), graph.shortestPathData("P", "Q"));
+        Assertions.assertEquals(List.of(3), new ShortestPathResult<>(graph, "P", "Q").getMilesPerSegment());
+    }
+
+    /**
+     * This test checks the ends of the search: a path from a node to itself, an end with no edges entering it, a start
+     * with no edges leaving it, and nodes that are not in the graph
+     */
+    @Test
+    public void testBidirectionalSearchEdgeCases(){
+        DijkstraGraph<String, Integer> graph = trapGraph();
+
+        Assertions.assertEquals(List.of("Q"), graph.shortestPathData("Q", "Q"));
+        Assertions.assertEquals(0, graph.shortestPathCost("Q", "Q"));
+        //Nothing enters S, so the backward side runs out first
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathData("U", "S"));
+        //Nothing leaves T, so the forward side runs out first
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathData("T", "U"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathData("S", "Z"));
+    }
+
+}
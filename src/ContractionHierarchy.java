@@ -0,0 +1,745 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * This class answers shortest path queries on a FrozenGraph with a
+ * Contraction Hierarchy (CH). Preprocessing removes ("contracts") the nodes
+ * one at a time, least important first, where importance is the edge
+ * difference: the number of shortcut edges removing the node would need,
+ * minus the number of edges it removes, plus the number of its neighbors
+ * already contracted. When a node v is contracted, a shortcut u -> x is added
+ * for each path u -> v -> x that is the only shortest way from u to x, which
+ * a limited "witness" search from u that avoids v checks. Each shortcut
+ * remembers the two edges it replaces, so it can be expanded back into the
+ * original edges.
+ *
+ * Every shortest path then goes up the contraction order and back down, so a
+ * query only searches upward from both ends: forward from the start along
+ * edges to nodes contracted later, and backward from the end along edges
+ * from nodes contracted later. These searches settle very few nodes. The
+ * routes returned always contain the original nodes and edges, never
+ * shortcuts.
+ *
+ * Each thread that runs a query is given its own search arrays, so any
+ * number of threads may query one hierarchy at the same time. The graph
+ * cannot be changed, except by building a new hierarchy.
+ */
+public class ContractionHierarchy<NodeType, EdgeType extends Number> implements GraphADT<NodeType, EdgeType> {
+
+    private static final int WITNESS_SETTLE_LIMIT = 500; // the most nodes a witness search settles before giving up
+
+    protected FrozenGraph<NodeType, EdgeType> graph; // the graph this hierarchy was built from
+    protected int[] rank; // the position of each node in the contraction order
+
+    // Every edge of the hierarchy, original or shortcut, by arc id
+    protected double[] arcWeight; // the weight of each arc
+    protected int[] arcOriginal; // the position of an original arc in the graph's CSR arrays, or -1 for a shortcut
+    protected int[] arcFirst; // the first of the two arcs a shortcut replaces
+    protected int[] arcSecond; // the second of the two arcs a shortcut replaces
+
+    // The upward graph searched forward from the start: arcs to nodes of higher rank, by their lower node
+    protected int[] upOffsets;
+    protected int[] upTargets;
+    protected int[] upArcs;
+    // The upward graph searched backward from the end: arcs from nodes of higher rank, by their lower node
+    protected int[] downOffsets;
+    protected int[] downTargets;
+    protected int[] downArcs;
+
+    // The search arrays used by queries, with one set for each thread
+    private final ThreadLocal<Query> queries = ThreadLocal.withInitial(() -> new Query(rank.length));
+
+    // The search arrays of both directions of a query, reused by every query run on one thread
+    private static class Query {
+        double[] forwardDist;
+        double[] backwardDist;
+        int[] forwardParentArc;
+        int[] backwardParentArc;
+        int[] forwardReachedIn;
+        int[] backwardReachedIn;
+        int search = 0;
+        IndexedDaryHeap forwardHeap;
+        IndexedDaryHeap backwardHeap;
+        int meeting = -1; // the node where the last query's path reached its highest rank, or -1 for no path
+
+        Query(int nodeCount) {
+            forwardDist = new double[nodeCount];
+            backwardDist = new double[nodeCount];
+            forwardParentArc = new int[nodeCount];
+            backwardParentArc = new int[nodeCount];
+            forwardReachedIn = new int[nodeCount];
+            backwardReachedIn = new int[nodeCount];
+            forwardHeap = new IndexedDaryHeap(nodeCount);
+            backwardHeap = new IndexedDaryHeap(nodeCount);
+        }
+    }
+
+    // An edge while the hierarchy is being built: an original edge, or a shortcut over two other arcs
+    private static class Arc {
+        int from;
+        int to;
+        double weight;
+        int original = -1;
+        Arc first;
+        Arc second;
+        int id = -1;
+
+        Arc(int from, int to, double weight) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+    }
+
+    // The state used only while the hierarchy is being built
+    private ArrayList<Arc>[] out; // the arcs leaving each node that is not contracted yet
+    private ArrayList<Arc>[] in; // the arcs entering each node that is not contracted yet
+    private boolean[] contracted;
+    private int[] contractedNeighbors;
+    private double[] witnessDist;
+    private int[] witnessReachedIn;
+    private int witnessSearch = 0;
+    private IndexedDaryHeap witnessHeap;
+    private int shortcutCount = 0;
+
+    /**
+     * Builds a contraction hierarchy for a graph.
+     *
+     * @param graph the graph to answer queries on
+     */
+    public ContractionHierarchy(FrozenGraph<NodeType, EdgeType> graph) {
+        this.graph = graph;
+        int nodeCount = graph.getNodeCount();
+        rank = new int[nodeCount];
+        out = newRows(nodeCount);
+        in = newRows(nodeCount);
+        contracted = new boolean[nodeCount];
+        contractedNeighbors = new int[nodeCount];
+        witnessDist = new double[nodeCount];
+        witnessReachedIn = new int[nodeCount];
+        witnessHeap = new IndexedDaryHeap(nodeCount);
+        for (int id = 0; id < nodeCount; id++) {
+            out[id] = new ArrayList<>();
+            in[id] = new ArrayList<>();
+        }
+        for (int id = 0; id < nodeCount; id++) {
+            for (int edge = graph.offsets[id]; edge < graph.offsets[id + 1]; edge++) {
+                // a loop is never part of a shortest path
+                if (graph.targets[edge] == id)
+                    continue;
+                Arc arc = new Arc(id, graph.targets[edge], graph.weights[edge]);
+                arc.original = edge;
+                out[id].add(arc);
+                in[arc.to].add(arc);
+            }
+        }
+        contractAll();
+        // only the search arrays are needed from now on
+        out = null;
+        in = null;
+        witnessDist = null;
+        witnessReachedIn = null;
+        witnessHeap = null;
+    }
+
+    /**
+     * Contracts every node in order of importance, updating importance
+     * lazily: a node taken off the queue has its importance computed again,
+     * and goes back on the queue if it is no longer the least important.
+     */
+    private void contractAll() {
+        int nodeCount = rank.length;
+        // entries are {importance, node id}, with ties broken by id so the order is always the same
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) ->
+                a[0] != b[0] ? Double.compare(a[0], b[0]) : Double.compare(a[1], b[1]));
+        for (int id = 0; id < nodeCount; id++)
+            queue.add(new double[] {importance(id), id});
+
+        ArrayList<Arc>[] upRows = newRows(nodeCount);
+        ArrayList<Arc>[] downRows = newRows(nodeCount);
+        int order = 0;
+        while (!queue.isEmpty()) {
+            int node = (int) queue.poll()[1];
+            if (contracted[node])
+                continue;
+            double importance = importance(node);
+            if (!queue.isEmpty() && importance > queue.peek()[0]) {
+                queue.add(new double[] {importance, node});
+                continue;
+            }
+            // the arcs still connecting this node to the rest of the graph join the upward graphs
+            upRows[node] = new ArrayList<>(out[node]);
+            downRows[node] = new ArrayList<>(in[node]);
+            addShortcuts(node, true);
+            contracted[node] = true;
+            rank[node] = order++;
+            // remove the node from its neighbors' lists
+            for (Arc arc : in[node]) {
+                out[arc.from].remove(arc);
+                contractedNeighbors[arc.from]++;
+            }
+            for (Arc arc : out[node]) {
+                in[arc.to].remove(arc);
+                contractedNeighbors[arc.to]++;
+            }
+            out[node] = null;
+            in[node] = null;
+        }
+        buildSearchGraphs(upRows, downRows);
+    }
+
+    // Computes the edge difference of a node, plus the number of its neighbors already contracted
+    private double importance(int node) {
+        int shortcuts = addShortcuts(node, false);
+        return shortcuts - (in[node].size() + out[node].size()) + contractedNeighbors[node];
+    }
+
+    /**
+     * Finds the shortcuts needed to contract a node: for each pair of arcs
+     * u -> node -> x, a shortcut is needed unless a witness search from u
+     * that avoids node finds a path to x that is no longer.
+     *
+     * @param node the node being contracted
+     * @param add  true to add the shortcuts, or false to only count them
+     * @return the number of shortcuts needed
+     */
+    private int addShortcuts(int node, boolean add) {
+        int count = 0;
+        ArrayList<Arc> entering = new ArrayList<>(in[node]);
+        ArrayList<Arc> leaving = new ArrayList<>(out[node]);
+        for (Arc first : entering) {
+            double maxCost = 0;
+            for (Arc second : leaving)
+                if (second.to != first.from)
+                    maxCost = Math.max(maxCost, first.weight + second.weight);
+            witnessSearch(first.from, node, maxCost);
+            for (Arc second : leaving) {
+                if (second.to == first.from)
+                    continue;
+                double cost = first.weight + second.weight;
+                if (witnessDistance(second.to) <= cost)
+                    continue;
+                count++;
+                if (add)
+                    addShortcut(first, second, cost);
+            }
+        }
+        return count;
+    }
+
+    // Adds a shortcut over two arcs, unless an arc between the same nodes is already as cheap
+    private void addShortcut(Arc first, Arc second, double cost) {
+        for (Arc existing : out[first.from]) {
+            if (existing.to == second.to) {
+                if (existing.weight <= cost)
+                    return;
+                // both ends are still uncontracted, so no shortcut is built over the arc being replaced
+                out[first.from].remove(existing);
+                in[second.to].remove(existing);
+                break;
+            }
+        }
+        Arc shortcut = new Arc(first.from, second.to, cost);
+        shortcut.first = first;
+        shortcut.second = second;
+        out[first.from].add(shortcut);
+        in[second.to].add(shortcut);
+        shortcutCount++;
+    }
+
+    // Searches from source through nodes that are not contracted, avoiding one node, up to a maximum cost
+    private void witnessSearch(int source, int avoid, double maxCost) {
+        witnessSearch++;
+        witnessHeap.clear();
+        witnessReachedIn[source] = witnessSearch;
+        witnessDist[source] = 0;
+        witnessHeap.insertOrDecrease(source, 0);
+        int settled = 0;
+        while (!witnessHeap.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+            int current = witnessHeap.poll();
+            settled++;
+            double cost = witnessDist[current];
+            if (cost > maxCost)
+                break;
+            for (Arc arc : out[current]) {
+                if (arc.to == avoid)
+                    continue;
+                double nextCost = cost + arc.weight;
+                if (witnessReachedIn[arc.to] != witnessSearch || nextCost < witnessDist[arc.to]) {
+                    witnessReachedIn[arc.to] = witnessSearch;
+                    witnessDist[arc.to] = nextCost;
+                    witnessHeap.insertOrDecrease(arc.to, nextCost);
+                }
+            }
+        }
+    }
+
+    // The cost of the cheapest path the last witness search found to a node (which may not be the shortest)
+    private double witnessDistance(int node) {
+        return witnessReachedIn[node] == witnessSearch ? witnessDist[node] : Double.POSITIVE_INFINITY;
+    }
+
+    // Numbers every arc used by the upward graphs (and the arcs shortcuts replace), and stores them in arrays
+    private void buildSearchGraphs(ArrayList<Arc>[] upRows, ArrayList<Arc>[] downRows) {
+        ArrayList<Arc> arcs = new ArrayList<>();
+        for (ArrayList<Arc> row : upRows)
+            for (Arc arc : row)
+                number(arc, arcs);
+        for (ArrayList<Arc> row : downRows)
+            for (Arc arc : row)
+                number(arc, arcs);
+        arcWeight = new double[arcs.size()];
+        arcOriginal = new int[arcs.size()];
+        arcFirst = new int[arcs.size()];
+        arcSecond = new int[arcs.size()];
+        for (Arc arc : arcs) {
+            arcWeight[arc.id] = arc.weight;
+            arcOriginal[arc.id] = arc.original;
+            arcFirst[arc.id] = arc.first == null ? -1 : arc.first.id;
+            arcSecond[arc.id] = arc.second == null ? -1 : arc.second.id;
+        }
+
+        int nodeCount = rank.length;
+        upOffsets = new int[nodeCount + 1];
+        downOffsets = new int[nodeCount + 1];
+        for (int id = 0; id < nodeCount; id++) {
+            upOffsets[id + 1] = upOffsets[id] + upRows[id].size();
+            downOffsets[id + 1] = downOffsets[id] + downRows[id].size();
+        }
+        upTargets = new int[upOffsets[nodeCount]];
+        upArcs = new int[upTargets.length];
+        downTargets = new int[downOffsets[nodeCount]];
+        downArcs = new int[downTargets.length];
+        for (int id = 0; id < nodeCount; id++) {
+            int position = upOffsets[id];
+            for (Arc arc : upRows[id]) {
+                upTargets[position] = arc.to;
+                upArcs[position++] = arc.id;
+            }
+            position = downOffsets[id];
+            for (Arc arc : downRows[id]) {
+                downTargets[position] = arc.from;
+                downArcs[position++] = arc.id;
+            }
+        }
+    }
+
+    // Creates an array of lists of arcs, one for each node, which can't be created directly with its generic type
+    @SuppressWarnings("unchecked") // the array only ever holds lists of arcs
+    private static ArrayList<Arc>[] newRows(int nodeCount) {
+        return (ArrayList<Arc>[]) new ArrayList<?>[nodeCount];
+    }
+
+    // Gives an arc, and the arcs it replaces, an id if they don't have one yet
+    private static void number(Arc arc, ArrayList<Arc> arcs) {
+        ArrayList<Arc> stack = new ArrayList<>();
+        stack.add(arc);
+        while (!stack.isEmpty()) {
+            Arc next = stack.remove(stack.size() - 1);
+            if (next.id >= 0)
+                continue;
+            next.id = arcs.size();
+            arcs.add(next);
+            if (next.first != null) {
+                stack.add(next.first);
+                stack.add(next.second);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of shortcuts added while building the hierarchy.
+     *
+     * @return the number of shortcut edges
+     */
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    /**
+     * Runs the upward searches from both ends with the calling thread's
+     * search arrays. The node where the shortest path reaches its highest
+     * rank is left in meeting, and the cost of the path is forwardDist plus
+     * backwardDist at that node.
+     *
+     * @param source the id of the starting node
+     * @param target the id of the destination node
+     * @param stats  the counters to fill in, or null to not count anything
+     * @return the search arrays holding the results, with meeting -1 when
+     *         there is no path
+     */
+    private Query query(int source, int target, SearchStats stats) {
+        Query q = queries.get();
+        q.search++;
+        q.forwardHeap.clear();
+        q.backwardHeap.clear();
+        q.forwardReachedIn[source] = q.search;
+        q.forwardDist[source] = 0;
+        q.forwardParentArc[source] = -1;
+        q.forwardHeap.insertOrDecrease(source, 0);
+        q.backwardReachedIn[target] = q.search;
+        q.backwardDist[target] = 0;
+        q.backwardParentArc[target] = -1;
+        q.backwardHeap.insertOrDecrease(target, 0);
+        if (stats != null)
+            stats.pushes += 2;
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (!q.forwardHeap.isEmpty() || !q.backwardHeap.isEmpty()) {
+            // expand whichever side has the cheaper next node, and stop once neither can improve the best path
+            boolean forward = q.backwardHeap.isEmpty() || (!q.forwardHeap.isEmpty()
+                    && q.forwardHeap.getKey(q.forwardHeap.peek()) <= q.backwardHeap.getKey(q.backwardHeap.peek()));
+            IndexedDaryHeap heap = forward ? q.forwardHeap : q.backwardHeap;
+            if (heap.getKey(heap.peek()) >= best)
+                break;
+            int current = heap.poll();
+            if (stats != null)
+                stats.pops++;
+            double[] dist = forward ? q.forwardDist : q.backwardDist;
+            int[] parentArc = forward ? q.forwardParentArc : q.backwardParentArc;
+            int[] reachedIn = forward ? q.forwardReachedIn : q.backwardReachedIn;
+            double[] otherDist = forward ? q.backwardDist : q.forwardDist;
+            int[] otherReachedIn = forward ? q.backwardReachedIn : q.forwardReachedIn;
+            if (otherReachedIn[current] == q.search && dist[current] + otherDist[current] < best) {
+                best = dist[current] + otherDist[current];
+                meeting = current;
+            }
+            int[] offsets = forward ? upOffsets : downOffsets;
+            int[] targets = forward ? upTargets : downTargets;
+            int[] arcs = forward ? upArcs : downArcs;
+            if (isStalled(current, dist, reachedIn, q.search, forward ? downOffsets : upOffsets,
+                    forward ? downTargets : upTargets, forward ? downArcs : upArcs)) {
+                if (stats != null)
+                    stats.skipped++;
+                continue;
+            }
+            if (stats != null) {
+                stats.settled++;
+                stats.relaxed += offsets[current + 1] - offsets[current];
+            }
+            for (int position = offsets[current]; position < offsets[current + 1]; position++) {
+                int next = targets[position];
+                double cost = dist[current] + arcWeight[arcs[position]];
+                if (reachedIn[next] != q.search || cost < dist[next]) {
+                    reachedIn[next] = q.search;
+                    dist[next] = cost;
+                    parentArc[next] = arcs[position];
+                    heap.insertOrDecrease(next, cost);
+                    if (stats != null)
+                        stats.pushes++;
+                }
+            }
+        }
+        q.meeting = meeting;
+        return q;
+    }
+
+    /**
+     * Checks whether a node just taken off a search's heap can be reached
+     * more cheaply through a node of higher rank the search already reached
+     * (stall-on-demand). Such a node is not on a shortest path found by this
+     * search, so its arcs don't need to be relaxed.
+     *
+     * @param node      the id of the node
+     * @param dist      the distances of the search
+     * @param reachedIn the search numbers of the search
+     * @param search    the number of the search
+     * @param offsets   the rows of the arcs from higher nodes into node, in the opposite upward graph
+     * @param targets   the higher node of each of those arcs
+     * @param arcs      the arc id of each of those arcs
+     * @return true if the node's arcs can be skipped
+     */
+    private boolean isStalled(int node, double[] dist, int[] reachedIn, int search, int[] offsets, int[] targets,
+                              int[] arcs) {
+        for (int position = offsets[node]; position < offsets[node + 1]; position++) {
+            int higher = targets[position];
+            if (reachedIn[higher] == search && dist[higher] + arcWeight[arcs[position]] < dist[node])
+                return true;
+        }
+        return false;
+    }
+
+    // Adds the original edges an arc stands for to a list, in path order
+    private void unpack(int arc, List<Integer> edges) {
+        ArrayList<Integer> stack = new ArrayList<>();
+        stack.add(arc);
+        while (!stack.isEmpty()) {
+            int next = stack.remove(stack.size() - 1);
+            if (arcOriginal[next] >= 0) {
+                edges.add(arcOriginal[next]);
+            } else {
+                stack.add(arcSecond[next]);
+                stack.add(arcFirst[next]);
+            }
+        }
+    }
+
+    /**
+     * Finds the shortest path between two nodes, and returns it as the
+     * positions of its original edges in the graph's CSR arrays.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the original edges along the path, in order
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    protected List<Integer> computeShortestPath(NodeType start, NodeType end) {
+        return computeShortestPath(start, end, null);
+    }
+
+    /**
+     * Does the same as computeShortestPath(start, end), and also counts the
+     * work done by the upward searches and times the query when stats is not
+     * null. Nodes pruned by stall-on-demand are counted as skipped.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @param stats the counters to fill in, or null to not count anything
+     * @return the original edges along the path, in order
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    protected List<Integer> computeShortestPath(NodeType start, NodeType end, SearchStats stats) {
+        if (stats == null)
+            return searchShortestPath(start, end, null);
+        long began = System.nanoTime();
+        try {
+            return searchShortestPath(start, end, stats);
+        } finally {
+            stats.nanos = System.nanoTime() - began;
+        }
+    }
+
+    // The query behind computeShortestPath, which only counts its work when stats is not null
+    private List<Integer> searchShortestPath(NodeType start, NodeType end, SearchStats stats) {
+        if (!graph.containsNode(start) || !graph.containsNode(end))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        int source = graph.getNodeId(start);
+        int target = graph.getNodeId(end);
+        Query q = query(source, target, stats);
+        int meeting = q.meeting;
+        if (meeting == -1)
+            throw new NoSuchElementException("No path from start to end!");
+        ArrayList<Integer> edges = new ArrayList<>();
+        // the forward half, from the meeting node back to the start
+        ArrayList<Integer> forwardArcs = new ArrayList<>();
+        for (int node = meeting; q.forwardParentArc[node] != -1; ) {
+            int arc = q.forwardParentArc[node];
+            forwardArcs.add(arc);
+            node = arcSource(arc);
+        }
+        Collections.reverse(forwardArcs);
+        for (int arc : forwardArcs)
+            unpack(arc, edges);
+        // the backward half, from the meeting node on to the end
+        for (int node = meeting; q.backwardParentArc[node] != -1; ) {
+            int arc = q.backwardParentArc[node];
+            unpack(arc, edges);
+            node = arcTarget(arc);
+        }
+        return edges;
+    }
+
+    // The node an arc starts from, which is where its first original edge starts
+    private int arcSource(int arc) {
+        while (arcOriginal[arc] < 0)
+            arc = arcFirst[arc];
+        int edge = arcOriginal[arc];
+        return sourceOf(edge);
+    }
+
+    // The node an arc ends at
+    private int arcTarget(int arc) {
+        while (arcOriginal[arc] < 0)
+            arc = arcSecond[arc];
+        return graph.targets[arcOriginal[arc]];
+    }
+
+    // Finds the node whose row of the graph's CSR arrays contains an edge
+    private int sourceOf(int edge) {
+        int low = 0;
+        int high = graph.getNodeCount() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (graph.offsets[mid] <= edge)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Finds the shortest path between two nodes, and returns the original
+     * nodes and edges along it together in a ShortestPathResult.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the nodes, the weight of each edge and the total cost of the path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    public ShortestPathResult<NodeType, EdgeType> shortestPathResult(NodeType start, NodeType end) {
+        return shortestPathResult(start, end, null);
+    }
+
+    /**
+     * Does the same as shortestPathResult(start, end), and also counts the
+     * work done by the query and times it when stats is not null. The
+     * counters are then available from the result's getSearchStats().
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @param stats the counters to fill in, or null to not count anything
+     * @return the nodes, the weight of each edge and the total cost of the path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    public ShortestPathResult<NodeType, EdgeType> shortestPathResult(NodeType start, NodeType end,
+                                                                      SearchStats stats) {
+        List<Integer> edges = computeShortestPath(start, end, stats);
+        ArrayList<NodeType> route = new ArrayList<>();
+        ArrayList<EdgeType> segments = new ArrayList<>();
+        double cost = 0;
+        route.add(start);
+        for (int edge : edges) {
+            route.add(graph.getNodeData(graph.targets[edge]));
+            segments.add(graph.getEdgeData(edge));
+            cost += graph.weights[edge];
+        }
+        return new ShortestPathResult<>(route, segments, cost, stats);
+    }
+
+    /**
+     * Returns the list of data values from nodes along the shortest path
+     * from the node with the provided start value through the node with the
+     * provided end value, found with the contraction hierarchy.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return list of data item from node along this shortest path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    @Override
+    public List<NodeType> shortestPathData(NodeType start, NodeType end) {
+        ArrayList<NodeType> route = new ArrayList<>();
+        route.add(start);
+        for (int edge : computeShortestPath(start, end))
+            route.add(graph.getNodeData(graph.targets[edge]));
+        return route;
+    }
+
+    /**
+     * Returns the cost of the shortest path from the node containing the
+     * start data to the node containing the end data, found with the
+     * contraction hierarchy.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    @Override
+    public double shortestPathCost(NodeType start, NodeType end) {
+        if (!graph.containsNode(start) || !graph.containsNode(end))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        Query q = query(graph.getNodeId(start), graph.getNodeId(end), null);
+        if (q.meeting == -1)
+            throw new NoSuchElementException("No path from start to end!");
+        return q.forwardDist[q.meeting] + q.backwardDist[q.meeting];
+    }
+
+    /**
+     * Runs one search from the source to every node in the graph the
+     * hierarchy was built from. Searching everything gains nothing from the
+     * hierarchy, so this is a plain Dijkstra search over the graph.
+     *
+     * @param source the data item in the node the paths start from
+     * @return the shortest path tree rooted at the source
+     * @throws NoSuchElementException when source does not correspond to a
+     *                                graph node
+     */
+    @Override
+    public ShortestPathTree<NodeType, EdgeType> shortestPathTree(NodeType source) {
+        return graph.shortestPathTree(source);
+    }
+
+    /**
+     * Always throws, since a ContractionHierarchy cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean insertNode(NodeType data) {
+        throw new UnsupportedOperationException("ContractionHierarchy does not support the .insertNode() method");
+    }
+
+    /**
+     * Always throws, since a ContractionHierarchy cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeNode(NodeType data) {
+        throw new UnsupportedOperationException("ContractionHierarchy does not support the .removeNode() method");
+    }
+
+    @Override
+    public boolean containsNode(NodeType data) {
+        return graph.containsNode(data);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return graph.getNodeCount();
+    }
+
+    /**
+     * Always throws, since a ContractionHierarchy cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean insertEdge(NodeType pred, NodeType succ, EdgeType weight) {
+        throw new UnsupportedOperationException("ContractionHierarchy does not support the .insertEdge() method");
+    }
+
+    /**
+     * Always throws, since a ContractionHierarchy cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeEdge(NodeType pred, NodeType succ) {
+        throw new UnsupportedOperationException("ContractionHierarchy does not support the .removeEdge() method");
+    }
+
+    @Override
+    public boolean containsEdge(NodeType pred, NodeType succ) {
+        return graph.containsEdge(pred, succ);
+    }
+
+    @Override
+    public EdgeType getEdge(NodeType pred, NodeType succ) {
+        return graph.getEdge(pred, succ);
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return graph.getEdgeCount();
+    }
+
+}
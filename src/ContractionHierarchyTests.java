@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests ContractionHierarchy, the shortcut-based query engine built from a FrozenGraph
+ */
+public class ContractionHierarchyTests {
+
+    // Creates a chain 0 - 1 - ... - 6 with an edge in both directions, where the edge between i and i+1 weighs i+1
+    private static DijkstraGraph<Integer, Integer> chainGraph() {
+        DijkstraGraph<Integer, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        for (int i = 0; i < 7; i++)
+            graph.insertNode(i);
+        for (int i = 0; i + 1 < 7; i++) {
+            graph.insertEdge(i, i + 1, i + 1);
+            graph.insertEdge(i + 1, i, i + 1);
+        }
+        return graph;
+    }
+
+    /**
+     * This test builds a hierarchy on a chain, whose middle nodes can only be contracted by adding shortcuts, and
+     * checks that routes over those shortcuts are expanded back into the original edges in order
+     */
+    @Test
+    public void testHierarchyExpandsShortcuts(){
+        ContractionHierarchy<Integer, Integer> hierarchy = new ContractionHierarchy<>(chainGraph().freeze());
+
+        Assertions.assertTrue(hierarchy.getShortcutCount() > 0);
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), hierarchy.shortestPathData(0, 6));
+        Assertions.assertEquals(List.of(6, 5, 4, 3, 2, 1, 0), hierarchy.shortestPathData(6, 0));
+        ShortestPathResult<Integer, Integer> result = hierarchy.shortestPathResult(2, 5);
+        Assertions.assertEquals(List.of(2, 3, 4, 5), result.getRoute());
+        Assertions.assertEquals(List.of(3, 4, 5), result.getMilesPerSegment());
+        Assertions.assertEquals(12, hierarchy.shortestPathCost(2, 5));
+        //The shortcuts are not edges of the graph
+        Assertions.assertEquals(12, hierarchy.getEdgeCount());
+        Assertions.assertFalse(hierarchy.containsEdge(0, 6));
+    }
+
+    /**
+     * This test checks that no shortcut is added when a direct edge is already as cheap as the path through the node
+     * being contracted, and that a loop is never used
+     */
+    @Test
+    public void testHierarchyWitness(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("U");
+        graph.insertNode("V");
+        graph.insertNode("X");
+        graph.insertEdge("U", "V", 1);
+        graph.insertEdge("V", "X", 1);
+        graph.insertEdge("U", "X", 2);
+        graph.insertEdge("V", "V", 1);
+        ContractionHierarchy<String, Integer> hierarchy = new ContractionHierarchy<>(graph.freeze());
+
+        Assertions.assertEquals(0, hierarchy.getShortcutCount());
+        //Both routes from U to X cost 2, and either may be returned
+        Assertions.assertEquals(2, hierarchy.shortestPathCost("U", "X"));
+        ShortestPathResult<String, Integer> result = hierarchy.shortestPathResult("U", "X");
+        Assertions.assertEquals(2.0, result.getTotalMiles());
+        Assertions.assertEquals(List.of("V", "X"), hierarchy.shortestPathData("V", "X"));
+    }
+
+    /**
+     * This test checks the ends of a query: a route from a node to itself, nodes with no route between them, unknown
+     * nodes, and changes to the hierarchy, which can't be made
+     */
+    @Test
+    public void testHierarchyEdgeCases(){
+        DijkstraGraph<Integer, Integer> graph = chainGraph();
+        graph.insertNode(7);
+        graph.insertEdge(7, 0, 1);
+        ContractionHierarchy<Integer, Integer> hierarchy = new ContractionHierarchy<>(graph.freeze());
+
+        Assertions.assertEquals(List.of(3), hierarchy.shortestPathData(3, 3));
+        Assertions.assertEquals(0, hierarchy.shortestPathCost(3, 3));
+        Assertions.assertEquals(List.of(7, 0, 1), hierarchy.shortestPathData(7, 1));
+        //Nothing enters 7
+        Assertions.assertThrows(NoSuchElementException.class, () -> hierarchy.shortestPathData(0, 7));
+        Assertions.assertThrows(NoSuchElementException.class, () -> hierarchy.shortestPathCost(0, 99));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> hierarchy.insertNode(8));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> hierarchy.removeEdge(0, 1));
+    }
+
+}
@@ -0,0 +1,248 @@
+import java.util.Arrays;
+
+/**
+ * This class runs Dijkstra's shortest path algorithm over the CSR arrays of a
+ * FrozenGraph using int node ids. The distance and parent arrays, and the
+ * IndexedDaryHeap used as the priority queue, are allocated once when the
+ * engine is created and reused by every search, so a search does not allocate
+ * anything. Instead of clearing the arrays between searches, each search has
+ * its own number, and an entry in dist or parent only counts when the node was
+ * reached during the current search.
+ *
+ * An engine keeps the results of its last search, so one engine must not be
+ * used by more than one thread at a time.
+ */
+public class DijkstraEngine {
+
+    protected int[] offsets; // the offsets array of the graph being searched
+    protected int[] targets; // the targets array of the graph being searched
+    protected double[] weights; // the weights array of the graph being searched
+
+    protected double[] dist; // the cost of the cheapest known path to each node
+    protected int[] parent; // the node before each node on that path, or -1 at the source
+    protected int[] parentEdge; // the edge used to reach each node on that path, or -1 at the source
+    protected int[] reachedIn; // the number of the last search that reached each node
+    protected int[] settledIn; // the number of the last search that settled each node
+    protected int[] settledOrder; // the nodes settled by the last search, in the order they were settled
+    protected int[] wantedIn; // the number of the last search that was asked to settle each node
+    protected int settledCount = 0; // the number of nodes settled by the last search
+    protected int search = 0; // the number of the current search
+    protected IndexedDaryHeap heap;
+    protected SearchStats stats = null; // the counters of the current search, or null when it isn't counted
+
+    /**
+     * Creates an engine that searches a FrozenGraph.
+     *
+     * @param graph the graph to search
+     */
+    public DijkstraEngine(FrozenGraph<?, ?> graph) {
+        this.offsets = graph.offsets;
+        this.targets = graph.targets;
+        this.weights = graph.weights;
+        int nodeCount = offsets.length - 1;
+        dist = new double[nodeCount];
+        parent = new int[nodeCount];
+        parentEdge = new int[nodeCount];
+        reachedIn = new int[nodeCount];
+        settledIn = new int[nodeCount];
+        settledOrder = new int[nodeCount];
+        wantedIn = new int[nodeCount];
+        heap = new IndexedDaryHeap(nodeCount);
+    }
+
+    /**
+     * Starts a new search from source, forgetting the results of the last one.
+     *
+     * @param source the id of the starting node
+     */
+    protected void startSearch(int source) {
+        search++;
+        if (search == Integer.MAX_VALUE) {
+            // the search numbers wrapped around, so really clear the arrays once
+            Arrays.fill(reachedIn, 0);
+            Arrays.fill(settledIn, 0);
+            Arrays.fill(wantedIn, 0);
+            search = 1;
+        }
+        heap.clear();
+        settledCount = 0;
+        reach(source, 0, -1, -1);
+    }
+
+    // Records a cheaper path to node, and adds it to the heap or lowers its key
+    private void reach(int node, double cost, int from, int edge) {
+        reachedIn[node] = search;
+        dist[node] = cost;
+        parent[node] = from;
+        parentEdge[node] = edge;
+        heap.insertOrDecrease(node, cost);
+        if (stats != null)
+            stats.pushes++;
+    }
+
+    /**
+     * Removes the cheapest node from the heap, settles it, and relaxes every
+     * edge leaving it.
+     *
+     * @return the id of the node that was settled
+     */
+    protected int settleNext() {
+        int current = heap.poll();
+        settledIn[current] = search;
+        settledOrder[settledCount++] = current;
+        if (stats != null) {
+            stats.pops++;
+            stats.settled++;
+            stats.relaxed += offsets[current + 1] - offsets[current];
+        }
+        double cost = dist[current];
+        for (int edge = offsets[current], last = offsets[current + 1]; edge < last; edge++) {
+            int next = targets[edge];
+            if (settledIn[next] == search)
+                continue;
+            double nextCost = cost + weights[edge];
+            if (reachedIn[next] != search || nextCost < dist[next])
+                reach(next, nextCost, current, edge);
+        }
+        return current;
+    }
+
+    /**
+     * Searches from source until target is settled.
+     *
+     * @param source the id of the starting node
+     * @param target the id of the destination node
+     * @return the cost of the shortest path, or Double.POSITIVE_INFINITY when
+     *         target cannot be reached
+     */
+    public double search(int source, int target) {
+        startSearch(source);
+        while (!heap.isEmpty()) {
+            if (settleNext() == target)
+                return dist[target];
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Searches from source until target is settled, counting the work done
+     * by the search and timing it when stats is not null.
+     *
+     * @param source the id of the starting node
+     * @param target the id of the destination node
+     * @param stats  the counters to fill in, or null to not count anything
+     * @return the cost of the shortest path, or Double.POSITIVE_INFINITY when
+     *         target cannot be reached
+     */
+    public double search(int source, int target, SearchStats stats) {
+        if (stats == null)
+            return search(source, target);
+        long began = System.nanoTime();
+        this.stats = stats;
+        try {
+            return search(source, target);
+        } finally {
+            this.stats = null;
+            stats.nanos = System.nanoTime() - began;
+        }
+    }
+
+    /**
+     * Searches from source until every one of several targets is settled, so
+     * one search finds the shortest paths to all of them.
+     *
+     * @param source  the id of the starting node
+     * @param targets the ids of the destination nodes, which may repeat
+     */
+    public void searchMany(int source, int[] targets) {
+        startSearch(source);
+        // count each target once, marking it so settling it can be noticed
+        int remaining = 0;
+        for (int target : targets) {
+            if (wantedIn[target] != search) {
+                wantedIn[target] = search;
+                remaining++;
+            }
+        }
+        while (remaining > 0 && !heap.isEmpty()) {
+            if (wantedIn[settleNext()] == search)
+                remaining--;
+        }
+    }
+
+    /**
+     * Searches from source until every node that can be reached is settled.
+     *
+     * @param source the id of the starting node
+     */
+    public void searchAll(int source) {
+        startSearch(source);
+        while (!heap.isEmpty())
+            settleNext();
+    }
+
+    /**
+     * Returns the cost of the shortest path to a node found by the last search.
+     *
+     * @param node the id of the node
+     * @return the cost of the path, or Double.POSITIVE_INFINITY if the last
+     *         search did not settle node
+     */
+    public double getDistance(int node) {
+        return settledIn[node] == search ? dist[node] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the node before a node on the shortest path found by the last
+     * search.
+     *
+     * @param node the id of a node settled by the last search
+     * @return the id of the node before it, or -1 for the source
+     */
+    public int getParent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * Returns the edge followed to reach a node on the shortest path found by
+     * the last search.
+     *
+     * @param node the id of a node settled by the last search
+     * @return the position of that edge in the graph's CSR arrays, or -1 for
+     *         the source
+     */
+    public int getParentEdge(int node) {
+        return parentEdge[node];
+    }
+
+    /**
+     * Checks whether the last search settled a node.
+     *
+     * @param node the id of the node
+     * @return true if the shortest path to node is known, or false otherwise
+     */
+    public boolean isSettled(int node) {
+        return settledIn[node] == search;
+    }
+
+    /**
+     * Returns the number of nodes settled by the last search.
+     *
+     * @return the number of nodes settled by the last search
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Returns one of the nodes settled by the last search, in the order they
+     * were settled (so each node comes after its parent).
+     *
+     * @param index a number from 0 to getSettledCount()-1
+     * @return the id of the node settled at that point
+     */
+    public int getSettledNode(int index) {
+        return settledOrder[index];
+    }
+
+}
@@ -0,0 +1,151 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests DijkstraEngine and the IndexedDaryHeap it uses as its priority queue
+ */
+public class DijkstraEngineTests {
+
+    // Freezes the graph from lecture
+    private static FrozenGraph<String, Integer> lectureGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+        graph.insertNode("E");
+        graph.insertNode("F");
+
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "F", 3);
+        graph.insertEdge("A", "C", 2);
+        graph.insertEdge("C", "D", 2);
+        graph.insertEdge("D", "E", 2);
+        graph.insertEdge("E", "F", 2);
+        return graph.freeze();
+    }
+
+    /**
+     * This test searches the graph from lecture and checks the costs, the parents and the order nodes were settled in
+     */
+    @Test
+    public void testEngineOnLectureGraph(){
+        FrozenGraph<String, Integer> graph = lectureGraph();
+        DijkstraEngine engine = new DijkstraEngine(graph);
+
+        Assertions.assertEquals(4, engine.search(graph.getNodeId("A"), graph.getNodeId("F")));
+        Assertions.assertEquals(graph.getNodeId("B"), engine.getParent(graph.getNodeId("F")));
+        Assertions.assertEquals(-1, engine.getParent(graph.getNodeId("A")));
+        Assertions.assertEquals(-1, engine.getParentEdge(graph.getNodeId("A")));
+        //Every node is settled after its parent, and the search stopped before E
+        Assertions.assertFalse(engine.isSettled(graph.getNodeId("E")));
+        for (int i = 0; i < engine.getSettledCount(); i++) {
+            int node = engine.getSettledNode(i);
+            Assertions.assertTrue(node == graph.getNodeId("A") || engine.isSettled(engine.getParent(node)));
+        }
+        Assertions.assertEquals(graph.getNodeId("A"), engine.getSettledNode(0));
+        Assertions.assertEquals(graph.getNodeId("F"), engine.getSettledNode(engine.getSettledCount() - 1));
+    }
+
+    /**
+     * This test checks that the results of a search can't be seen by the next search, which never clears the arrays
+     */
+    @Test
+    public void testEngineForgetsLastSearch(){
+        FrozenGraph<String, Integer> graph = lectureGraph();
+        DijkstraEngine engine = new DijkstraEngine(graph);
+
+        engine.searchAll(graph.getNodeId("A"));
+        Assertions.assertEquals(6, engine.getSettledCount());
+        //Nothing leaves F, so only F is settled and every other distance is unknown again
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, engine.search(graph.getNodeId("F"), graph.getNodeId("A")));
+        Assertions.assertEquals(1, engine.getSettledCount());
+        Assertions.assertEquals(0, engine.getDistance(graph.getNodeId("F")));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, engine.getDistance(graph.getNodeId("B")));
+        Assertions.assertFalse(engine.isSettled(graph.getNodeId("A")));
+        //A search from C doesn't see the cheaper distances to D and E found from A
+        engine.searchAll(graph.getNodeId("C"));
+        Assertions.assertEquals(4, engine.getDistance(graph.getNodeId("E")));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, engine.getDistance(graph.getNodeId("B")));
+    }
+
+    /**
+     * This test runs searches across the point where the search number wraps around, and checks that nodes marked by
+     * the searches before it are not seen by the searches after it
+     */
+    @Test
+    public void testEngineSearchNumberWrapsAround(){
+        FrozenGraph<String, Integer> graph = lectureGraph();
+        DijkstraEngine engine = new DijkstraEngine(graph);
+        engine.search = Integer.MAX_VALUE - 2;
+
+        //This search is the last one before the numbers wrap, and marks every node
+        engine.searchAll(graph.getNodeId("A"));
+        Assertions.assertEquals(Integer.MAX_VALUE - 1, engine.search);
+        //The next search starts again from 1, and must not see those marks
+        engine.searchAll(graph.getNodeId("F"));
+        Assertions.assertEquals(1, engine.search);
+        Assertions.assertEquals(1, engine.getSettledCount());
+        Assertions.assertFalse(engine.isSettled(graph.getNodeId("A")));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, engine.getDistance(graph.getNodeId("E")));
+        Assertions.assertEquals(4, engine.search(graph.getNodeId("A"), graph.getNodeId("F")));
+    }
+
+    /**
+     * This test checks that searchMany stops once every target is settled, counting a repeated target once
+     */
+    @Test
+    public void testEngineSearchManyStopsEarly(){
+        FrozenGraph<String, Integer> graph = lectureGraph();
+        DijkstraEngine engine = new DijkstraEngine(graph);
+
+        engine.searchMany(graph.getNodeId("A"), new int[] {graph.getNodeId("C"), graph.getNodeId("B"),
+                graph.getNodeId("C")});
+        //A, B and C are settled, and D was reached but not settled
+        Assertions.assertEquals(3, engine.getSettledCount());
+        Assertions.assertEquals(2, engine.getDistance(graph.getNodeId("C")));
+        Assertions.assertFalse(engine.isSettled(graph.getNodeId("D")));
+        //A target that can't be reached makes the search settle everything it can reach
+        engine.searchMany(graph.getNodeId("C"), new int[] {graph.getNodeId("A")});
+        Assertions.assertEquals(4, engine.getSettledCount());
+    }
+
+    /**
+     * This test checks that the heap keeps one entry per id, lowers keys in place, and returns ids in order of key
+     */
+    @Test
+    public void testIndexedDaryHeap(){
+        IndexedDaryHeap heap = new IndexedDaryHeap(10);
+        for (int id = 0; id < 10; id++)
+            Assertions.assertTrue(heap.insertOrDecrease(id, 100 - id));
+        //A higher or equal key doesn't change anything, and a lower key moves the id up
+        Assertions.assertFalse(heap.insertOrDecrease(3, 200));
+        Assertions.assertFalse(heap.insertOrDecrease(3, 97));
+        Assertions.assertTrue(heap.insertOrDecrease(3, 1));
+        Assertions.assertEquals(10, heap.size());
+        Assertions.assertEquals(3, heap.peek());
+        Assertions.assertEquals(3, heap.poll());
+        Assertions.assertFalse(heap.contains(3));
+        int last = heap.poll();
+        Assertions.assertEquals(9, last);
+        while (!heap.isEmpty()) {
+            int next = heap.poll();
+            Assertions.assertTrue(next < last);
+            last = next;
+        }
+        Assertions.assertThrows(NoSuchElementException.class, heap::poll);
+
+        //Clearing leaves the heap usable
+        heap.insertOrDecrease(4, 4);
+        heap.insertOrDecrease(5, 5);
+        heap.clear();
+        Assertions.assertTrue(heap.isEmpty());
+        Assertions.assertFalse(heap.contains(4));
+        heap.insertOrDecrease(5, 2);
+        Assertions.assertEquals(2, heap.getKey(5));
+        Assertions.assertEquals(5, heap.poll());
+    }
+
+}
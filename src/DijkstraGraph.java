@@ -2,6 +2,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class extends the BaseGraph data structure with additional methods for
@@ -20,26 +21,37 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
      * field. The total cost of this path is stored in its cost field. And the
      * predecessor SearchNode within this path is referened by the predecessor
      * field (this field is null within the SearchNode containing the starting
-     * node in its node field).
+     * node in its node field). The edge field references the edge that was
+     * followed from the predecessor to reach this node (also null at the start).
+     * The estimate field holds a lower bound on the cost of the rest of the
+     * path to the end, which is 0 unless an A* heuristic is in use.
      *
-     * SearchNodes are Comparable and are sorted by cost so that the lowest cost
-     * SearchNode has the highest priority within a java.util.PriorityQueue.
+     * SearchNodes are Comparable and are sorted by cost plus estimate so that
+     * the SearchNode with the lowest total has the highest priority within a
+     * java.util.PriorityQueue.
      */
     protected class SearchNode implements Comparable<SearchNode> {
         public Node node;
         public double cost;
         public SearchNode predecessor;
+        public Edge edge;
+        public double estimate = 0;
 
         public SearchNode(Node node, double cost, SearchNode predecessor) {
+            this(node, cost, predecessor, null);
+        }
+
+        public SearchNode(Node node, double cost, SearchNode predecessor, Edge edge) {
             this.node = node;
             this.cost = cost;
             this.predecessor = predecessor;
+            this.edge = edge;
         }
 
         public int compareTo(SearchNode other) {
-            if (cost > other.cost)
+            if (cost + estimate > other.cost + other.estimate)
                 return +1;
-            if (cost < other.cost)
+            if (cost + estimate < other.cost + other.estimate)
                 return -1;
             return 0;
         }
@@ -54,6 +66,131 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
         super(map);
     }
 
+    // The shortest path trees kept up to date as edges and nodes change
+    protected List<DynamicShortestPathTree<NodeType, EdgeType>> trackedTrees = new ArrayList<>();
+
+    /**
+     * Builds the shortest path tree of a source node, and keeps it up to date
+     * from now on: each change to an edge or node repairs only the part of
+     * the tree it affects, instead of searching again from the source.
+     *
+     * @param source the data item in the node the paths start from
+     * @return the tree, which stays up to date until it is untracked
+     * @throws NoSuchElementException when source does not correspond to a
+     *                                graph node
+     */
+    public DynamicShortestPathTree<NodeType, EdgeType> trackShortestPathTree(NodeType source) {
+        if (!containsNode(source))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        DynamicShortestPathTree<NodeType, EdgeType> tree = new DynamicShortestPathTree<>(this, nodes.get(source));
+        trackedTrees.add(tree);
+        return tree;
+    }
+
+    /**
+     * Stops keeping a tree up to date, so changes to the graph no longer
+     * spend time repairing it.
+     *
+     * @param tree a tree returned by trackShortestPathTree
+     * @return true if the tree was being kept up to date, or false otherwise
+     */
+    public boolean untrackShortestPathTree(DynamicShortestPathTree<NodeType, EdgeType> tree) {
+        return trackedTrees.remove(tree);
+    }
+
+    /**
+     * Inserts or updates an edge, and then repairs the tracked shortest path
+     * trees if its weight changed. Both insertEdge and insertEdgeById come
+     * through here.
+     *
+     * @param predNode the new edge's predecessor node
+     * @param succNode the new edge's successor node
+     * @param weight   the non-negative data item stored in the new edge
+     */
+    @Override
+    protected void insertEdgeBetween(Node predNode, Node succNode, EdgeType weight) {
+        Edge existing = trackedTrees.isEmpty() ? null : edgeIndex.get(edgeKey(predNode, succNode));
+        double oldWeight = existing == null ? Double.POSITIVE_INFINITY : existing.data.doubleValue();
+        super.insertEdgeBetween(predNode, succNode, weight);
+        for (DynamicShortestPathTree<NodeType, EdgeType> tree : trackedTrees)
+            tree.edgeChanged(predNode, succNode, oldWeight, weight.doubleValue());
+    }
+    /**
+     * Removes an edge, and then repairs the tracked shortest path trees that
+     * used it.
+     *
+     * @param pred the data item contained in the source node for the edge
+     * @param succ the data item contained in the target node for the edge
+     * @return true if the edge could be removed, or
+     *         false if such an edge is not found in the graph
+     */
+    @Override
+    public boolean removeEdge(NodeType pred, NodeType succ) {
+        Edge existing = findEdge(pred, succ);
+        if (!super.removeEdge(pred, succ))
+            return false;
+        for (DynamicShortestPathTree<NodeType, EdgeType> tree : trackedTrees)
+            tree.edgeChanged(existing.predecessor, existing.successor, existing.data.doubleValue(),
+                    Double.POSITIVE_INFINITY);
+        return true;
+    }
+
+    /**
+     * Removes a node and its edges, and then repairs the tracked shortest
+     * path trees whose paths went through it.
+     *
+     * @param data is the data item stored in the node to be removed
+     * @return true if a vertex with data is found and removed, or
+     *         false if that data value is not found in the graph
+     * @throws NullPointerException if data is null
+     */
+    @Override
+    public boolean removeNode(NodeType data) {
+        if (trackedTrees.isEmpty() || !containsNode(data))
+            return super.removeNode(data);
+        // find each tree's nodes below this one while its edges are still in the graph
+        Node node = nodes.get(data);
+        List<List<Integer>> children = new ArrayList<>();
+        for (DynamicShortestPathTree<NodeType, EdgeType> tree : trackedTrees)
+            children.add(tree.nodeRemoving(node));
+        super.removeNode(data);
+        for (int i = 0; i < trackedTrees.size(); i++)
+            trackedTrees.get(i).nodeRemoved(node, children.get(i));
+        return true;
+    }
+
+    // When true, computeShortestPath searches forward from the start and backward from the end at the same time
+    protected boolean bidirectional = false;
+
+    /**
+     * Chooses whether shortest paths are found by searching from both ends at
+     * once. A bidirectional search usually settles far fewer nodes for a
+     * single start and end, and finds a path with the same cost.
+     *
+     * @param bidirectional true to search from both ends, or false to only
+     *                      search forward from the start
+     */
+    public void setBidirectional(boolean bidirectional) {
+        this.bidirectional = bidirectional;
+    }
+
+    // When not null, computeShortestPath runs an A* search guided by this heuristic
+    protected Heuristic<NodeType> heuristic = null;
+
+    /**
+     * Sets the heuristic used to run computeShortestPath as an A* search,
+     * which settles nodes in order of their cost plus the estimated cost of
+     * the rest of the path, so it heads toward the end instead of spreading
+     * out evenly. When a heuristic is set, it is used instead of the
+     * bidirectional search.
+     *
+     * @param heuristic a consistent heuristic, or null to go back to plain
+     *                  Dijkstra's algorithm
+     */
+    public void setHeuristic(Heuristic<NodeType> heuristic) {
+        this.heuristic = heuristic;
+    }
+
     /**
      * This helper method creates a network of SearchNodes while computing the
      * shortest path between the provided start and end locations. The
@@ -71,23 +208,64 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
      */
 
     protected SearchNode computeShortestPath(NodeType start, NodeType end) {
+        return computeShortestPath(start, end, null);
+    }
+
+    /**
+     * Does the same as computeShortestPath(start, end), and also counts the
+     * work done by the search and times it when stats is not null.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @param stats the counters to fill in, or null to not count anything
+     * @return SearchNode for the final end node within the shortest path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    protected SearchNode computeShortestPath(NodeType start, NodeType end, SearchStats stats) {
+        if (stats == null){
+            return searchShortestPath(start, end, null);
+        }
+        long began = System.nanoTime();
+        try {
+            return searchShortestPath(start, end, stats);
+        }
+        finally {
+            stats.nanos = System.nanoTime() - began;
+        }
+    }
+
+    // The search behind computeShortestPath, which only counts its work when stats is not null
+    private SearchNode searchShortestPath(NodeType start, NodeType end, SearchStats stats) {
 
         // Check if either the start data or end data refer to a node in the graph. If not, throw an exception
         if (!this.containsNode(start) || !this.containsNode(end)){
             throw new NoSuchElementException("Must refer to a node in the graph!");
         }
 
-        // Create the starting search node from the start data
+        // Search from both ends when that mode is turned on, unless an A* heuristic is set
+        if (bidirectional && heuristic == null){
+            return computeShortestPathBidirectional(nodes.get(start), nodes.get(end), stats);
+        }
+
+        // Create the starting search node from the start data, and find the end node once so the search can
+        // compare nodes instead of their data
         SearchNode startSearchNode = new SearchNode(nodes.get(start), 0, null);
+        Node endNode = nodes.get(end);
 
-        // Create a map to store the visited nodes
-        PlaceholderMap<Node, Double> map = new PlaceholderMap();
+        // Create a map to store the visited nodes. It starts small and grows with the nodes the search settles, so
+        // a query that stops after a few nodes doesn't pay for an array the size of the whole graph
+        OpenAddressingMap<Node, Double> map = new OpenAddressingMap<>();
 
         // Create a priority queue to store all the node paths
         PriorityQueue<SearchNode> pq = new PriorityQueue<>();
 
         // Add the start search node to the priority queue
         pq.add(startSearchNode);
+        if (stats != null){
+            stats.pushes++;
+        }
 
         // Initialize a final search node
         SearchNode found = null;
@@ -96,27 +274,39 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
         while (!pq.isEmpty()){
             // Take the top priority (cheapest cost) search node
             SearchNode current = pq.poll();
-            // If the current node is equal to the end data, it is the first time we are seeing this data and will
+            if (stats != null){
+                stats.pops++;
+            }
+            // If the current node is the end node, it is the first time we are seeing this data and will
             // be the cheapest way to get to the end node. Break the loop and return the found search node
-            if (current.node.data.equals(end)){
+            if (current.node == endNode){
                 found = current;
                 break;
             }
             // If the map contains a key already, the current search node has a higher cost and we should move on to the
-            // next search node in the priority queue
-            if (map.containsKey(current.node)){
+            // next search node in the priority queue. Otherwise, this is the first time visiting this node, and it is
+            // added to the map and marked as visited in the same lookup
+            if (!map.putIfAbsent(current.node, current.cost)){
+                if (stats != null){
+                    stats.skipped++;
+                }
                 continue;
             }
-            // Otherwise, this is the first time visiting this node, and it should be added to the map and marked as
-            // visited
-            map.put(current.node, current.cost);
+            if (stats != null){
+                stats.settled++;
+                stats.relaxed += current.node.edgesLeaving.size();
+                stats.pushes += current.node.edgesLeaving.size();
+            }
 
             // Loop through all the edges leaving the current node
-            for (int i = 0; i<current.node.edgesLeaving.size(); i++){
-                Node node = current.node.edgesLeaving.get(i).successor;
-                Double cost = current.cost + (int)(current.node.edgesLeaving.get(i).data);
-                // Create a new search node with the total cost and add it to the priority queue
-                SearchNode addNode = new SearchNode(node, cost, current);
+            for (Edge edge : current.node.edgesLeaving){
+                double cost = current.cost + edge.data.doubleValue();
+                // Create a new search node with the total cost and the edge followed, and add it to the priority queue
+                SearchNode addNode = new SearchNode(edge.successor, cost, current, edge);
+                // With A*, also estimate the cost of the rest of the path from this node
+                if (heuristic != null){
+                    addNode.estimate = heuristic.estimate(edge.successor.data, end);
+                }
                 pq.add(addNode);
             }
 
@@ -131,6 +321,122 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
         return found;
     }
 
+    /**
+     * This helper method finds the same shortest path as computeShortestPath,
+     * but grows one search forward from the start along edgesLeaving and
+     * another backward from the end along edgesEntering, always expanding the
+     * side whose next node is cheaper. Every time an edge reaches a node that
+     * the other side has also reached, the two paths joined there are a
+     * candidate. The search stops once the cheapest unsettled nodes on both
+     * sides together cost at least as much as the best candidate, since no
+     * path found after that point could be cheaper.
+     *
+     * In the backward search, the predecessor of a SearchNode is the next
+     * node toward the end, and its edge leads to that node.
+     *
+     * @param startNode the starting node for the path
+     * @param endNode   the destination node for the path
+     * @param stats     the counters to fill in, or null to not count anything
+     * @return SearchNode for the final end node within the shortest path
+     * @throws NoSuchElementException when no path from start to end is found
+     */
+    protected SearchNode computeShortestPathBidirectional(Node startNode, Node endNode, SearchStats stats) {
+        if (startNode == endNode){
+            return new SearchNode(startNode, 0, null);
+        }
+        // The cheapest search node found so far for each node, and the nodes that are settled, on each side
+        HashMap<Node, SearchNode> forwardBest = new HashMap<>();
+        HashMap<Node, SearchNode> backwardBest = new HashMap<>();
+        HashSet<Node> forwardSettled = new HashSet<>();
+        HashSet<Node> backwardSettled = new HashSet<>();
+        PriorityQueue<SearchNode> forward = new PriorityQueue<>();
+        PriorityQueue<SearchNode> backward = new PriorityQueue<>();
+
+        SearchNode first = new SearchNode(startNode, 0, null);
+        SearchNode last = new SearchNode(endNode, 0, null);
+        forwardBest.put(startNode, first);
+        backwardBest.put(endNode, last);
+        forward.add(first);
+        backward.add(last);
+        if (stats != null){
+            stats.pushes += 2;
+        }
+
+        // The cheapest path found so far, as the search nodes where its two halves meet
+        double bestCost = Double.POSITIVE_INFINITY;
+        SearchNode meetForward = null;
+        SearchNode meetBackward = null;
+
+        while (true){
+            // Drop search nodes for nodes that were already settled by a cheaper path
+            while (!forward.isEmpty() && forwardSettled.contains(forward.peek().node)){
+                forward.poll();
+                if (stats != null){
+                    stats.pops++;
+                    stats.skipped++;
+                }
+            }
+            while (!backward.isEmpty() && backwardSettled.contains(backward.peek().node)){
+                backward.poll();
+                if (stats != null){
+                    stats.pops++;
+                    stats.skipped++;
+                }
+            }
+            // Stop when one side has run out, or neither side can lead to a cheaper path
+            if (forward.isEmpty() || backward.isEmpty()
+                    || forward.peek().cost + backward.peek().cost >= bestCost){
+                break;
+            }
+            boolean expandForward = forward.peek().cost <= backward.peek().cost;
+            SearchNode current = expandForward ? forward.poll() : backward.poll();
+            (expandForward ? forwardSettled : backwardSettled).add(current.node);
+            if (stats != null){
+                stats.pops++;
+                stats.settled++;
+            }
+            HashMap<Node, SearchNode> best = expandForward ? forwardBest : backwardBest;
+            HashMap<Node, SearchNode> otherBest = expandForward ? backwardBest : forwardBest;
+            HashSet<Node> settled = expandForward ? forwardSettled : backwardSettled;
+
+            for (Edge edge : expandForward ? current.node.edgesLeaving : current.node.edgesEntering){
+                Node next = expandForward ? edge.successor : edge.predecessor;
+                if (stats != null){
+                    stats.relaxed++;
+                }
+                if (settled.contains(next)){
+                    continue;
+                }
+                double cost = current.cost + edge.data.doubleValue();
+                SearchNode nextSearchNode = best.get(next);
+                if (nextSearchNode == null || cost < nextSearchNode.cost){
+                    nextSearchNode = new SearchNode(next, cost, current, edge);
+                    best.put(next, nextSearchNode);
+                    (expandForward ? forward : backward).add(nextSearchNode);
+                    if (stats != null){
+                        stats.pushes++;
+                    }
+                }
+                // Check whether the paths from both sides that meet at this node are the cheapest so far
+                SearchNode other = otherBest.get(next);
+                if (other != null && nextSearchNode.cost + other.cost < bestCost){
+                    bestCost = nextSearchNode.cost + other.cost;
+                    meetForward = expandForward ? nextSearchNode : other;
+                    meetBackward = expandForward ? other : nextSearchNode;
+                }
+            }
+        }
+        if (meetForward == null){
+            throw new NoSuchElementException("No path from start to end!");
+        }
+        // Extend the forward half with the edges of the backward half, toward the end
+        SearchNode found = meetForward;
+        for (SearchNode step = meetBackward; step.predecessor != null; step = step.predecessor){
+            found = new SearchNode(step.predecessor.node, found.cost + step.edge.data.doubleValue(), found, step.edge);
+        }
+        return found;
+    }
+
     /**
      * Returns the list of data values from nodes along the shortest path
      * from the node with the provided start value through the node with the
@@ -172,6 +478,50 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
         return current.cost;
     }
 
+    /**
+     * Runs one search from the node with the provided source value to every
+     * node it can reach, on a frozen copy of this graph. The tree that is
+     * returned does not change when this graph changes.
+     *
+     * @param source the data item in the node the paths start from
+     * @return the shortest path tree rooted at the source
+     * @throws NoSuchElementException when source does not correspond to a
+     *                                graph node
+     */
+    public ShortestPathTree<NodeType, EdgeType> shortestPathTree(NodeType source) {
+        return freeze().shortestPathTree(source);
+    }
+
+    /**
+     * Computes the cost of the shortest path between every pair of nodes, and
+     * the first node after the start on each of them, running one search per
+     * start node in parallel on every core of the machine.
+     *
+     * @return the matrix of costs and next hops, numbered by the ids of a
+     *         frozen copy of this graph
+     */
+    public DistanceMatrix<NodeType> allPairsShortestPaths() {
+        return new DistanceMatrix<>(freeze());
+    }
+
+    /**
+     * Computes the cost of the shortest path between every pair of nodes, and
+     * the first node after the start on each of them, using a set number of
+     * threads. The result is the same for any number of threads.
+     *
+     * @param threads the number of searches to run at the same time
+     * @return the matrix of costs and next hops, numbered by the ids of a
+     *         frozen copy of this graph
+     */
+    public DistanceMatrix<NodeType> allPairsShortestPaths(int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return new DistanceMatrix<>(freeze(), pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 
     /**
      * This test makes use of an example that we traced through in lecture, and confirms that the results of the
@@ -279,7 +629,4 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
         Assertions.assertThrows(NoSuchElementException.class, () -> graph.computeShortestPath("A", "D"));
     }
 
-
-
 }
-
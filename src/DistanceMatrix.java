@@ -0,0 +1,172 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class stores the cost of the shortest path between every pair of nodes
+ * of a FrozenGraph, and the first node after the start on each of those
+ * paths, in two dense row-major arrays: the entry for the path from node i to
+ * node j is at index i * nodeCount + j. Any shortest path can be rebuilt by
+ * following the next hops, without searching again.
+ *
+ * The matrix is computed with one single-source search per start node. The
+ * searches run in parallel on a ForkJoinPool, and each worker thread reuses
+ * the graph's DijkstraEngine for that thread for every start node it is
+ * given, so an engine is only created once per thread. Every row is written
+ * by exactly one search, so the result is the same whatever the number of
+ * threads. The matrix uses 12 bytes per pair of nodes, so it is meant for
+ * graphs of up to a few thousand nodes.
+ */
+public class DistanceMatrix<NodeType> {
+
+    private static final int SOURCES_PER_TASK = 16; // tasks with more start nodes than this are split in two
+
+    private FrozenGraph<NodeType, ?> graph; // the graph whose paths are stored
+    private int nodeCount;
+    private double[] distances; // the cost of the shortest path from i to j, or infinity if there is none
+    private int[] nextHops; // the node after i on the shortest path from i to j, or -1 if i == j or there is no path
+
+    /**
+     * Computes the matrix of a graph using every core of the machine.
+     *
+     * @param graph the graph to compute the shortest paths of
+     */
+    public DistanceMatrix(FrozenGraph<NodeType, ?> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the matrix of a graph, running the searches on a pool.
+     *
+     * @param graph the graph to compute the shortest paths of
+     * @param pool  the pool to run the searches on
+     */
+    public DistanceMatrix(FrozenGraph<NodeType, ?> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.nodeCount = graph.getNodeCount();
+        long size = (long) nodeCount * nodeCount;
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("a graph of " + nodeCount + " nodes is too large for a distance matrix");
+        distances = new double[(int) size];
+        nextHops = new int[(int) size];
+        pool.invoke(new RowsTask(0, nodeCount));
+    }
+
+    // Fills in the rows of a range of start nodes, splitting the range until it is small enough for one engine
+    private class RowsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int first;
+        private final int last; // one past the last start node
+
+        RowsTask(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > SOURCES_PER_TASK) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new RowsTask(first, middle), new RowsTask(middle, last));
+                return;
+            }
+            // a leaf doesn't fork, so nothing else runs on this thread's engine until its rows are done
+            DijkstraEngine engine = graph.getEngine();
+            for (int source = first; source < last; source++)
+                fillRow(engine, source);
+        }
+    }
+
+    // Searches from one start node and writes its row of both arrays
+    private void fillRow(DijkstraEngine engine, int source) {
+        engine.searchAll(source);
+        int row = source * nodeCount;
+        for (int id = 0; id < nodeCount; id++) {
+            distances[row + id] = engine.getDistance(id);
+            nextHops[row + id] = -1;
+        }
+        // nodes are settled after their parents, so each parent's next hop is known before its children's
+        for (int i = 1; i < engine.getSettledCount(); i++) {
+            int node = engine.getSettledNode(i);
+            int parent = engine.getParent(node);
+            nextHops[row + node] = parent == source ? node : nextHops[row + parent];
+        }
+    }
+
+    /**
+     * Returns the graph whose ids number the rows and columns of the matrix.
+     *
+     * @return the graph the matrix was computed for
+     */
+    public FrozenGraph<NodeType, ?> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the cost of the shortest path between two nodes, given by id.
+     *
+     * @param from the id of the starting node
+     * @param to   the id of the destination node
+     * @return the cost of the path, or Double.POSITIVE_INFINITY if there is none
+     */
+    public double getDistance(int from, int to) {
+        return distances[from * nodeCount + to];
+    }
+
+    /**
+     * Returns the node after the start on the shortest path between two
+     * nodes, given by id.
+     *
+     * @param from the id of the starting node
+     * @param to   the id of the destination node
+     * @return the id of the next node, or -1 if from == to or there is no path
+     */
+    public int getNextHop(int from, int to) {
+        return nextHops[from * nodeCount + to];
+    }
+
+    /**
+     * Returns the cost of the shortest path from the node containing the
+     * start data to the node containing the end data.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    public double shortestPathCost(NodeType start, NodeType end) {
+        if (!graph.containsNode(start) || !graph.containsNode(end))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        double cost = getDistance(graph.getNodeId(start), graph.getNodeId(end));
+        if (cost == Double.POSITIVE_INFINITY)
+            throw new NoSuchElementException("No path from start to end!");
+        return cost;
+    }
+
+    /**
+     * Returns the list of data values from nodes along the shortest path
+     * from the node with the provided start value through the node with the
+     * provided end value, by following the next hops.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return list of data item from node along this shortest path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    public List<NodeType> shortestPathData(NodeType start, NodeType end) {
+        shortestPathCost(start, end);
+        int target = graph.getNodeId(end);
+        ArrayList<NodeType> list = new ArrayList<>();
+        for (int id = graph.getNodeId(start); id != -1; id = getNextHop(id, target))
+            list.add(graph.getNodeData(id));
+        return list;
+    }
+
+}
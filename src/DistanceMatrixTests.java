@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests DistanceMatrix, the all-pairs table of shortest path costs and next hops
+ */
+public class DistanceMatrixTests {
+
+    // Creates the graph from lecture, with a node G that nothing enters
+    private static DijkstraGraph<String, Integer> lectureGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+        graph.insertNode("E");
+        graph.insertNode("F");
+        graph.insertNode("G");
+
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "F", 3);
+        graph.insertEdge("A", "C", 2);
+        graph.insertEdge("C", "D", 2);
+        graph.insertEdge("D", "E", 2);
+        graph.insertEdge("E", "F", 2);
+        graph.insertEdge("G", "A", 1);
+        return graph;
+    }
+
+    /**
+     * This test checks the costs and next hops of the lecture graph, including the diagonal and pairs with no path
+     */
+    @Test
+    public void testMatrixOnLectureGraph(){
+        DistanceMatrix<String> matrix = lectureGraph().allPairsShortestPaths(1);
+        FrozenGraph<String, ?> graph = matrix.getGraph();
+        int a = graph.getNodeId("A");
+        int e = graph.getNodeId("E");
+        int g = graph.getNodeId("G");
+
+        Assertions.assertEquals(6, matrix.getDistance(a, e));
+        //The next hop is the first step of the path, however long the path is
+        Assertions.assertEquals(graph.getNodeId("C"), matrix.getNextHop(a, e));
+        Assertions.assertEquals(graph.getNodeId("A"), matrix.getNextHop(g, e));
+        Assertions.assertEquals(List.of("G", "A", "C", "D", "E"), matrix.shortestPathData("G", "E"));
+        Assertions.assertEquals(7, matrix.shortestPathCost("G", "E"));
+        //A node's path to itself costs nothing and has no next hop
+        Assertions.assertEquals(0, matrix.getDistance(a, a));
+        Assertions.assertEquals(-1, matrix.getNextHop(a, a));
+        Assertions.assertEquals(List.of("A"), matrix.shortestPathData("A", "A"));
+        //Nothing enters G
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, matrix.getDistance(a, g));
+        Assertions.assertEquals(-1, matrix.getNextHop(a, g));
+        Assertions.assertThrows(NoSuchElementException.class, () -> matrix.shortestPathData("A", "G"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> matrix.shortestPathCost("A", "Z"));
+    }
+
+    /**
+     * This test uses a ring with more nodes than one task handles, so the rows are split between tasks, and checks
+     * that every row is right and the same whether one thread or several compute it
+     */
+    @Test
+    public void testMatrixSplitBetweenThreads(){
+        int size = 50;
+        DijkstraGraph<Integer, Integer> ring = new DijkstraGraph<>(new PlaceholderMap<>());
+        for (int i = 0; i < size; i++)
+            ring.insertNode(i);
+        for (int i = 0; i < size; i++) {
+            ring.insertEdge(i, (i + 1) % size, 1);
+            ring.insertEdge((i + 1) % size, i, 1);
+        }
+        DistanceMatrix<Integer> single = ring.allPairsShortestPaths(1);
+        DistanceMatrix<Integer> matrix = ring.allPairsShortestPaths(4);
+
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                //Around the ring, the distance is the number of steps the shorter way
+                int steps = Math.abs(from - to);
+                Assertions.assertEquals(Math.min(steps, size - steps), matrix.shortestPathCost(from, to));
+                int i = matrix.getGraph().getNodeId(from);
+                int j = matrix.getGraph().getNodeId(to);
+                Assertions.assertEquals(single.getDistance(i, j), matrix.getDistance(i, j));
+                Assertions.assertEquals(single.getNextHop(i, j), matrix.getNextHop(i, j));
+            }
+        }
+    }
+
+}
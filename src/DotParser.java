@@ -0,0 +1,377 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * This class reads graphs written in the DOT language, like flights.dot, in a
+ * single streaming pass over the bytes of a channel. Node ids and attributes
+ * may be quoted or unquoted and of any length. For each edge statement such
+ * as "ORD" -- "RNO" [miles=1671]; the handler is given both node ids and the
+ * value of the weight attribute, and for each node statement such as
+ * "DFW" [city="Dallas, TX"]; the handler is given each of its attributes.
+ *
+ * Only the parts of DOT used by route files are understood: a single graph or
+ * digraph whose statements are nodes, edges (chains like a -- b -- c are
+ * split into single edges) and attribute lists. Comments starting with //
+ * or # run to the end of the line. Default attribute statements (graph, node
+ * and edge [...]) and graph attributes (name=value) are skipped.
+ */
+public class DotParser {
+
+    /**
+     * Receives the nodes and edges of a graph as it is read.
+     */
+    public interface Handler {
+        /**
+         * Called for each edge in the graph, in the order they are read.
+         *
+         * @param from   the id of the first node of the edge
+         * @param to     the id of the second node of the edge
+         * @param weight the value of the weight attribute of the edge
+         * @throws IOException if the edge can't be used, such as when its
+         *                     weight is too large
+         */
+        void edge(String from, String to, long weight) throws IOException;
+
+        /**
+         * Called for each attribute of a node statement. Does nothing unless
+         * it is overridden.
+         *
+         * @param node  the id of the node
+         * @param name  the name of the attribute
+         * @param value the value of the attribute
+         */
+        default void nodeAttribute(String node, String name, String value) {
+        }
+    }
+
+    // The kinds of tokens in a DOT file
+    private static final int END = 0;
+    private static final int ID = 1;
+    private static final int EDGE_OP = 2;
+    private static final int OPEN_BRACKET = 3;
+    private static final int CLOSE_BRACKET = 4;
+    private static final int EQUALS = 5;
+    private static final int SEMICOLON = 6;
+    private static final int COMMA = 7;
+    private static final int OPEN_BRACE = 8;
+    private static final int CLOSE_BRACE = 9;
+
+    private static final int BUFFER_SIZE = 1 << 16; // the number of bytes read from the channel at a time
+
+    private ReadableByteChannel channel; // the channel the graph is read from
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE); // the bytes read but not yet scanned
+    private byte[] weightName; // the name of the edge attribute holding the weight, as bytes
+    private int peeked = -2; // a byte that was looked at but not used yet, or -2 for none
+    private int line = 1; // the line currently being read, for error messages
+
+    private byte[] token = new byte[64]; // the bytes of the last ID token
+    private int tokenLength = 0; // the number of bytes of token in use
+    private boolean tokenQuoted = false; // whether the last ID token was in quotes
+    private int pushedBack = -1; // a token that was read but not used yet, or -1 for none
+    private ArrayList<String> chain = new ArrayList<>(); // the node ids of the edge statement being read
+
+    /**
+     * Creates a parser that reads from a channel.
+     *
+     * @param channel    the channel to read the graph from
+     * @param weightName the name of the edge attribute holding each edge's weight
+     */
+    public DotParser(ReadableByteChannel channel, String weightName) {
+        this.channel = channel;
+        this.weightName = weightName.getBytes(StandardCharsets.UTF_8);
+        buffer.flip(); // start with an empty buffer
+    }
+
+    /**
+     * Reads the whole graph, passing each node and edge to the handler.
+     *
+     * @param handler receives the nodes and edges of the graph
+     * @throws IOException if the channel cannot be read, or the graph is not
+     *                     written in the supported part of DOT, or the
+     *                     handler throws one
+     */
+    public void parse(Handler handler) throws IOException {
+        // skip the header, [strict] (graph | digraph) [name], up to the opening brace
+        int type = nextToken();
+        while (type == ID)
+            type = nextToken();
+        expect(type, OPEN_BRACE, "{");
+
+        while (true) {
+            type = nextToken();
+            if (type == CLOSE_BRACE)
+                return;
+            if (type == SEMICOLON)
+                continue;
+            expect(type, ID, "a node id");
+            boolean keyword = !tokenQuoted && isKeyword();
+            String first = tokenString();
+
+            type = nextToken();
+            if (type == EDGE_OP) {
+                parseEdges(first, handler);
+            } else if (type == OPEN_BRACKET) {
+                // a node statement with attributes, or a default attribute statement to skip
+                parseAttributes(keyword ? null : first, handler, false);
+            } else if (type == EQUALS) {
+                // a graph attribute such as rankdir=LR
+                expect(nextToken(), ID, "a value");
+            } else {
+                // a node statement without attributes
+                pushBack(type);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the line being read, so a handler can say where
+     * a problem it found is.
+     *
+     * @return the line number, counting from 1
+     */
+    public int getLine() {
+        return line;
+    }
+
+    // Reads the rest of an edge statement after its first node and first edge operator
+    private void parseEdges(String first, Handler handler) throws IOException {
+        chain.clear();
+        chain.add(first);
+        int type = EDGE_OP;
+        while (type == EDGE_OP) {
+            expect(nextToken(), ID, "a node id");
+            chain.add(tokenString());
+            type = nextToken();
+        }
+        long weight = -1;
+        if (type == OPEN_BRACKET)
+            weight = parseAttributes(null, handler, true);
+        else
+            pushBack(type);
+        if (weight < 0)
+            throw new IOException("Line " + line + ": edge from " + first + " has no " +
+                    new String(weightName, StandardCharsets.UTF_8) + " attribute");
+        for (int i = 0; i + 1 < chain.size(); i++)
+            handler.edge(chain.get(i), chain.get(i + 1), weight);
+    }
+
+    /**
+     * Reads an attribute list after its opening bracket, up to and including
+     * its closing bracket.
+     *
+     * @param node    the node whose attributes are passed to the handler, or
+     *                null to not pass them on
+     * @param handler receives the node attributes
+     * @param edge    true when this list belongs to an edge
+     * @return the value of the weight attribute of an edge, or -1 if there is none
+     */
+    private long parseAttributes(String node, Handler handler, boolean edge) throws IOException {
+        long weight = -1;
+        while (true) {
+            int type = nextToken();
+            if (type == CLOSE_BRACKET)
+                return weight;
+            if (type == COMMA || type == SEMICOLON)
+                continue;
+            expect(type, ID, "an attribute name");
+            boolean isWeight = edge && tokenEquals(weightName);
+            String name = node != null ? tokenString() : null;
+            expect(nextToken(), EQUALS, "=");
+            expect(nextToken(), ID, "an attribute value");
+            if (isWeight)
+                weight = tokenAsLong();
+            else if (node != null)
+                handler.nodeAttribute(node, name, tokenString());
+        }
+    }
+
+    // Throws an IOException describing what was expected when a token has the wrong type
+    private void expect(int type, int expected, String description) throws IOException {
+        if (type != expected)
+            throw new IOException("Line " + line + ": expected " + description);
+    }
+
+    // Makes the next call to nextToken return a token again
+    private void pushBack(int type) {
+        pushedBack = type;
+    }
+
+    /**
+     * Reads the next token. For ID tokens, the text of the id is left in token.
+     *
+     * @return the type of the token that was read
+     */
+    private int nextToken() throws IOException {
+        if (pushedBack >= 0) {
+            int type = pushedBack;
+            pushedBack = -1;
+            return type;
+        }
+        int b = skipSpaceAndComments();
+        switch (b) {
+            case -1:
+                return END;
+            case '[':
+                return OPEN_BRACKET;
+            case ']':
+                return CLOSE_BRACKET;
+            case '=':
+                return EQUALS;
+            case ';':
+                return SEMICOLON;
+            case ',':
+                return COMMA;
+            case '{':
+                return OPEN_BRACE;
+            case '}':
+                return CLOSE_BRACE;
+            case '"':
+                readQuoted();
+                return ID;
+            case '-': {
+                int next = peekByte();
+                if (next == '-' || next == '>') {
+                    nextByte();
+                    return EDGE_OP;
+                }
+                break; // a negative number
+            }
+            default:
+                break;
+        }
+        if (!isIdByte(b) && b != '-')
+            throw new IOException("Line " + line + ": unexpected character '" + (char) b + "'");
+        // an unquoted id or number
+        tokenLength = 0;
+        tokenQuoted = false;
+        append(b);
+        while (isIdByte(peekByte()))
+            append(nextByte());
+        return ID;
+    }
+
+    // Skips whitespace and comments, and returns the first byte after them (or -1 at the end)
+    private int skipSpaceAndComments() throws IOException {
+        while (true) {
+            int b = nextByte();
+            if (b == '\n') {
+                line++;
+            } else if (b == '#' || (b == '/' && peekByte() == '/')) {
+                while (b != '\n' && b != -1)
+                    b = nextByte();
+                if (b == '\n')
+                    line++;
+            } else if (b != ' ' && b != '\t' && b != '\r') {
+                return b;
+            }
+        }
+    }
+
+    // Reads a quoted id after its opening quote, up to and including its closing quote
+    private void readQuoted() throws IOException {
+        tokenLength = 0;
+        tokenQuoted = true;
+        while (true) {
+            int b = nextByte();
+            if (b == -1)
+                throw new IOException("Line " + line + ": unterminated quoted string");
+            if (b == '"')
+                return;
+            if (b == '\\' && peekByte() == '"')
+                b = nextByte();
+            else if (b == '\n')
+                line++;
+            append(b);
+        }
+    }
+
+    // Adds a byte to the end of token, growing it when it is full
+    private void append(int b) {
+        if (tokenLength == token.length)
+            token = Arrays.copyOf(token, token.length * 2);
+        token[tokenLength++] = (byte) b;
+    }
+
+    // Checks whether a byte can be part of an unquoted id or number
+    private static boolean isIdByte(int b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9')
+                || b == '_' || b == '.' || b >= 0x80;
+    }
+
+    // Checks whether the last ID token is one of the keywords that start a default attribute statement
+    private boolean isKeyword() {
+        return tokenEquals(GRAPH) || tokenEquals(NODE) || tokenEquals(EDGE);
+    }
+
+    private static final byte[] GRAPH = "graph".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NODE = "node".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EDGE = "edge".getBytes(StandardCharsets.UTF_8);
+
+    // Compares the last ID token to some bytes
+    private boolean tokenEquals(byte[] bytes) {
+        if (tokenLength != bytes.length)
+            return false;
+        for (int i = 0; i < tokenLength; i++)
+            if (token[i] != bytes[i])
+                return false;
+        return true;
+    }
+
+    // Returns the last ID token as a String
+    private String tokenString() {
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    // Reads the last ID token as a whole number, without creating a String
+    private long tokenAsLong() throws IOException {
+        if (tokenLength == 0)
+            throw new IOException("Line " + line + ": expected a whole number");
+        long value = 0;
+        for (int i = 0; i < tokenLength; i++) {
+            int digit = token[i] - '0';
+            if (digit < 0 || digit > 9)
+                throw new IOException("Line " + line + ": expected a whole number but found " + tokenString());
+            // stop before the value wraps around to a negative number
+            if (value > (Long.MAX_VALUE - digit) / 10)
+                throw new IOException("Line " + line + ": " + tokenString() + " is too large");
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // Returns the next byte without using it, or -1 at the end of the channel
+    private int peekByte() throws IOException {
+        if (peeked == -2)
+            peeked = readByte();
+        return peeked;
+    }
+
+    // Returns and uses the next byte, or -1 at the end of the channel
+    private int nextByte() throws IOException {
+        if (peeked != -2) {
+            int b = peeked;
+            peeked = -2;
+            return b;
+        }
+        return readByte();
+    }
+
+    // Reads one byte from the buffer, refilling it from the channel when it is empty
+    private int readByte() throws IOException {
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = 0;
+            while (read == 0)
+                read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0)
+                return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+}
@@ -0,0 +1,282 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class keeps the shortest path tree of one source node in a
+ * DijkstraGraph up to date as the graph changes, repairing only the part of
+ * the tree a change affects instead of searching the whole graph again (the
+ * dynamic shortest path approach of Ramalingam and Reps).
+ *
+ * When an edge u -> v gets cheaper (or is inserted), only nodes whose path
+ * can now go through it improve, so a search starts at v and only continues
+ * through nodes whose cost goes down. When a tree edge gets more expensive
+ * (or is removed), only the nodes below v in the tree can get worse: each of
+ * them is given the cheapest cost it can reach from an unaffected node, and a
+ * search among just those nodes settles their new costs. Changes to edges
+ * that are not in the tree and don't make a path cheaper need no work.
+ *
+ * Trees are created with DijkstraGraph.trackShortestPathTree, which tells the
+ * tree about every change made to the graph. Nodes are numbered with the ids
+ * BaseGraph gives them. Like the graph, a tree is not thread-safe.
+ */
+public class DynamicShortestPathTree<NodeType, EdgeType extends Number> {
+
+    private DijkstraGraph<NodeType, EdgeType> graph; // the graph whose paths are kept
+    private BaseGraph<NodeType, EdgeType>.Node source; // the node the paths start from, or null once it is removed
+    private double[] dist = new double[0]; // the cost of the shortest path to each node, or infinity
+    private int[] parent = new int[0]; // the id of the node before each node on its path, or -1
+
+    // Scratch space for repairs
+    private IndexedDaryHeap heap = new IndexedDaryHeap(0);
+    private int[] affectedIn = new int[0]; // the number of the last repair that found each node affected
+    private int repair = 0;
+
+    /**
+     * Builds the tree of a source node with a full search. Trees should be
+     * created with DijkstraGraph.trackShortestPathTree, so they are kept up
+     * to date.
+     *
+     * @param graph  the graph to keep the paths of
+     * @param source the node the paths start from
+     */
+    DynamicShortestPathTree(DijkstraGraph<NodeType, EdgeType> graph, BaseGraph<NodeType, EdgeType>.Node source) {
+        this.graph = graph;
+        this.source = source;
+        ensureCapacity();
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        dist[source.id] = 0;
+        heap.insertOrDecrease(source.id, 0);
+        propagate(0);
+    }
+
+    // Grows the arrays to hold every id the graph has given out, with new nodes unreachable
+    private void ensureCapacity() {
+        int size = graph.nodeList.size();
+        if (size <= dist.length)
+            return;
+        int capacity = Math.max(size, dist.length * 2);
+        int oldLength = dist.length;
+        dist = Arrays.copyOf(dist, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        affectedIn = Arrays.copyOf(affectedIn, capacity);
+        Arrays.fill(dist, oldLength, capacity, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, oldLength, capacity, -1);
+        heap = new IndexedDaryHeap(capacity);
+    }
+
+    /**
+     * Settles the nodes on the heap in order of cost, relaxing the edges
+     * leaving each one. Only nodes whose cost goes down are added to the
+     * heap, so the search stops where the tree no longer changes.
+     *
+     * @param affected the number of the repair whose affected nodes are the
+     *                 only ones the search may change, or 0 to let it change
+     *                 any node
+     */
+    private void propagate(int affected) {
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            double cost = dist[current];
+            for (BaseGraph<NodeType, EdgeType>.Edge edge : graph.nodeList.get(current).edgesLeaving) {
+                int next = edge.successor.id;
+                if (affected != 0 && affectedIn[next] != affected)
+                    continue;
+                double nextCost = cost + edge.data.doubleValue();
+                if (nextCost < dist[next]) {
+                    dist[next] = nextCost;
+                    parent[next] = current;
+                    heap.insertOrDecrease(next, nextCost);
+                }
+            }
+        }
+    }
+
+    /**
+     * Called by the graph after the weight of the edge from pred to succ
+     * changes, including when the edge is inserted or removed.
+     *
+     * @param pred      the predecessor node of the edge
+     * @param succ      the successor node of the edge
+     * @param oldWeight the weight before the change, or infinity if the edge is new
+     * @param newWeight the weight after the change, or infinity if the edge was removed
+     */
+    void edgeChanged(BaseGraph<NodeType, EdgeType>.Node pred, BaseGraph<NodeType, EdgeType>.Node succ,
+                     double oldWeight, double newWeight) {
+        ensureCapacity();
+        if (source == null || newWeight == oldWeight)
+            return;
+        if (newWeight < oldWeight) {
+            // a cheaper edge can only improve succ and the nodes reached through it
+            double cost = dist[pred.id] + newWeight;
+            if (cost < dist[succ.id]) {
+                dist[succ.id] = cost;
+                parent[succ.id] = pred.id;
+                heap.insertOrDecrease(succ.id, cost);
+                propagate(0);
+            }
+        } else if (parent[succ.id] == pred.id && succ != source) {
+            // a tree edge got more expensive, so the subtree below it must be repaired
+            ArrayList<Integer> roots = new ArrayList<>();
+            roots.add(succ.id);
+            repairSubtrees(roots);
+        }
+    }
+
+    /**
+     * Called by the graph before a node is removed, to find the nodes whose
+     * path goes through it.
+     *
+     * @param node the node about to be removed
+     * @return the ids of the nodes whose parent is the removed node
+     */
+    List<Integer> nodeRemoving(BaseGraph<NodeType, EdgeType>.Node node) {
+        ensureCapacity();
+        ArrayList<Integer> children = new ArrayList<>();
+        for (BaseGraph<NodeType, EdgeType>.Edge edge : node.edgesLeaving)
+            if (parent[edge.successor.id] == node.id && edge.successor != node)
+                children.add(edge.successor.id);
+        return children;
+    }
+
+    /**
+     * Called by the graph after a node is removed, to repair the nodes whose
+     * path went through it.
+     *
+     * @param node     the node that was removed
+     * @param children the ids returned by nodeRemoving for that node
+     */
+    void nodeRemoved(BaseGraph<NodeType, EdgeType>.Node node, List<Integer> children) {
+        ensureCapacity();
+        if (node == source) {
+            // nothing can be reached any more
+            source = null;
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(parent, -1);
+            return;
+        }
+        dist[node.id] = Double.POSITIVE_INFINITY;
+        parent[node.id] = -1;
+        if (source != null && !children.isEmpty())
+            repairSubtrees(children);
+    }
+
+    /**
+     * Repairs the subtrees below some nodes whose paths got more expensive
+     * or were cut. Every node in the subtrees is given the cheapest cost it
+     * can be reached with from a node outside of them, and a search among
+     * the subtrees settles their new costs.
+     *
+     * @param roots the ids of the nodes at the top of the subtrees
+     */
+    private void repairSubtrees(List<Integer> roots) {
+        repair++;
+        // collect the subtrees by following tree edges down from each root
+        ArrayList<Integer> affected = new ArrayList<>();
+        for (int root : roots) {
+            if (affectedIn[root] != repair) {
+                affectedIn[root] = repair;
+                affected.add(root);
+            }
+        }
+        for (int i = 0; i < affected.size(); i++) {
+            int current = affected.get(i);
+            for (BaseGraph<NodeType, EdgeType>.Edge edge : graph.nodeList.get(current).edgesLeaving) {
+                int next = edge.successor.id;
+                if (parent[next] == current && affectedIn[next] != repair) {
+                    affectedIn[next] = repair;
+                    affected.add(next);
+                }
+            }
+        }
+        // start each affected node at its cheapest path through an unaffected node
+        for (int node : affected) {
+            dist[node] = Double.POSITIVE_INFINITY;
+            parent[node] = -1;
+        }
+        for (int node : affected) {
+            for (BaseGraph<NodeType, EdgeType>.Edge edge : graph.nodeList.get(node).edgesEntering) {
+                int pred = edge.predecessor.id;
+                if (affectedIn[pred] == repair)
+                    continue;
+                double cost = dist[pred] + edge.data.doubleValue();
+                if (cost < dist[node]) {
+                    dist[node] = cost;
+                    parent[node] = pred;
+                }
+            }
+            if (dist[node] != Double.POSITIVE_INFINITY)
+                heap.insertOrDecrease(node, dist[node]);
+        }
+        propagate(repair);
+    }
+
+    /**
+     * Checks whether the source node of this tree is still in the graph. Once
+     * it is removed, nothing can be reached from it.
+     *
+     * @return true if the source has not been removed, or false otherwise
+     */
+    public boolean hasSource() {
+        return source != null;
+    }
+
+    /**
+     * Returns the data stored in the source node of this tree.
+     *
+     * @return the data item in the source node
+     * @throws NoSuchElementException if the source node was removed
+     */
+    public NodeType getSource() {
+        if (source == null)
+            throw new NoSuchElementException("The source was removed from the graph");
+        return source.data;
+    }
+
+    // Finds the id of a node, making sure the source can reach it
+    private int reachableId(NodeType end) {
+        if (source == null || !graph.containsNode(end))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        int id = graph.nodes.get(end).id;
+        if (id >= dist.length || dist[id] == Double.POSITIVE_INFINITY)
+            throw new NoSuchElementException("No path from start to end!");
+        return id;
+    }
+
+    /**
+     * Returns the cost of the shortest path from the source to the node
+     * containing the end data, as of the latest change to the graph.
+     *
+     * @param end the data item in the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     * @throws NoSuchElementException when no path from the source to end is
+     *                                found or when end does not correspond to
+     *                                a graph node
+     */
+    public double shortestPathCost(NodeType end) {
+        return dist[reachableId(end)];
+    }
+
+    /**
+     * Returns the list of data values from nodes along the shortest path
+     * from the source to the node with the provided end value, as of the
+     * latest change to the graph.
+     *
+     * @param end the data item in the destination node for the path
+     * @return list of data item from node along this shortest path
+     * @throws NoSuchElementException when no path from the source to end is
+     *                                found or when end does not correspond to
+     *                                a graph node
+     */
+    public List<NodeType> shortestPathData(NodeType end) {
+        ArrayList<NodeType> list = new ArrayList<>();
+        for (int id = reachableId(end); id != -1; id = parent[id])
+            list.add(graph.nodeList.get(id).data);
+        Collections.reverse(list);
+        return list;
+    }
+
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests DynamicShortestPathTree, which repairs the shortest path tree of a source as its graph changes
+ */
+public class DynamicShortestPathTreeTests {
+
+    // Creates the graph from lecture. From A, the tree is A -> B -> F and A -> C -> D -> E, and E -> F is not in it.
+    private static DijkstraGraph<String, Integer> lectureGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+        graph.insertNode("E");
+        graph.insertNode("F");
+
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "F", 3);
+        graph.insertEdge("A", "C", 2);
+        graph.insertEdge("C", "D", 2);
+        graph.insertEdge("D", "E", 2);
+        graph.insertEdge("E", "F", 2);
+        return graph;
+    }
+
+    /**
+     * This test checks that cheaper and new edges improve the nodes reached through them, including new nodes
+     */
+    @Test
+    public void testTreeAfterCheaperEdges(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        DynamicShortestPathTree<String, Integer> tree = graph.trackShortestPathTree("A");
+
+        graph.insertEdge("C", "D", 1);
+        Assertions.assertEquals(List.of("A", "C", "D", "E"), tree.shortestPathData("E"));
+        Assertions.assertEquals(5, tree.shortestPathCost("E"));
+        Assertions.assertEquals(4, tree.shortestPathCost("F"));
+        //A new edge that is cheaper than the tree path takes over
+        graph.insertEdge("A", "F", 1);
+        Assertions.assertEquals(List.of("A", "F"), tree.shortestPathData("F"));
+        //A node inserted after the tree was built can be reached once an edge leads to it
+        graph.insertNode("G");
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathCost("G"));
+        graph.insertEdge("F", "G", 2);
+        Assertions.assertEquals(List.of("A", "F", "G"), tree.shortestPathData("G"));
+        Assertions.assertEquals(3, tree.shortestPathCost("G"));
+    }
+
+    /**
+     * This test checks that a tree edge getting more expensive repairs the subtree below it, both when a node outside
+     * the subtree gives a better path and when none does
+     */
+    @Test
+    public void testTreeAfterMoreExpensiveEdges(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        DynamicShortestPathTree<String, Integer> tree = graph.trackShortestPathTree("A");
+
+        //F can now be reached more cheaply through E, which is outside the subtree below B
+        graph.insertEdge("B", "F", 10);
+        Assertions.assertEquals(List.of("A", "C", "D", "E", "F"), tree.shortestPathData("F"));
+        Assertions.assertEquals(8, tree.shortestPathCost("F"));
+        //C has no other path, so its whole subtree costs 8 more
+        graph.insertEdge("A", "C", 10);
+        Assertions.assertEquals(10, tree.shortestPathCost("C"));
+        Assertions.assertEquals(14, tree.shortestPathCost("E"));
+        Assertions.assertEquals(11, tree.shortestPathCost("F"));
+        Assertions.assertEquals(List.of("A", "B", "F"), tree.shortestPathData("F"));
+        //An edge that is not in the tree changes nothing
+        graph.insertEdge("E", "F", 1);
+        Assertions.assertEquals(11, tree.shortestPathCost("F"));
+    }
+
+    /**
+     * This test checks that removing edges and nodes cuts off the nodes that can no longer be reached, and reroutes
+     * the ones that still can
+     */
+    @Test
+    public void testTreeAfterRemovals(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        DynamicShortestPathTree<String, Integer> tree = graph.trackShortestPathTree("A");
+
+        graph.removeEdge("B", "F");
+        Assertions.assertEquals(List.of("A", "C", "D", "E", "F"), tree.shortestPathData("F"));
+        graph.removeNode("D");
+        Assertions.assertEquals(2, tree.shortestPathCost("C"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathCost("E"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathCost("F"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathCost("D"));
+        //Putting a path back reaches F again
+        graph.insertEdge("C", "F", 5);
+        Assertions.assertEquals(7, tree.shortestPathCost("F"));
+    }
+
+    /**
+     * This test checks that a tree whose source is removed reaches nothing, and that an untracked tree is no longer
+     * changed with the graph
+     */
+    @Test
+    public void testTreeSourceRemovedAndUntracked(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        DynamicShortestPathTree<String, Integer> tree = graph.trackShortestPathTree("A");
+        DynamicShortestPathTree<String, Integer> untracked = graph.trackShortestPathTree("C");
+        Assertions.assertTrue(graph.untrackShortestPathTree(untracked));
+        Assertions.assertFalse(graph.untrackShortestPathTree(untracked));
+
+        graph.insertEdge("C", "E", 1);
+        Assertions.assertEquals(4, untracked.shortestPathCost("E"));
+        graph.removeNode("A");
+        Assertions.assertFalse(tree.hasSource());
+        Assertions.assertThrows(NoSuchElementException.class, tree::getSource);
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathCost("B"));
+        //Later changes don't bring anything back
+        graph.insertNode("A");
+        graph.insertEdge("A", "B", 1);
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathCost("B"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.trackShortestPathTree("Z"));
+    }
+
+}
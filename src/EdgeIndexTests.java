@@ -0,0 +1,97 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests that edges are found, updated and removed through the edge index of BaseGraph
+ */
+public class EdgeIndexTests {
+
+    // Creates a graph with nodes A, B and C, a cycle through them and a loop at B
+    private static DijkstraGraph<String, Integer> cycleGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "C", 2);
+        graph.insertEdge("C", "A", 3);
+        graph.insertEdge("B", "B", 4);
+        return graph;
+    }
+
+    /**
+     * This test checks that inserting an edge that is already in the graph updates its weight instead of adding
+     * another edge
+     */
+    @Test
+    public void testEdgeIndexUpdatesExistingEdge(){
+        DijkstraGraph<String, Integer> graph = cycleGraph();
+
+        Assertions.assertTrue(graph.insertEdge("A", "B", 5));
+        Assertions.assertEquals(5, (int) graph.getEdge("A", "B"));
+        Assertions.assertEquals(4, graph.getEdgeCount());
+        Assertions.assertEquals(1, graph.nodes.get("A").edgesLeaving.size());
+        Assertions.assertEquals(2, graph.nodes.get("B").edgesEntering.size());
+        //The search sees the new weight
+        Assertions.assertEquals(7, graph.shortestPathCost("A", "C"));
+    }
+
+    /**
+     * This test checks that the two directions between a pair of nodes are separate edges in the index
+     */
+    @Test
+    public void testEdgeIndexKeepsDirections(){
+        DijkstraGraph<String, Integer> graph = cycleGraph();
+        graph.insertEdge("B", "A", 9);
+
+        Assertions.assertEquals(1, (int) graph.getEdge("A", "B"));
+        Assertions.assertEquals(9, (int) graph.getEdge("B", "A"));
+        Assertions.assertTrue(graph.removeEdge("A", "B"));
+        Assertions.assertFalse(graph.containsEdge("A", "B"));
+        Assertions.assertEquals(9, (int) graph.getEdge("B", "A"));
+        Assertions.assertFalse(graph.removeEdge("A", "B"));
+    }
+
+    /**
+     * This test checks that missing nodes and edges are reported without throwing, except by getEdge
+     */
+    @Test
+    public void testEdgeIndexMissingEdges(){
+        DijkstraGraph<String, Integer> graph = cycleGraph();
+
+        Assertions.assertFalse(graph.insertEdge("A", "Z", 1));
+        Assertions.assertFalse(graph.containsEdge("Z", "A"));
+        Assertions.assertFalse(graph.removeEdge("A", "C"));
+        Assertions.assertFalse(graph.removeEdge("Z", "A"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.getEdge("A", "C"));
+        Assertions.assertEquals(4, graph.getEdgeCount());
+    }
+
+    /**
+     * This test checks that removing a node removes every edge connected to it from the index, counting its loop
+     * once, and that a new node with the same data does not see the old edges
+     */
+    @Test
+    public void testEdgeIndexRemoveNode(){
+        DijkstraGraph<String, Integer> graph = cycleGraph();
+
+        Assertions.assertTrue(graph.removeNode("B"));
+        Assertions.assertEquals(1, graph.getEdgeCount());
+        Assertions.assertEquals(1, graph.edgeIndex.size());
+        Assertions.assertFalse(graph.containsEdge("A", "B"));
+        Assertions.assertTrue(graph.containsEdge("C", "A"));
+        Assertions.assertTrue(graph.nodes.get("A").edgesLeaving.isEmpty());
+
+        //The new B has a new id, so the index has nothing for it
+        graph.insertNode("B");
+        Assertions.assertFalse(graph.containsEdge("A", "B"));
+        Assertions.assertFalse(graph.containsEdge("B", "B"));
+        Assertions.assertTrue(graph.insertEdge("A", "B", 6));
+        Assertions.assertEquals(6, (int) graph.getEdge("A", "B"));
+        Assertions.assertEquals(2, graph.getEdgeCount());
+    }
+
+}
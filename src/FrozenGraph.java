@@ -0,0 +1,610 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleFunction;
+
+/**
+ * This class is a read-only snapshot of a BaseGraph, stored in compressed
+ * sparse row (CSR) form. Every node is given a dense int id, and the edges
+ * leaving node i are stored at positions offsets[i] through offsets[i+1]-1 of
+ * the targets and weights arrays, sorted by the id of their successor. Queries
+ * walk these primitive arrays instead of the linked Node and Edge objects of
+ * the graph it was built from.
+ *
+ * A FrozenGraph never changes once it is built, and every thread that runs
+ * a shortest path query is given its own DijkstraEngine, so any number of
+ * threads may query the same FrozenGraph at once. Threads must be handed the
+ * graph safely, for example through a volatile field as Backend does.
+ */
+public class FrozenGraph<NodeType, EdgeType extends Number> implements GraphADT<NodeType, EdgeType> {
+
+    protected NodeType[] nodeData; // the data stored in each node, indexed by id
+    protected MapADT<NodeType, Integer> ids; // maps the data in each node to its id
+    protected int[] offsets; // edges leaving node i start at offsets[i], with offsets[nodeCount] == edgeCount
+    protected int[] targets; // the id of the successor of each edge
+    protected double[] weights; // the weight of each edge as a double
+    protected EdgeType[] edgeData; // the original weight object stored in each edge, or null if there are none
+    protected DoubleFunction<EdgeType> edgeFactory; // creates the weight object of an edge when edgeData is null
+    protected long version = 0; // the version of the graph this is, counted up by VersionedGraph
+
+    private volatile FrozenGraph<NodeType, EdgeType> reversed = null; // the transpose, made the first time it is needed
+
+    // searches this graph, with one engine for each thread created by its first shortest path query
+    private final ThreadLocal<DijkstraEngine> engines = ThreadLocal.withInitial(() -> new DijkstraEngine(this));
+    // the same for searches limited to a number of edges
+    private final ThreadLocal<HopLimitedEngine> hopEngines =
+            ThreadLocal.withInitial(() -> new HopLimitedEngine(this));
+
+    /**
+     * Creates a snapshot of the nodes and edges currently stored in a graph.
+     *
+     * @param graph the graph to copy
+     */
+    public FrozenGraph(BaseGraph<NodeType, EdgeType> graph) {
+        // give each node that is still in the graph the next dense id
+        int nodeCount = graph.getNodeCount();
+        int[] denseIds = new int[graph.nodeList.size()];
+        nodeData = newNodeArray(nodeCount);
+        ids = new OpenAddressingMap<>(nodeCount);
+        int next = 0;
+        for (BaseGraph<NodeType, EdgeType>.Node node : graph.nodeList) {
+            if (node == null)
+                continue;
+            denseIds[node.id] = next;
+            nodeData[next] = node.data;
+            ids.put(node.data, next);
+            next++;
+        }
+
+        // copy each node's leaving edges into its row, sorted by successor id
+        offsets = new int[nodeCount + 1];
+        targets = new int[graph.getEdgeCount()];
+        weights = new double[targets.length];
+        edgeData = newEdgeArray(targets.length);
+        int edge = 0;
+        for (BaseGraph<NodeType, EdgeType>.Node node : graph.nodeList) {
+            if (node == null)
+                continue;
+            int id = denseIds[node.id];
+            offsets[id] = edge;
+            // pack (successor id, position in row) so one sort orders the row
+            List<BaseGraph<NodeType, EdgeType>.Edge> row = node.edgesLeaving;
+            long[] order = new long[row.size()];
+            for (int i = 0; i < order.length; i++)
+                order[i] = ((long) denseIds[row.get(i).successor.id] << 32) | i;
+            Arrays.sort(order);
+            for (long packed : order) {
+                BaseGraph<NodeType, EdgeType>.Edge leaving = row.get((int) packed);
+                targets[edge] = (int) (packed >>> 32);
+                weights[edge] = leaving.data.doubleValue();
+                edgeData[edge] = leaving.data;
+                edge++;
+            }
+        }
+        offsets[nodeCount] = edge;
+    }
+
+    // Creates an array for node data, which has to be an Object[] since the type of the data is erased
+    @SuppressWarnings("unchecked") // the array only ever holds NodeType items
+    static <NodeType> NodeType[] newNodeArray(int length) {
+        return (NodeType[]) new Object[length];
+    }
+
+    // Creates an array for edge weight objects, which has to be a Number[] since the type of the weights is erased
+    @SuppressWarnings("unchecked") // the array only ever holds EdgeType weights, which are all Numbers
+    static <EdgeType extends Number> EdgeType[] newEdgeArray(int length) {
+        return (EdgeType[]) new Number[length];
+    }
+
+    /**
+     * Creates a graph directly from its CSR arrays, without any weight
+     * objects. The weight object of an edge is created from its weight only
+     * when it is asked for, so no object is created for each edge.
+     *
+     * @param nodeData    the data stored in each node, indexed by id
+     * @param offsets     the position of the first edge leaving each node, followed by the number of edges
+     * @param targets     the id of the successor of each edge, sorted within each node's row
+     * @param weights     the weight of each edge
+     * @param edgeFactory creates the weight object of an edge from its weight
+     */
+    FrozenGraph(NodeType[] nodeData, int[] offsets, int[] targets, double[] weights,
+                DoubleFunction<EdgeType> edgeFactory) {
+        this.nodeData = nodeData;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeFactory = edgeFactory;
+        ids = new OpenAddressingMap<>(nodeData.length);
+        for (int id = 0; id < nodeData.length; id++)
+            ids.put(nodeData[id], id);
+    }
+
+    /**
+     * Creates the transpose of this graph: a graph with the same nodes and
+     * node ids, where every edge points the other way. Searching the
+     * transpose from a node finds the shortest paths leading to that node.
+     *
+     * @return a new graph with every edge of this graph reversed
+     */
+    public FrozenGraph<NodeType, EdgeType> transpose() {
+        int nodeCount = nodeData.length;
+        // count the edges entering each node, which become the edges leaving it
+        int[] reverseOffsets = new int[nodeCount + 1];
+        for (int target : targets)
+            reverseOffsets[target + 1]++;
+        for (int id = 0; id < nodeCount; id++)
+            reverseOffsets[id + 1] += reverseOffsets[id];
+        // walking the original rows in id order keeps each new row sorted
+        int[] next = Arrays.copyOf(reverseOffsets, nodeCount);
+        int[] reverseTargets = new int[targets.length];
+        double[] reverseWeights = new double[targets.length];
+        EdgeType[] reverseEdgeData = edgeData == null ? null : newEdgeArray(targets.length);
+        for (int id = 0; id < nodeCount; id++) {
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                int reverseEdge = next[targets[edge]]++;
+                reverseTargets[reverseEdge] = id;
+                reverseWeights[reverseEdge] = weights[edge];
+                if (reverseEdgeData != null)
+                    reverseEdgeData[reverseEdge] = edgeData[edge];
+            }
+        }
+        FrozenGraph<NodeType, EdgeType> transpose = new FrozenGraph<>(nodeData, reverseOffsets, reverseTargets,
+                reverseWeights, edgeFactory, ids);
+        transpose.edgeData = reverseEdgeData;
+        return transpose;
+    }
+
+    /**
+     * Returns the transpose of this graph, making it the first time it is
+     * needed and keeping it for later calls.
+     *
+     * @return a graph with every edge of this graph reversed
+     */
+    FrozenGraph<NodeType, EdgeType> reversed() {
+        FrozenGraph<NodeType, EdgeType> reversed = this.reversed;
+        if (reversed == null) {
+            // two threads may both make it, but either copy is the same
+            reversed = transpose();
+            this.reversed = reversed;
+        }
+        return reversed;
+    }
+
+    // Creates a graph from its CSR arrays that shares the map of node ids of another graph
+    private FrozenGraph(NodeType[] nodeData, int[] offsets, int[] targets, double[] weights,
+                        DoubleFunction<EdgeType> edgeFactory, MapADT<NodeType, Integer> ids) {
+        this.nodeData = nodeData;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeFactory = edgeFactory;
+        this.ids = ids;
+    }
+
+    /**
+     * Always throws, since a FrozenGraph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean insertNode(NodeType data) {
+        throw new UnsupportedOperationException("FrozenGraph does not support the .insertNode() method");
+    }
+
+    /**
+     * Always throws, since a FrozenGraph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeNode(NodeType data) {
+        throw new UnsupportedOperationException("FrozenGraph does not support the .removeNode() method");
+    }
+
+    @Override
+    public boolean containsNode(NodeType data) {
+        return ids.containsKey(data);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeData.length;
+    }
+
+    /**
+     * Always throws, since a FrozenGraph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean insertEdge(NodeType pred, NodeType succ, EdgeType weight) {
+        throw new UnsupportedOperationException("FrozenGraph does not support the .insertEdge() method");
+    }
+
+    /**
+     * Always throws, since a FrozenGraph cannot be changed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeEdge(NodeType pred, NodeType succ) {
+        throw new UnsupportedOperationException("FrozenGraph does not support the .removeEdge() method");
+    }
+
+    @Override
+    public boolean containsEdge(NodeType pred, NodeType succ) {
+        if (!ids.containsKey(pred) || !ids.containsKey(succ))
+            return false;
+        return findEdge(ids.get(pred), ids.get(succ)) >= 0;
+    }
+
+    @Override
+    public EdgeType getEdge(NodeType pred, NodeType succ) {
+        int edge = findEdge(ids.get(pred), ids.get(succ));
+        if (edge < 0)
+            throw new NoSuchElementException("No edge from " + pred.toString() + " to " +
+                    succ.toString());
+        return getEdgeData(edge);
+    }
+
+    /**
+     * Returns the weight object of an edge.
+     *
+     * @param edge the position of the edge in targets
+     * @return the weight object stored in that edge
+     */
+    protected EdgeType getEdgeData(int edge) {
+        return edgeData != null ? edgeData[edge] : edgeFactory.apply(weights[edge]);
+    }
+
+    /**
+     * Finds the position of the edge between two nodes with a binary search
+     * through the row of the predecessor.
+     *
+     * @param pred the id of the predecessor node
+     * @param succ the id of the successor node
+     * @return the position of the edge in targets, or -1 when there is no edge
+     */
+    protected int findEdge(int pred, int succ) {
+        int low = offsets[pred];
+        int high = offsets[pred + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (targets[mid] < succ)
+                low = mid + 1;
+            else if (targets[mid] > succ)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -1;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the version of this graph. A graph built directly is version
+     * 0, and each update committed to a VersionedGraph publishes a graph
+     * with the next version.
+     *
+     * @return the version of this graph
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Looks up the id given to the node containing some data.
+     *
+     * @param data the data item of the node
+     * @return the id of that node
+     * @throws NoSuchElementException when data is not stored in this graph
+     */
+    public int getNodeId(NodeType data) {
+        return ids.get(data);
+    }
+
+    /**
+     * Looks up the data stored in the node with some id.
+     *
+     * @param id the id of the node
+     * @return the data item of that node
+     */
+    public NodeType getNodeData(int id) {
+        return nodeData[id];
+    }
+
+    /**
+     * Returns the engine used by the shortest path queries of the calling
+     * thread, creating it the first time the thread needs it.
+     *
+     * @return the calling thread's engine that searches this graph
+     */
+    protected DijkstraEngine getEngine() {
+        return engines.get();
+    }
+
+    /**
+     * Checks that both nodes are in the graph, and runs a search between
+     * them with the calling thread's engine.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the engine, holding the results of the search
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    protected DijkstraEngine computeShortestPath(NodeType start, NodeType end) {
+        return computeShortestPath(start, end, null);
+    }
+
+    /**
+     * Does the same as computeShortestPath(start, end), and also counts the
+     * work done by the search and times it when stats is not null.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @param stats the counters to fill in, or null to not count anything
+     * @return the engine, holding the results of the search
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    protected DijkstraEngine computeShortestPath(NodeType start, NodeType end, SearchStats stats) {
+        if (!ids.containsKey(start) || !ids.containsKey(end))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        DijkstraEngine engine = getEngine();
+        if (engine.search(ids.get(start), ids.get(end), stats) == Double.POSITIVE_INFINITY)
+            throw new NoSuchElementException("No path from start to end!");
+        return engine;
+    }
+
+    /**
+     * Returns the list of data values from nodes along the shortest path
+     * from the node with the provided start value through the node with the
+     * provided end value, using a DijkstraEngine over the CSR arrays.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return list of data item from node along this shortest path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    @Override
+    public List<NodeType> shortestPathData(NodeType start, NodeType end) {
+        DijkstraEngine engine = computeShortestPath(start, end);
+        ArrayList<NodeType> list = new ArrayList<>();
+        for (int id = ids.get(end); id != -1; id = engine.getParent(id))
+            list.add(nodeData[id]);
+        Collections.reverse(list);
+        return list;
+    }
+
+    /**
+     * Finds the shortest path between two nodes, and returns the data of its
+     * nodes and edges together in a ShortestPathResult.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the nodes, the weight of each edge and the total cost of the path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    public ShortestPathResult<NodeType, EdgeType> shortestPathResult(NodeType start, NodeType end) {
+        return shortestPathResult(start, end, null);
+    }
+
+    /**
+     * Does the same as shortestPathResult(start, end), and also counts the
+     * work done by the search and times it when stats is not null. The
+     * counters are then available from the result's getSearchStats().
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @param stats the counters to fill in, or null to not count anything
+     * @return the nodes, the weight of each edge and the total cost of the path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    public ShortestPathResult<NodeType, EdgeType> shortestPathResult(NodeType start, NodeType end,
+                                                                      SearchStats stats) {
+        return resultOf(computeShortestPath(start, end, stats), ids.get(end), stats);
+    }
+
+    /**
+     * Finds the cheapest path between two nodes that uses at most maxHops
+     * edges, which may cost more than the shortest path when that path has
+     * more edges. The shortest path is found first and returned when it has
+     * few enough edges, so the search limited to maxHops edges only runs
+     * when it is needed.
+     *
+     * @param start   the data item in the starting node for the path
+     * @param end     the data item in the destination node for the path
+     * @param maxHops the most edges the path may use
+     * @return the nodes, the weight of each edge and the total cost of the path
+     * @throws NoSuchElementException   when no path from start to end with at
+     *                                  most maxHops edges is found or when
+     *                                  either start or end data do not
+     *                                  correspond to a graph node
+     * @throws IllegalArgumentException when maxHops is negative
+     */
+    public ShortestPathResult<NodeType, EdgeType> shortestPathResult(NodeType start, NodeType end, int maxHops) {
+        return shortestPathResult(start, end, maxHops, null);
+    }
+
+    /**
+     * Does the same as shortestPathResult(start, end, maxHops), and also
+     * counts the work done by the search and times it when stats is not null.
+     *
+     * @param start   the data item in the starting node for the path
+     * @param end     the data item in the destination node for the path
+     * @param maxHops the most edges the path may use
+     * @param stats   the counters to fill in, or null to not count anything
+     * @return the nodes, the weight of each edge and the total cost of the path
+     * @throws NoSuchElementException   when no path from start to end with at
+     *                                  most maxHops edges is found or when
+     *                                  either start or end data do not
+     *                                  correspond to a graph node
+     * @throws IllegalArgumentException when maxHops is negative
+     */
+    public ShortestPathResult<NodeType, EdgeType> shortestPathResult(NodeType start, NodeType end, int maxHops,
+                                                                      SearchStats stats) {
+        if (maxHops < 0)
+            throw new IllegalArgumentException("The number of edges can't be negative");
+        // the shortest path is the answer whenever it is short enough, which a plain search finds much faster
+        DijkstraEngine shortest = computeShortestPath(start, end, stats);
+        int endId = ids.get(end);
+        int hops = 0;
+        for (int id = endId; shortest.getParent(id) != -1; id = shortest.getParent(id))
+            hops++;
+        if (hops <= maxHops)
+            return resultOf(shortest, endId, stats);
+        long shortestNanos = stats != null ? stats.nanos : 0;
+        HopLimitedEngine engine = hopEngines.get();
+        int endLabel = engine.search(ids.get(start), endId, maxHops, stats);
+        if (stats != null)
+            stats.nanos += shortestNanos; // count the time of both searches
+        if (endLabel == -1)
+            throw new NoSuchElementException("No path from start to end!");
+        ArrayList<NodeType> route = new ArrayList<>();
+        ArrayList<EdgeType> segments = new ArrayList<>();
+        for (int label = endLabel; label != -1; label = engine.getParent(label)) {
+            route.add(nodeData[engine.getNode(label)]);
+            if (engine.getParentEdge(label) != -1)
+                segments.add(getEdgeData(engine.getParentEdge(label)));
+        }
+        Collections.reverse(route);
+        Collections.reverse(segments);
+        return new ShortestPathResult<>(route, segments, engine.getDistance(endLabel), stats);
+    }
+
+    // Collects the nodes and edges of the path to a node settled by an engine's last search, with its counters if any
+    private ShortestPathResult<NodeType, EdgeType> resultOf(DijkstraEngine engine, int endId, SearchStats stats) {
+        ArrayList<NodeType> route = new ArrayList<>();
+        ArrayList<EdgeType> segments = new ArrayList<>();
+        for (int id = endId; id != -1; id = engine.getParent(id)) {
+            route.add(nodeData[id]);
+            if (engine.getParentEdge(id) != -1)
+                segments.add(getEdgeData(engine.getParentEdge(id)));
+        }
+        Collections.reverse(route);
+        Collections.reverse(segments);
+        return new ShortestPathResult<>(route, segments, engine.getDistance(endId), stats);
+    }
+
+    /**
+     * Finds the shortest paths for a batch of start and destination pairs.
+     * Pairs are grouped by their start node, and each group is answered by
+     * one search that stops once all of the group's destinations are
+     * settled. The groups are searched in parallel, each thread with its own
+     * DijkstraEngine.
+     *
+     * @param starts the data item in the starting node of each pair
+     * @param ends   the data item in the destination node of each pair
+     * @return the shortest path of each pair, in the same order as the pairs,
+     *         with null for pairs that have no path or a node that is not in
+     *         the graph
+     * @throws IllegalArgumentException if the two lists have different sizes
+     */
+    public List<ShortestPathResult<NodeType, EdgeType>> shortestPathResults(List<NodeType> starts,
+                                                                           List<NodeType> ends) {
+        if (starts.size() != ends.size())
+            throw new IllegalArgumentException("there must be one destination for each start");
+        // group the positions of the pairs by the id of their start node
+        LinkedHashMap<Integer, ArrayList<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < starts.size(); i++) {
+            if (!ids.containsKey(starts.get(i)) || !ids.containsKey(ends.get(i)))
+                continue;
+            groups.computeIfAbsent(ids.get(starts.get(i)), source -> new ArrayList<>()).add(i);
+        }
+
+        @SuppressWarnings("unchecked") // the array only ever holds results found in this graph
+        ShortestPathResult<NodeType, EdgeType>[] results =
+                (ShortestPathResult<NodeType, EdgeType>[]) new ShortestPathResult<?, ?>[starts.size()];
+        new ArrayList<>(groups.entrySet()).parallelStream().forEach(group -> {
+            DijkstraEngine engine = getEngine();
+            ArrayList<Integer> pairs = group.getValue();
+            int[] targets = new int[pairs.size()];
+            for (int i = 0; i < targets.length; i++)
+                targets[i] = ids.get(ends.get(pairs.get(i)));
+            engine.searchMany(group.getKey(), targets);
+            // each pair is written by only one group, so no two threads write the same element
+            for (int i = 0; i < targets.length; i++)
+                if (engine.isSettled(targets[i]))
+                    results[pairs.get(i)] = resultOf(engine, targets[i], null);
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Returns the cost of the shortest path from the node containing the
+     * start data to the node containing the end data, using a DijkstraEngine
+     * over the CSR arrays.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    @Override
+    public double shortestPathCost(NodeType start, NodeType end) {
+        return computeShortestPath(start, end).getDistance(ids.get(end));
+    }
+
+    /**
+     * Searches from the source until every node it can reach is settled, and
+     * copies the distances and parents into a ShortestPathTree.
+     *
+     * @param source the data item in the node the paths start from
+     * @return the shortest path tree rooted at the source
+     * @throws NoSuchElementException when source does not correspond to a
+     *                                graph node
+     */
+    @Override
+    public ShortestPathTree<NodeType, EdgeType> shortestPathTree(NodeType source) {
+        if (!ids.containsKey(source))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        int sourceId = ids.get(source);
+        DijkstraEngine engine = getEngine();
+        engine.searchAll(sourceId);
+        return new ShortestPathTree<>(this, engine, sourceId);
+    }
+
+    /**
+     * Finds the k shortest loopless paths between two nodes in order of cost,
+     * with Yen's algorithm. The first path is the shortest path, and paths of
+     * the same cost are ordered by their number of edges.
+     *
+     * @param start the data item in the starting node for the paths
+     * @param end   the data item in the destination node for the paths
+     * @param k     the most paths to find
+     * @return up to k paths in order of cost, with fewer if there are not k
+     *         loopless paths, or none if end can't be reached from start
+     * @throws NoSuchElementException   when either start or end data do not
+     *                                  correspond to a graph node
+     * @throws IllegalArgumentException when k is negative
+     */
+    public List<ShortestPathResult<NodeType, EdgeType>> kShortestPaths(NodeType start, NodeType end, int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("k can't be negative");
+        if (!ids.containsKey(start) || !ids.containsKey(end))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        // no paths are asked for, so skip the backward search and the arrays the spur searches share
+        if (k == 0)
+            return new ArrayList<>();
+        return new KShortestPaths<>(this, start, end).next(k);
+    }
+
+}
@@ -0,0 +1,129 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests FrozenGraph, the read-only CSR snapshot of a graph
+ */
+public class FrozenGraphTests {
+
+    // Creates the graph from lecture
+    private static DijkstraGraph<String, Integer> lectureGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+        graph.insertNode("E");
+        graph.insertNode("F");
+
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "F", 3);
+        graph.insertEdge("A", "C", 2);
+        graph.insertEdge("C", "D", 2);
+        graph.insertEdge("D", "E", 2);
+        graph.insertEdge("E", "F", 2);
+        return graph;
+    }
+
+    /**
+     * This test freezes the graph from lecture, and checks that the snapshot answers the same queries as the graph it
+     * was copied from
+     */
+    @Test
+    public void testFrozenGraphAnswersLikeTheGraph(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        FrozenGraph<String, Integer> frozen = graph.freeze();
+
+        //Check the snapshot has the same nodes and edges
+        Assertions.assertEquals(6, frozen.getNodeCount());
+        Assertions.assertEquals(6, frozen.getEdgeCount());
+        Assertions.assertEquals(3, (int) frozen.getEdge("B", "F"));
+        Assertions.assertFalse(frozen.containsEdge("F", "B"));
+        Assertions.assertFalse(frozen.containsEdge("A", "Z"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> frozen.getEdge("F", "B"));
+        //Check the snapshot finds the same shortest paths
+        Assertions.assertEquals("[A, B, F]", frozen.shortestPathData("A", "F").toString());
+        Assertions.assertEquals(4, frozen.shortestPathCost("A", "F"));
+        Assertions.assertEquals("[C, D, E]", frozen.shortestPathData("C", "E").toString());
+        Assertions.assertThrows(NoSuchElementException.class, () -> frozen.shortestPathData("F", "A"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> frozen.shortestPathData("A", "Z"));
+    }
+
+    /**
+     * This test checks that removed nodes leave no gap in the ids of the snapshot, and that their edges are left out
+     */
+    @Test
+    public void testFrozenGraphSkipsRemovedNodes(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        graph.insertNode("G");
+        graph.insertEdge("G", "A", 1);
+        graph.insertEdge("F", "G", 1);
+        graph.removeNode("C");
+        graph.removeNode("G");
+        FrozenGraph<String, Integer> frozen = graph.freeze();
+
+        Assertions.assertEquals(5, frozen.getNodeCount());
+        Assertions.assertEquals(4, frozen.getEdgeCount());
+        Assertions.assertFalse(frozen.containsNode("C"));
+        Assertions.assertFalse(frozen.containsNode("G"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> frozen.getNodeId("G"));
+        //The ids are 0 to 4, and map back to the data of their node
+        for (int id = 0; id < 5; id++)
+            Assertions.assertEquals(id, frozen.getNodeId(frozen.getNodeData(id)));
+        //The route through C is gone
+        Assertions.assertThrows(NoSuchElementException.class, () -> frozen.shortestPathData("A", "E"));
+    }
+
+    /**
+     * This test checks that each row is sorted by successor id, whatever order the edges were inserted in, so edges
+     * can be found with a binary search
+     */
+    @Test
+    public void testFrozenGraphSortsRows(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+        graph.insertEdge("A", "D", 4);
+        graph.insertEdge("A", "B", 2);
+        graph.insertEdge("A", "A", 1);
+        graph.insertEdge("A", "C", 3);
+        FrozenGraph<String, Integer> frozen = graph.freeze();
+
+        int a = frozen.getNodeId("A");
+        for (int edge = frozen.offsets[a]; edge + 1 < frozen.offsets[a + 1]; edge++)
+            Assertions.assertTrue(frozen.targets[edge] < frozen.targets[edge + 1]);
+        //Every edge is found, including the loop, and its weight comes with it
+        Assertions.assertEquals(1, (int) frozen.getEdge("A", "A"));
+        Assertions.assertEquals(2, (int) frozen.getEdge("A", "B"));
+        Assertions.assertEquals(3, (int) frozen.getEdge("A", "C"));
+        Assertions.assertEquals(4, (int) frozen.getEdge("A", "D"));
+        Assertions.assertEquals(-1, frozen.findEdge(frozen.getNodeId("B"), a));
+    }
+
+    /**
+     * This test checks that the snapshot doesn't change when the graph it was copied from does, and can't be changed
+     * itself
+     */
+    @Test
+    public void testFrozenGraphIsReadOnly(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        FrozenGraph<String, Integer> frozen = graph.freeze();
+        graph.insertEdge("A", "F", 1);
+        graph.removeEdge("A", "B");
+        graph.removeNode("E");
+
+        Assertions.assertFalse(frozen.containsEdge("A", "F"));
+        Assertions.assertEquals(1, (int) frozen.getEdge("A", "B"));
+        Assertions.assertTrue(frozen.containsNode("E"));
+        Assertions.assertEquals(4, frozen.shortestPathCost("A", "F"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.insertNode("G"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.removeNode("A"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.insertEdge("A", "F", 1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.removeEdge("A", "B"));
+    }
+
+}
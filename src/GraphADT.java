@@ -124,5 +124,18 @@ public interface GraphADT<NodeType, EdgeType extends Number> {
      */
     public double shortestPathCost(NodeType start, NodeType end);
 
+    /**
+     * Runs one search from the node with the provided source value to every
+     * node it can reach, and returns the shortest path tree it found. The
+     * tree answers shortestPathData and shortestPathCost queries from the
+     * source to any node without searching again.
+     *
+     * @param source the data item in the node the paths start from
+     * @return the shortest path tree rooted at the source
+     * @throws NoSuchElementException when source does not correspond to a
+     *                                graph node
+     */
+    public ShortestPathTree<NodeType, EdgeType> shortestPathTree(NodeType source);
+
 }
 
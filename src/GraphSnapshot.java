@@ -0,0 +1,171 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * This class writes and reads a compact binary snapshot of a graph of
+ * airports and flights, so it can be loaded without parsing a DOT file or
+ * creating an object for each edge. A snapshot is laid out as:
+ *
+ *   header:  magic "FRGS", format version, node count, edge count,
+ *            payload length (long) and CRC32 of the payload (long)
+ *   payload: for each node, the byte length of its name followed by the
+ *            UTF-8 bytes of the name, padded to a multiple of 4 bytes;
+ *            then the CSR offsets (nodeCount+1 ints), targets (edgeCount
+ *            ints) and weights (edgeCount ints)
+ *
+ * All numbers are little endian. Snapshots are read by memory mapping the
+ * file, and the CSR arrays are copied out of the mapping in bulk. Since a
+ * single mapping is used, a snapshot must be smaller than 2 GB.
+ */
+public class GraphSnapshot {
+
+    private static final int MAGIC = 0x53475246; // "FRGS" read as a little endian int
+    private static final int VERSION = 1; // the version of the format written by this class
+    private static final int HEADER_SIZE = 32; // the number of bytes in the header
+
+    /**
+     * Writes a snapshot of a graph to a file, replacing the file if it
+     * already exists.
+     *
+     * @param graph    the graph to write, whose weights must all be whole numbers
+     * @param filePath the path of the file to write
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if a weight is not a whole number that fits in an int
+     */
+    public static void write(FrozenGraph<String, ? extends Number> graph, String filePath) throws IOException {
+        int nodeCount = graph.getNodeCount();
+        int edgeCount = graph.getEdgeCount();
+
+        // encode the node names first, since their total length decides the payload size
+        byte[][] names = new byte[nodeCount][];
+        long payloadLength = 0;
+        for (int id = 0; id < nodeCount; id++) {
+            names[id] = graph.getNodeData(id).getBytes(StandardCharsets.UTF_8);
+            payloadLength += 4 + padded(names[id].length);
+        }
+        payloadLength += 4L * (nodeCount + 1) + 8L * edgeCount;
+
+        Path path = Paths.get(filePath);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + payloadLength);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.position(HEADER_SIZE);
+            for (byte[] name : names) {
+                buffer.putInt(name.length);
+                buffer.put(name);
+                for (int pad = name.length; pad < padded(name.length); pad++)
+                    buffer.put((byte) 0);
+            }
+            IntBuffer ints = buffer.asIntBuffer();
+            ints.put(graph.offsets);
+            ints.put(graph.targets);
+            for (double weight : graph.weights) {
+                if (weight != (int) weight)
+                    throw new IllegalArgumentException("weight " + weight + " is not a whole number");
+                ints.put((int) weight);
+            }
+
+            // checksum the payload, then fill in the header
+            CRC32 crc = new CRC32();
+            buffer.position(HEADER_SIZE);
+            buffer.limit((int) (HEADER_SIZE + payloadLength));
+            crc.update(buffer);
+            buffer.clear();
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(nodeCount);
+            buffer.putInt(edgeCount);
+            buffer.putLong(payloadLength);
+            buffer.putLong(crc.getValue());
+            buffer.force();
+        }
+    }
+
+    /**
+     * Reads a snapshot from a file by memory mapping it.
+     *
+     * @param filePath the path of the file to read
+     * @return a graph with the nodes and edges stored in the snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot, was
+     *                     written with another version of the format, or is corrupt
+     */
+    public static FrozenGraph<String, Integer> read(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE)
+                throw new IOException(filePath + " is not a graph snapshot");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            // check the header
+            if (buffer.getInt() != MAGIC)
+                throw new IOException(filePath + " is not a graph snapshot");
+            int version = buffer.getInt();
+            if (version != VERSION)
+                throw new IOException(filePath + " has snapshot version " + version + ", expected " + VERSION);
+            int nodeCount = buffer.getInt();
+            int edgeCount = buffer.getInt();
+            long payloadLength = buffer.getLong();
+            long checksum = buffer.getLong();
+            if (nodeCount < 0 || edgeCount < 0 || payloadLength != size - HEADER_SIZE)
+                throw new IOException(filePath + " is truncated or corrupt");
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != checksum)
+                throw new IOException(filePath + " failed its checksum");
+
+            // read the node names, then copy the CSR arrays out in bulk
+            String[] nodeData = new String[nodeCount];
+            byte[] name = new byte[64];
+            for (int id = 0; id < nodeCount; id++) {
+                int length = buffer.getInt();
+                if (length > name.length)
+                    name = new byte[Math.max(length, name.length * 2)];
+                buffer.get(name, 0, length);
+                buffer.position(buffer.position() + padded(length) - length);
+                nodeData[id] = new String(name, 0, length, StandardCharsets.UTF_8);
+            }
+            IntBuffer ints = buffer.asIntBuffer();
+            int[] offsets = new int[nodeCount + 1];
+            int[] targets = new int[edgeCount];
+            int[] miles = new int[edgeCount];
+            ints.get(offsets);
+            ints.get(targets);
+            ints.get(miles);
+            double[] weights = new double[edgeCount];
+            for (int edge = 0; edge < edgeCount; edge++)
+                weights[edge] = miles[edge];
+            return new FrozenGraph<>(nodeData, offsets, targets, weights, weight -> (int) weight);
+        }
+    }
+
+    // Rounds a length up to a multiple of 4 bytes
+    private static int padded(int length) {
+        return (length + 3) & ~3;
+    }
+
+    /**
+     * Converts a DOT file of flights into a snapshot.
+     *
+     * @param args the path of the DOT file to read, and the path of the snapshot to write
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: java GraphSnapshot <flights.dot> <snapshot file>");
+            return;
+        }
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new OpenAddressingMap<>());
+        new Backend<>(graph).readDataFromFile(args[0]);
+        write(graph.freeze(), args[1]);
+    }
+
+}
@@ -0,0 +1,81 @@
+import java.util.HashMap;
+
+/**
+ * This Heuristic estimates the miles between two airports by the great-circle
+ * distance between their coordinates, which no flight can be shorter than.
+ * The distance is scaled down by one percent so that mileages rounded to
+ * whole miles, or measured from slightly different coordinates, are still
+ * never overestimated. Airports without coordinates are estimated at 0.
+ */
+public class GreatCircleHeuristic implements Heuristic<String> {
+
+    private static final double EARTH_RADIUS_MILES = 3958.8; // the mean radius of the earth
+    private static final double SCALE = 0.99; // keeps estimates below mileages that were rounded
+
+    // The latitude and longitude of each airport in radians (NaN until it is set)
+    private HashMap<String, double[]> coordinates = new HashMap<>();
+
+    /**
+     * Sets the latitude of an airport.
+     *
+     * @param airport  the airport code
+     * @param latitude the latitude in degrees
+     */
+    public void setLatitude(String airport, double latitude) {
+        coordinatesOf(airport)[0] = Math.toRadians(latitude);
+    }
+
+    /**
+     * Sets the longitude of an airport.
+     *
+     * @param airport   the airport code
+     * @param longitude the longitude in degrees
+     */
+    public void setLongitude(String airport, double longitude) {
+        coordinatesOf(airport)[1] = Math.toRadians(longitude);
+    }
+
+    // Returns the coordinates stored for an airport, adding unknown ones first
+    private double[] coordinatesOf(String airport) {
+        double[] location = coordinates.get(airport);
+        if (location == null) {
+            location = new double[] {Double.NaN, Double.NaN};
+            coordinates.put(airport, location);
+        }
+        return location;
+    }
+
+    /**
+     * Checks whether both the latitude and longitude of an airport are known.
+     *
+     * @param airport the airport code
+     * @return true if the airport has coordinates, or false otherwise
+     */
+    public boolean hasCoordinates(String airport) {
+        double[] location = coordinates.get(airport);
+        return location != null && !Double.isNaN(location[0]) && !Double.isNaN(location[1]);
+    }
+
+    /**
+     * Returns the great-circle distance between two airports in miles, using
+     * the haversine formula, scaled down by one percent.
+     *
+     * @param from the airport code of the first airport
+     * @param to   the airport code of the second airport
+     * @return the scaled great-circle distance, or 0 if either airport has no coordinates
+     */
+    @Override
+    public double estimate(String from, String to) {
+        double[] a = coordinates.get(from);
+        double[] b = coordinates.get(to);
+        if (a == null || b == null)
+            return 0;
+        double sinLatitude = Math.sin((b[0] - a[0]) / 2);
+        double sinLongitude = Math.sin((b[1] - a[1]) / 2);
+        double h = sinLatitude * sinLatitude + Math.cos(a[0]) * Math.cos(b[0]) * sinLongitude * sinLongitude;
+        double distance = 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1, Math.sqrt(h)));
+        // NaN when a coordinate is missing, which is treated as no estimate
+        return distance >= 0 ? distance * SCALE : 0;
+    }
+
+}
@@ -0,0 +1,22 @@
+/**
+ * This interface is used by DijkstraGraph's A* search mode to estimate the
+ * cost of the rest of a path. An estimate must never be more than the true
+ * cost of the shortest path between the two nodes, and must be consistent:
+ * for any edge from u to v, estimate(u, end) is at most the edge's weight plus
+ * estimate(v, end). When that holds, the A* search finds the same shortest
+ * paths as Dijkstra's algorithm while settling fewer nodes.
+ *
+ * @param <NodeType> the data type stored at each graph node
+ */
+public interface Heuristic<NodeType> {
+
+    /**
+     * Estimates the cost of the shortest path between two nodes.
+     *
+     * @param from the data item in the node the path starts from
+     * @param to   the data item in the destination node of the path
+     * @return a lower bound on the cost of the shortest path from from to to
+     */
+    public double estimate(NodeType from, NodeType to);
+
+}
@@ -0,0 +1,241 @@
+import java.util.Arrays;
+
+/**
+ * This class finds the cheapest path between two nodes of a FrozenGraph that
+ * uses at most a given number of edges, such as a route with at most two
+ * connections. It runs Dijkstra's algorithm over labels, where a label is a
+ * node together with the number of edges used to reach it and the cost of
+ * getting there, so one node can be reached by several labels.
+ *
+ * A label is only kept when no other label of its node is both at least as
+ * cheap and uses no more edges. Labels are settled in order of cost, so once
+ * a node is settled with some number of edges, a label of that node settled
+ * later is only worth settling when it used fewer edges, and any other label
+ * is skipped without looking at its edges. A label is also not added when a
+ * label of its node already waiting in the heap is at least as good on both
+ * counts.
+ *
+ * Labels are numbered in the order they are made, and only the labels a
+ * search makes are stored, so the memory used grows with the work the search
+ * does rather than with the number of edges allowed. The label arrays and the
+ * heap are kept and reused by every search, growing when a search needs more
+ * labels, so one engine must not be used by more than one thread at a time.
+ */
+public class HopLimitedEngine {
+
+    protected int[] offsets; // the offsets array of the graph being searched
+    protected int[] targets; // the targets array of the graph being searched
+    protected double[] weights; // the weights array of the graph being searched
+    protected int nodeCount;
+
+    // The labels made by the current search, numbered from 0 in the order they were made
+    protected int labelCount = 0;
+    protected int[] labelNode; // the node of each label
+    protected int[] labelHops; // the number of edges used to reach each label
+    protected double[] dist; // the cost of the path to each label
+    protected int[] parent; // the label before each label on its path, or -1 at the source
+    protected int[] parentEdge; // the edge used to reach each label, or -1 at the source
+    protected IndexedDaryHeap heap; // the labels waiting to be settled, by cost
+
+    // What is known about each node in the current search, reset by stamping it with the search number
+    protected int[] settledIn; // the number of the last search that settled each node with any number of edges
+    protected int[] fewestHops; // the fewest edges each node was settled with in the last search
+    protected int[] waitingIn; // the number of the last search that added a label of each node to the heap
+    protected int[] waitingHops; // the edges of the cheapest label of each node added to the heap
+    protected double[] waitingCost; // the cost of that label
+    protected int search = 0; // the number of the current search
+    protected SearchStats stats = null; // the counters of the current search, or null when it isn't counted
+
+    /**
+     * Creates an engine that searches a FrozenGraph.
+     *
+     * @param graph the graph to search
+     */
+    public HopLimitedEngine(FrozenGraph<?, ?> graph) {
+        this.offsets = graph.offsets;
+        this.targets = graph.targets;
+        this.weights = graph.weights;
+        this.nodeCount = offsets.length - 1;
+        settledIn = new int[nodeCount];
+        fewestHops = new int[nodeCount];
+        waitingIn = new int[nodeCount];
+        waitingHops = new int[nodeCount];
+        waitingCost = new double[nodeCount];
+        // start with room for one label per node, which is enough for most searches
+        int capacity = Math.max(nodeCount, 16);
+        labelNode = new int[capacity];
+        labelHops = new int[capacity];
+        dist = new double[capacity];
+        parent = new int[capacity];
+        parentEdge = new int[capacity];
+        heap = new IndexedDaryHeap(capacity);
+    }
+
+    // Starts a new search from source, forgetting the results of the last one
+    private void startSearch(int source) {
+        search++;
+        if (search == Integer.MAX_VALUE) {
+            // the search numbers wrapped around, so really clear the arrays once
+            Arrays.fill(settledIn, 0);
+            Arrays.fill(waitingIn, 0);
+            search = 1;
+        }
+        heap.clear();
+        labelCount = 0;
+        addLabel(source, 0, 0, -1, -1);
+    }
+
+    // Makes a new label and adds it to the heap, doubling the label arrays when they are full
+    private void addLabel(int node, int hops, double cost, int from, int edge) {
+        if (labelCount == labelNode.length) {
+            int capacity = labelCount * 2;
+            labelNode = Arrays.copyOf(labelNode, capacity);
+            labelHops = Arrays.copyOf(labelHops, capacity);
+            dist = Arrays.copyOf(dist, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            parentEdge = Arrays.copyOf(parentEdge, capacity);
+            heap.grow(capacity);
+        }
+        int label = labelCount++;
+        labelNode[label] = node;
+        labelHops[label] = hops;
+        dist[label] = cost;
+        parent[label] = from;
+        parentEdge[label] = edge;
+        heap.insertOrDecrease(label, cost);
+        // remember the cheapest waiting label of the node, to leave out labels it is better than
+        if (waitingIn[node] != search || cost < waitingCost[node]) {
+            waitingIn[node] = search;
+            waitingHops[node] = hops;
+            waitingCost[node] = cost;
+        }
+        if (stats != null)
+            stats.pushes++;
+    }
+
+    // Checks whether a node was already settled with at most some number of edges, and so more cheaply
+    private boolean dominated(int node, int hops) {
+        return settledIn[node] == search && fewestHops[node] <= hops;
+    }
+
+    // Checks whether a label of a node waiting in the heap is at least as cheap and uses no more edges
+    private boolean dominatedByWaiting(int node, int hops, double cost) {
+        return waitingIn[node] == search && waitingHops[node] <= hops && waitingCost[node] <= cost;
+    }
+
+    /**
+     * Searches from source for the cheapest path to target with at most
+     * maxHops edges.
+     *
+     * @param source  the id of the starting node
+     * @param target  the id of the destination node
+     * @param maxHops the most edges the path may use
+     * @return the label of target at the end of the path, or -1 when target
+     *         cannot be reached with at most maxHops edges
+     * @throws IllegalArgumentException when maxHops is negative
+     */
+    public int search(int source, int target, int maxHops) {
+        if (maxHops < 0)
+            throw new IllegalArgumentException("The number of edges can't be negative");
+        startSearch(source);
+        while (!heap.isEmpty()) {
+            int label = heap.poll();
+            int node = labelNode[label];
+            int hops = labelHops[label];
+            if (stats != null)
+                stats.pops++;
+            if (dominated(node, hops)) {
+                if (stats != null)
+                    stats.skipped++;
+                continue;
+            }
+            settledIn[node] = search;
+            fewestHops[node] = hops;
+            if (stats != null)
+                stats.settled++;
+            if (node == target)
+                return label;
+            if (hops == maxHops)
+                continue;
+            if (stats != null)
+                stats.relaxed += offsets[node + 1] - offsets[node];
+            double cost = dist[label];
+            for (int edge = offsets[node], last = offsets[node + 1]; edge < last; edge++) {
+                int next = targets[edge];
+                double nextCost = cost + weights[edge];
+                if (dominated(next, hops + 1) || dominatedByWaiting(next, hops + 1, nextCost))
+                    continue;
+                addLabel(next, hops + 1, nextCost, label, edge);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Does the same as search(source, target, maxHops), and also counts the
+     * work done by the search and times it when stats is not null.
+     *
+     * @param source  the id of the starting node
+     * @param target  the id of the destination node
+     * @param maxHops the most edges the path may use
+     * @param stats   the counters to fill in, or null to not count anything
+     * @return the label of target at the end of the path, or -1 when target
+     *         cannot be reached with at most maxHops edges
+     * @throws IllegalArgumentException when maxHops is negative
+     */
+    public int search(int source, int target, int maxHops, SearchStats stats) {
+        if (stats == null)
+            return search(source, target, maxHops);
+        long began = System.nanoTime();
+        this.stats = stats;
+        try {
+            return search(source, target, maxHops);
+        } finally {
+            this.stats = null;
+            stats.nanos = System.nanoTime() - began;
+        }
+    }
+
+    /**
+     * Returns the cost of the path to a label found by the last search.
+     *
+     * @param label a label made by the last search
+     * @return the cost of the path
+     */
+    public double getDistance(int label) {
+        return dist[label];
+    }
+
+    /**
+     * Returns the node a label stands for.
+     *
+     * @param label a label made by the last search
+     * @return the id of its node
+     */
+    public int getNode(int label) {
+        return labelNode[label];
+    }
+
+    /**
+     * Returns the label before a label on the path found by the last search.
+     *
+     * @param label a label on the path
+     * @return the label before it, or -1 for the source
+     */
+    public int getParent(int label) {
+        return parent[label];
+    }
+
+    /**
+     * Returns the edge followed to reach a label on the path found by the
+     * last search.
+     *
+     * @param label a label on the path
+     * @return the position of that edge in the graph's CSR arrays, or -1 for
+     *         the source
+     */
+    public int getParentEdge(int label) {
+        return parentEdge[label];
+    }
+
+}
@@ -0,0 +1,172 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests HopLimitedEngine and the searches limited to a number of edges that FrozenGraph runs with it
+ */
+public class HopLimitedEngineTests {
+
+    // Creates a graph where each extra edge allowed from A to D gives a cheaper path: A -> D costs 10, A -> C -> D
+    // costs 6 and A -> B -> C -> D costs 3
+    private static FrozenGraph<String, Integer> stepGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "C", 1);
+        graph.insertEdge("C", "D", 1);
+        graph.insertEdge("A", "C", 5);
+        graph.insertEdge("A", "D", 10);
+        return graph.freeze();
+    }
+
+    /**
+     * This test checks that each limit on the number of edges finds the cheapest path with at most that many edges,
+     * and that a limit of 0 only reaches the start
+     */
+    @Test
+    public void testLimitForcesPricierPaths(){
+        FrozenGraph<String, Integer> graph = stepGraph();
+
+        Assertions.assertEquals(List.of("A", "D"), graph.shortestPathResult("A", "D", 1).getRoute());
+        Assertions.assertEquals(10.0, graph.shortestPathResult("A", "D", 1).getTotalMiles());
+        Assertions.assertEquals(List.of("A", "C", "D"), graph.shortestPathResult("A", "D", 2).getRoute());
+        Assertions.assertEquals(List.of(5, 1), graph.shortestPathResult("A", "D", 2).getMilesPerSegment());
+        Assertions.assertEquals(List.of("A", "B", "C", "D"), graph.shortestPathResult("A", "D", 3).getRoute());
+        Assertions.assertEquals(3.0, graph.shortestPathResult("A", "D", Integer.MAX_VALUE).getTotalMiles());
+        //With no edges allowed, only the start can be reached
+        Assertions.assertEquals(List.of("A"), graph.shortestPathResult("A", "A", 0).getRoute());
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathResult("A", "B", 0));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathResult("D", "A", 3));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathResult("A", "Z", 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.shortestPathResult("A", "D", -1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new HopLimitedEngine(graph).search(0, 3, -1));
+    }
+
+    /**
+     * This test uses a node M that is reached cheaply with 3 edges before it is reached with 1 edge at a higher cost,
+     * and checks that M is settled again with fewer edges when the cheap label can't go any further
+     */
+    @Test
+    public void testNodeSettledAgainWithFewerEdges(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        for (String node : List.of("S", "X", "Y", "M", "T"))
+            graph.insertNode(node);
+        graph.insertEdge("S", "X", 1);
+        graph.insertEdge("X", "Y", 1);
+        graph.insertEdge("Y", "M", 1);
+        graph.insertEdge("S", "M", 10);
+        graph.insertEdge("M", "T", 1);
+        FrozenGraph<String, Integer> frozen = graph.freeze();
+        HopLimitedEngine engine = new HopLimitedEngine(frozen);
+        int s = frozen.getNodeId("S");
+        int t = frozen.getNodeId("T");
+
+        SearchStats stats = new SearchStats();
+        int label = engine.search(s, t, 3, stats);
+        Assertions.assertEquals(11, engine.getDistance(label));
+        Assertions.assertEquals(frozen.getNodeId("M"), engine.getNode(engine.getParent(label)));
+        //S, X, Y, M with 3 edges, M with 1 edge and T
+        Assertions.assertEquals(6, stats.getSettledCount());
+        //One more edge lets the cheap path through M reach T
+        Assertions.assertEquals(4, engine.getDistance(engine.search(s, t, 4)));
+        Assertions.assertEquals(11, engine.getDistance(engine.search(s, t, 2)));
+        Assertions.assertEquals(-1, engine.search(s, t, 1));
+    }
+
+    /**
+     * This test checks that a label with more edges and a higher cost than a label of its node that was settled
+     * first is skipped, and that a label no better than one already waiting in the heap is never added
+     */
+    @Test
+    public void testDominatedLabelsLeftOut(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        for (String node : List.of("S", "A", "B", "C", "D", "T"))
+            graph.insertNode(node);
+        //B is settled first and adds C with cost 10, then A adds C with cost 3 and the same number of edges
+        graph.insertEdge("S", "B", 1);
+        graph.insertEdge("S", "A", 2);
+        graph.insertEdge("B", "C", 9);
+        graph.insertEdge("A", "C", 1);
+        //Through D, C costs 5 with 3 edges, which is worse on both counts than the label waiting with cost 3
+        graph.insertEdge("A", "D", 1);
+        graph.insertEdge("D", "C", 2);
+        graph.insertEdge("C", "T", 100);
+        FrozenGraph<String, Integer> frozen = graph.freeze();
+        HopLimitedEngine engine = new HopLimitedEngine(frozen);
+
+        SearchStats stats = new SearchStats();
+        int label = engine.search(frozen.getNodeId("S"), frozen.getNodeId("T"), 5, stats);
+        Assertions.assertEquals(103, engine.getDistance(label));
+        //S, B, A, C with cost 10, D, C with cost 3 and T
+        Assertions.assertEquals(7, stats.getPushCount());
+        Assertions.assertEquals(1, stats.getSkippedCount());
+    }
+
+    /**
+     * This test checks that the search after the search numbers wrap around doesn't see the marks of the searches
+     * before it
+     */
+    @Test
+    public void testSearchNumberWrapsAround(){
+        FrozenGraph<String, Integer> graph = stepGraph();
+        HopLimitedEngine engine = new HopLimitedEngine(graph);
+        int a = graph.getNodeId("A");
+        int d = graph.getNodeId("D");
+        engine.search = Integer.MAX_VALUE - 2;
+
+        //This search is the last one before the numbers wrap, and settles every node
+        Assertions.assertEquals(3, engine.getDistance(engine.search(a, d, 3)));
+        Assertions.assertEquals(Integer.MAX_VALUE - 1, engine.search);
+        Assertions.assertEquals(6, engine.getDistance(engine.search(a, d, 2)));
+        Assertions.assertEquals(1, engine.search);
+        Assertions.assertEquals(-1, engine.search(d, a, 3));
+        Assertions.assertEquals(10, engine.getDistance(engine.search(a, d, 1)));
+    }
+
+    /**
+     * This test uses a chain with one expensive shortcut, where the search makes more labels than the graph has
+     * nodes, and checks that the labels and the heap grow to hold them and that each node is settled at most twice
+     */
+    @Test
+    public void testLabelsGrowPastNodeCount(){
+        DijkstraGraph<Integer, Integer> chain = new DijkstraGraph<>(new OpenAddressingMap<>());
+        int length = 2000;
+        for (int i = 0; i < length; i++)
+            chain.insertNode(i);
+        for (int i = 0; i + 1 < length; i++)
+            chain.insertEdge(i, i + 1, 1);
+        chain.insertEdge(0, length - 1, length * 2);
+        FrozenGraph<Integer, Integer> frozen = chain.freeze();
+
+        Assertions.assertEquals(length, frozen.shortestPathResult(0, length - 1, length - 1).getRoute().size());
+        SearchStats stats = new SearchStats();
+        ShortestPathResult<Integer, Integer> shortcut = frozen.shortestPathResult(0, length - 1, length - 2, stats);
+        Assertions.assertEquals(List.of(0, length - 1), shortcut.getRoute());
+        Assertions.assertEquals((double) (length * 2), shortcut.getTotalMiles());
+        //The plain search and the limited one each settle a node of the chain once
+        Assertions.assertTrue(stats.getSettledCount() <= 2 * length);
+
+        //Growing the heap keeps the ids in it and makes room for more
+        IndexedDaryHeap heap = new IndexedDaryHeap(2);
+        heap.insertOrDecrease(0, 5);
+        heap.insertOrDecrease(1, 3);
+        heap.grow(1);
+        Assertions.assertEquals(2, heap.capacity());
+        heap.grow(4);
+        Assertions.assertEquals(4, heap.capacity());
+        Assertions.assertFalse(heap.contains(3));
+        heap.insertOrDecrease(3, 1);
+        Assertions.assertEquals(3, heap.poll());
+        Assertions.assertEquals(1, heap.poll());
+        Assertions.assertEquals(0, heap.poll());
+    }
+
+}
@@ -0,0 +1,211 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class is a min-heap of int ids from 0 to capacity-1, ordered by a
+ * double key stored for each id. Each node in the heap has up to ARITY
+ * children, which keeps the heap shallow, and the position of every id is
+ * tracked so that its key can be decreased in place instead of inserting a
+ * second copy. All storage is allocated up front, so using the heap does not
+ * allocate any objects.
+ */
+public class IndexedDaryHeap {
+
+    private static final int ARITY = 4; // the number of children of each heap node
+
+    private int[] heap; // the ids in the heap, in heap order
+    private int[] position; // the index of each id within heap, or -1 when it is not in the heap
+    private double[] keys; // the key of each id
+    private int size = 0; // the number of ids in the heap
+
+    /**
+     * Creates an empty heap that can hold the ids 0 through capacity-1.
+     *
+     * @param capacity the number of ids the heap can hold
+     */
+    public IndexedDaryHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Makes room for more ids, keeping the ids already in the heap. This
+     * copies the arrays, so it should be called rarely, such as by doubling
+     * the capacity each time.
+     *
+     * @param capacity the number of ids the heap can hold from now on, which
+     *                 is ignored when it is not more than it holds already
+     */
+    public void grow(int capacity) {
+        int oldCapacity = position.length;
+        if (capacity <= oldCapacity)
+            return;
+        heap = Arrays.copyOf(heap, capacity);
+        position = Arrays.copyOf(position, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        Arrays.fill(position, oldCapacity, capacity, -1);
+    }
+
+    /**
+     * Returns the number of ids the heap can hold.
+     *
+     * @return the capacity of the heap
+     */
+    public int capacity() {
+        return position.length;
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return true if there are no ids in the heap, or false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of ids in the heap.
+     *
+     * @return the number of ids in the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether an id is currently in the heap.
+     *
+     * @param id the id to check
+     * @return true if id is in the heap, or false otherwise
+     */
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    /**
+     * Returns the key of an id that is in the heap.
+     *
+     * @param id an id in the heap
+     * @return the key of that id
+     */
+    public double getKey(int id) {
+        return keys[id];
+    }
+
+    /**
+     * Adds an id to the heap with some key, or lowers the key of an id that is
+     * already in the heap. Nothing changes when the id is already in the heap
+     * with a key that is less than or equal to the new one.
+     *
+     * @param id  the id to insert or update
+     * @param key the new key of id
+     * @return true if the heap changed, or false otherwise
+     */
+    public boolean insertOrDecrease(int id, double key) {
+        int index = position[id];
+        if (index < 0) {
+            index = size++;
+            heap[index] = id;
+            position[id] = index;
+        } else if (key >= keys[id]) {
+            return false;
+        }
+        keys[id] = key;
+        siftUp(index);
+        return true;
+    }
+
+    /**
+     * Returns the id with the smallest key without removing it.
+     *
+     * @return the id with the smallest key
+     * @throws NoSuchElementException when the heap is empty
+     */
+    public int peek() {
+        if (size == 0)
+            throw new NoSuchElementException("heap is empty");
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     *
+     * @return the id with the smallest key
+     * @throws NoSuchElementException when the heap is empty
+     */
+    public int poll() {
+        if (size == 0)
+            throw new NoSuchElementException("heap is empty");
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Removes every id from the heap. This only touches the ids that are
+     * still in the heap, not the whole capacity.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            position[heap[i]] = -1;
+        size = 0;
+    }
+
+    // Moves the id at index up until its parent's key is no larger than its own
+    private void siftUp(int index) {
+        int id = heap[index];
+        double key = keys[id];
+        while (index > 0) {
+            int parentIndex = (index - 1) / ARITY;
+            int parent = heap[parentIndex];
+            if (keys[parent] <= key)
+                break;
+            heap[index] = parent;
+            position[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = id;
+        position[id] = index;
+    }
+
+    // Moves the id at index down until none of its children have a smaller key
+    private void siftDown(int index) {
+        int id = heap[index];
+        double key = keys[id];
+        while (true) {
+            int firstChild = index * ARITY + 1;
+            if (firstChild >= size)
+                break;
+            // find the child with the smallest key
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int minIndex = firstChild;
+            double minKey = keys[heap[firstChild]];
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                double childKey = keys[heap[child]];
+                if (childKey < minKey) {
+                    minKey = childKey;
+                    minIndex = child;
+                }
+            }
+            if (minKey >= key)
+                break;
+            int minId = heap[minIndex];
+            heap[index] = minId;
+            position[minId] = index;
+            index = minIndex;
+        }
+        heap[index] = id;
+        position[id] = index;
+    }
+
+}
@@ -0,0 +1,270 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * This class finds the shortest loopless paths between two nodes of a
+ * FrozenGraph in order of cost, one at a time, with Yen's algorithm: each
+ * new path is the cheapest of the candidates made by leaving a path already
+ * found at one of its nodes (the spur node), and following the cheapest
+ * path from there to the end that avoids the nodes before the spur node and
+ * the edges the paths already found take from it.
+ *
+ * To avoid running a full search for every spur node, the cost from every
+ * node to the end is found once with a backward search, and each spur search
+ * is an A* search that uses those costs as its estimate. Removing nodes and
+ * edges can only make paths more expensive, so the estimates stay below the
+ * real costs, and each spur search heads straight for the end. Spur nodes
+ * before the point where a path left the path it came from are skipped,
+ * since their candidates were already made (Lawler's improvement), and all
+ * spur searches share the same arrays.
+ *
+ * Nodes are numbered with the ids of the FrozenGraph. Like a DijkstraEngine,
+ * one object should only be used by one thread at a time.
+ */
+public class KShortestPaths<NodeType, EdgeType extends Number> {
+
+    // A path found by a spur search, with the index of the node where it left the path it came from
+    private static class Path implements Comparable<Path> {
+        private final int[] nodes;
+        private final int[] edges;
+        private final double cost;
+        private final int deviation;
+
+        Path(int[] nodes, int[] edges, double cost, int deviation) {
+            this.nodes = nodes;
+            this.edges = edges;
+            this.cost = cost;
+            this.deviation = deviation;
+        }
+
+        @Override
+        public int compareTo(Path other) {
+            // cheaper paths first, and paths with fewer edges first among paths of the same cost
+            int compare = Double.compare(cost, other.cost);
+            return compare != 0 ? compare : Integer.compare(edges.length, other.edges.length);
+        }
+    }
+
+    // The edges of a path, compared by value so the same candidate is not added twice
+    private static class EdgeList {
+        private final int[] edges;
+
+        EdgeList(int[] edges) {
+            this.edges = edges;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EdgeList && Arrays.equals(edges, ((EdgeList) other).edges);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(edges);
+        }
+    }
+
+    private FrozenGraph<NodeType, EdgeType> graph;
+    private int source; // the id of the starting node
+    private int target; // the id of the destination node
+    private double[] toTarget; // the cost of the shortest path from each node to the target, or infinity
+
+    private ArrayList<Path> found = new ArrayList<>(); // the paths returned so far, in order
+    private PriorityQueue<Path> candidates = new PriorityQueue<>(); // the paths that may be returned next
+    private HashSet<EdgeList> seen = new HashSet<>(); // every path found or made a candidate
+    private boolean done = false; // whether every path has been returned
+
+    // Scratch space shared by the spur searches, reset by stamping each search or ban with a new number
+    private double[] dist; // the cost of the cheapest known path from the spur node to each node
+    private int[] parent; // the node before each node on that path
+    private int[] parentEdge; // the edge used to reach each node on that path
+    private int[] reachedIn; // the number of the last search that reached each node
+    private int[] settledIn; // the number of the last search that settled each node
+    private int[] bannedNodeIn; // the number of the last spur search each node had to be avoided in
+    private int[] bannedEdgeIn; // the number of the last spur search each edge had to be avoided in
+    private int search = 0;
+    private IndexedDaryHeap heap;
+
+    /**
+     * Prepares to find the paths between two nodes, with one backward search
+     * from the end.
+     *
+     * @param graph the graph to search
+     * @param start the data item in the starting node for the paths
+     * @param end   the data item in the destination node for the paths
+     * @throws NoSuchElementException when either start or end data do not
+     *                                correspond to a graph node
+     */
+    KShortestPaths(FrozenGraph<NodeType, EdgeType> graph, NodeType start, NodeType end) {
+        if (!graph.containsNode(start) || !graph.containsNode(end))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        this.graph = graph;
+        this.source = graph.getNodeId(start);
+        this.target = graph.getNodeId(end);
+        int nodeCount = graph.getNodeCount();
+        // a search of the transpose from the end finds the cost from every node to the end
+        DijkstraEngine backward = new DijkstraEngine(graph.reversed());
+        backward.searchAll(target);
+        toTarget = new double[nodeCount];
+        for (int id = 0; id < nodeCount; id++)
+            toTarget[id] = backward.getDistance(id);
+        dist = new double[nodeCount];
+        parent = new int[nodeCount];
+        parentEdge = new int[nodeCount];
+        reachedIn = new int[nodeCount];
+        settledIn = new int[nodeCount];
+        bannedNodeIn = new int[nodeCount];
+        bannedEdgeIn = new int[graph.getEdgeCount()];
+        heap = new IndexedDaryHeap(nodeCount);
+    }
+
+    /**
+     * Finds the next shortest loopless path from the start to the end. The
+     * first call returns the shortest path, and each call after that returns
+     * a path that costs at least as much as the one before it.
+     *
+     * @return the nodes, the weight of each edge and the total cost of the
+     *         next path, or null once every loopless path has been returned
+     */
+    public ShortestPathResult<NodeType, EdgeType> next() {
+        if (done)
+            return null;
+        if (found.isEmpty()) {
+            search++;
+            if (spurSearch(source)) {
+                Path shortest = spurPath(new int[0], new int[0], 0, 0);
+                seen.add(new EdgeList(shortest.edges));
+                candidates.add(shortest);
+            }
+        } else {
+            addCandidates(found.get(found.size() - 1));
+        }
+        Path path = candidates.poll();
+        if (path == null) {
+            done = true;
+            return null;
+        }
+        found.add(path);
+        return resultOf(path);
+    }
+
+    /**
+     * Finds the next shortest loopless paths from the start to the end.
+     *
+     * @param k the most paths to find
+     * @return the next k paths in order of cost, or fewer if there are no
+     *         more loopless paths
+     */
+    public List<ShortestPathResult<NodeType, EdgeType>> next(int k) {
+        ArrayList<ShortestPathResult<NodeType, EdgeType>> paths = new ArrayList<>();
+        for (ShortestPathResult<NodeType, EdgeType> path; paths.size() < k && (path = next()) != null; )
+            paths.add(path);
+        return paths;
+    }
+
+    // Makes a candidate for each spur node of the last path found, from where it left the path it came from
+    private void addCandidates(Path previous) {
+        double rootCost = 0;
+        for (int i = 0; i < previous.deviation; i++)
+            rootCost += graph.weights[previous.edges[i]];
+        for (int i = previous.deviation; i < previous.edges.length; i++) {
+            search++;
+            int spur = previous.nodes[i];
+            // the path can't go back through the nodes before the spur node
+            for (int j = 0; j < i; j++)
+                bannedNodeIn[previous.nodes[j]] = search;
+            // or leave the spur node the way a path found with the same start already did
+            for (Path path : found)
+                if (path.edges.length > i && sharesRoot(path, previous, i))
+                    bannedEdgeIn[path.edges[i]] = search;
+            if (spurSearch(spur)) {
+                Path candidate = spurPath(Arrays.copyOf(previous.nodes, i), Arrays.copyOf(previous.edges, i),
+                        rootCost, i);
+                if (seen.add(new EdgeList(candidate.edges)))
+                    candidates.add(candidate);
+            }
+            rootCost += graph.weights[previous.edges[i]];
+        }
+    }
+
+    // Checks whether two paths take the same first edges up to some index
+    private static boolean sharesRoot(Path a, Path b, int length) {
+        for (int i = 0; i < length; i++)
+            if (a.edges[i] != b.edges[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Searches from a spur node to the target with A*, avoiding the nodes and
+     * edges banned for the current search number.
+     *
+     * @param spur the id of the node to search from
+     * @return true if the target was reached
+     */
+    private boolean spurSearch(int spur) {
+        if (toTarget[spur] == Double.POSITIVE_INFINITY)
+            return false;
+        heap.clear();
+        reachedIn[spur] = search;
+        dist[spur] = 0;
+        parent[spur] = -1;
+        parentEdge[spur] = -1;
+        heap.insertOrDecrease(spur, toTarget[spur]);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (current == target)
+                return true;
+            settledIn[current] = search;
+            for (int edge = graph.offsets[current]; edge < graph.offsets[current + 1]; edge++) {
+                int next = graph.targets[edge];
+                if (settledIn[next] == search || bannedNodeIn[next] == search || bannedEdgeIn[edge] == search
+                        || toTarget[next] == Double.POSITIVE_INFINITY)
+                    continue;
+                double cost = dist[current] + graph.weights[edge];
+                if (reachedIn[next] != search || cost < dist[next]) {
+                    reachedIn[next] = search;
+                    dist[next] = cost;
+                    parent[next] = current;
+                    parentEdge[next] = edge;
+                    heap.insertOrDecrease(next, cost + toTarget[next]);
+                }
+            }
+        }
+        return false;
+    }
+
+    // Joins a root path to the path the last spur search found from its spur node to the target
+    private Path spurPath(int[] rootNodes, int[] rootEdges, double rootCost, int deviation) {
+        int spurEdges = 0;
+        for (int id = target; parent[id] != -1; id = parent[id])
+            spurEdges++;
+        int[] nodes = Arrays.copyOf(rootNodes, rootNodes.length + spurEdges + 1);
+        int[] edges = Arrays.copyOf(rootEdges, rootEdges.length + spurEdges);
+        // walk back from the target to the spur node, which ends up right after the root
+        int position = nodes.length - 1;
+        for (int id = target; id != -1; id = parent[id]) {
+            nodes[position] = id;
+            if (parentEdge[id] != -1)
+                edges[position - 1] = parentEdge[id];
+            position--;
+        }
+        return new Path(nodes, edges, rootCost + dist[target], deviation);
+    }
+
+    // Turns a path into a ShortestPathResult with the data of its nodes and edges
+    private ShortestPathResult<NodeType, EdgeType> resultOf(Path path) {
+        ArrayList<NodeType> route = new ArrayList<>();
+        ArrayList<EdgeType> segments = new ArrayList<>();
+        for (int node : path.nodes)
+            route.add(graph.getNodeData(node));
+        for (int edge : path.edges)
+            segments.add(graph.getEdgeData(edge));
+        return new ShortestPathResult<>(route, segments, path.cost);
+    }
+
+}
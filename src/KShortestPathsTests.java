@@ -0,0 +1,110 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests KShortestPaths, which finds the shortest loopless paths between two nodes in order of cost
+ */
+public class KShortestPathsTests {
+
+    // Creates the graph of the usual example of Yen's algorithm, which has 7 loopless paths from C to H
+    private static FrozenGraph<String, Integer> yenGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        for (String node : List.of("C", "D", "E", "F", "G", "H"))
+            graph.insertNode(node);
+
+        graph.insertEdge("C", "D", 3);
+        graph.insertEdge("C", "E", 2);
+        graph.insertEdge("D", "F", 4);
+        graph.insertEdge("E", "D", 1);
+        graph.insertEdge("E", "F", 2);
+        graph.insertEdge("E", "G", 3);
+        graph.insertEdge("F", "G", 2);
+        graph.insertEdge("F", "H", 1);
+        graph.insertEdge("G", "H", 2);
+        return graph.freeze();
+    }
+
+    /**
+     * This test checks the paths from C to H in order, where three paths cost 8 and the one with fewest edges comes
+     * first, and that asking for more paths than there are returns every loopless path once
+     */
+    @Test
+    public void testPathsInOrderOfCost(){
+        FrozenGraph<String, Integer> graph = yenGraph();
+        List<ShortestPathResult<String, Integer>> paths = graph.kShortestPaths("C", "H", 3);
+
+        Assertions.assertEquals(3, paths.size());
+        Assertions.assertEquals(List.of("C", "E", "F", "H"), paths.get(0).getRoute());
+        Assertions.assertEquals(5.0, paths.get(0).getTotalMiles());
+        Assertions.assertEquals(List.of("C", "E", "G", "H"), paths.get(1).getRoute());
+        Assertions.assertEquals(7.0, paths.get(1).getTotalMiles());
+        //C -> D -> F -> H ties with two paths of 4 edges
+        Assertions.assertEquals(List.of("C", "D", "F", "H"), paths.get(2).getRoute());
+        Assertions.assertEquals(List.of(3, 4, 1), paths.get(2).getMilesPerSegment());
+        //The first path is the shortest path
+        Assertions.assertEquals(graph.shortestPathData("C", "H"), paths.get(0).getRoute());
+
+        List<ShortestPathResult<String, Integer>> all = graph.kShortestPaths("C", "H", 10);
+        Assertions.assertEquals(7, all.size());
+        double[] costs = {5, 7, 8, 8, 8, 11, 11};
+        for (int i = 0; i < all.size(); i++) {
+            Assertions.assertEquals(costs[i], all.get(i).getTotalMiles());
+            for (int j = 0; j < i; j++)
+                Assertions.assertFalse(all.get(j).getRoute().equals(all.get(i).getRoute()));
+        }
+        //Asking for more paths starts with the same ones
+        for (int i = 0; i < paths.size(); i++)
+            Assertions.assertEquals(paths.get(i).getRoute(), all.get(i).getRoute());
+    }
+
+    /**
+     * This test uses a graph where going around a cheap cycle would be cheaper than the second loopless path, and
+     * checks that no path visits a node twice
+     */
+    @Test
+    public void testPathsAreLoopless(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        for (String node : List.of("S", "A", "B", "T"))
+            graph.insertNode(node);
+        graph.insertEdge("S", "A", 1);
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "A", 1);
+        graph.insertEdge("A", "T", 10);
+        graph.insertEdge("B", "T", 20);
+        List<ShortestPathResult<String, Integer>> paths = graph.freeze().kShortestPaths("S", "T", 5);
+
+        //S -> A -> B -> A -> T would cost 13, but visits A twice
+        Assertions.assertEquals(2, paths.size());
+        Assertions.assertEquals(List.of("S", "A", "T"), paths.get(0).getRoute());
+        Assertions.assertEquals(List.of("S", "A", "B", "T"), paths.get(1).getRoute());
+        Assertions.assertEquals(22.0, paths.get(1).getTotalMiles());
+    }
+
+    /**
+     * This test checks asking for no paths, a start equal to the end, an end that can't be reached, and nodes that
+     * are not in the graph
+     */
+    @Test
+    public void testEdgeCases(){
+        FrozenGraph<String, Integer> graph = yenGraph();
+
+        Assertions.assertTrue(graph.kShortestPaths("C", "H", 0).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.kShortestPaths("C", "H", -1));
+        //The only loopless path from a node to itself has no edges
+        List<ShortestPathResult<String, Integer>> self = graph.kShortestPaths("E", "E", 3);
+        Assertions.assertEquals(1, self.size());
+        Assertions.assertEquals(List.of("E"), self.get(0).getRoute());
+        Assertions.assertEquals(0.0, self.get(0).getTotalMiles());
+        //Nothing leaves H
+        Assertions.assertTrue(graph.kShortestPaths("H", "C", 3).isEmpty());
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.kShortestPaths("C", "Z", 3));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.kShortestPaths("Z", "C", 3));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.kShortestPaths("Z", "C", 0));
+        //The backward search graph is made once and shared by later queries
+        Assertions.assertSame(graph.reversed(), graph.reversed());
+    }
+
+}
@@ -0,0 +1,244 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * This Heuristic implements ALT (A*, Landmarks and the Triangle inequality).
+ * A few landmark nodes are chosen ahead of time, and the cost of the shortest
+ * path from each landmark L to every node, and from every node to L, is
+ * stored in a table. By the triangle inequality, the cost of the shortest
+ * path from u to v is at least dist(L, v) - dist(L, u) and at least
+ * dist(u, L) - dist(v, L), so the largest of these bounds over all landmarks
+ * is a consistent estimate that needs no coordinates.
+ *
+ * The tables describe the graph at the time they were built, so they must be
+ * built again after the graph changes. Node ids are those of the FrozenGraph
+ * the tables were built from.
+ *
+ * @param <NodeType> the data type stored at each graph node
+ */
+public class LandmarkHeuristic<NodeType> implements Heuristic<NodeType> {
+
+    private static final int MAGIC = 0x414C5431; // "ALT1", the first int of a saved table file
+
+    private FrozenGraph<NodeType, ?> graph; // the graph the tables were built from
+    private int[] landmarks; // the id of each landmark
+    private double[][] fromLandmark; // fromLandmark[i][v] is the cost of the shortest path from landmark i to v
+    private double[][] toLandmark; // toLandmark[i][v] is the cost of the shortest path from v to landmark i
+
+    /**
+     * Chooses landmarks spread far apart in a graph, and builds their tables.
+     *
+     * @param graph         the graph to build the tables for
+     * @param landmarkCount the number of landmarks to use (fewer are used if
+     *                      the graph has fewer nodes)
+     */
+    public LandmarkHeuristic(FrozenGraph<NodeType, ?> graph, int landmarkCount) {
+        this(graph, selectLandmarks(graph, landmarkCount));
+    }
+
+    /**
+     * Builds the tables for some landmarks. The searches from and to each
+     * landmark run in parallel, each with its own DijkstraEngine.
+     *
+     * @param graph     the graph to build the tables for
+     * @param landmarks the ids of the landmark nodes
+     */
+    public LandmarkHeuristic(FrozenGraph<NodeType, ?> graph, int[] landmarks) {
+        this.graph = graph;
+        this.landmarks = landmarks.clone();
+        int count = landmarks.length;
+        fromLandmark = new double[count][];
+        toLandmark = new double[count][];
+        FrozenGraph<NodeType, ?> transpose = graph.transpose();
+        // tasks 0 to count-1 search forward from each landmark, and the rest search the transpose toward it
+        IntStream.range(0, 2 * count).parallel().forEach(task -> {
+            boolean forward = task < count;
+            double[] table = distancesFrom(forward ? graph : transpose, landmarks[task % count]);
+            if (forward)
+                fromLandmark[task] = table;
+            else
+                toLandmark[task - count] = table;
+        });
+    }
+
+    // Creates a heuristic from tables that were already built
+    private LandmarkHeuristic(FrozenGraph<NodeType, ?> graph, int[] landmarks, double[][] fromLandmark,
+                              double[][] toLandmark) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Chooses landmarks that are far apart: the first is the node farthest
+     * from node 0, and each next one is the node farthest from all of the
+     * landmarks chosen so far. Nodes a landmark cannot reach count as
+     * farthest, so every part of a disconnected graph gets a landmark.
+     *
+     * @param graph         the graph to choose landmarks in
+     * @param landmarkCount the number of landmarks to choose
+     * @return the ids of the chosen landmarks
+     */
+    public static int[] selectLandmarks(FrozenGraph<?, ?> graph, int landmarkCount) {
+        int nodeCount = graph.getNodeCount();
+        landmarkCount = Math.min(landmarkCount, nodeCount);
+        int[] landmarks = new int[landmarkCount];
+        if (landmarkCount == 0)
+            return landmarks;
+        // the cost from the closest chosen landmark to each node
+        double[] closest = distancesFrom(graph, 0);
+        for (int i = 0; i < landmarkCount; i++) {
+            int farthest = -1;
+            for (int id = 0; id < nodeCount; id++)
+                if (farthest == -1 || closest[id] > closest[farthest])
+                    farthest = id;
+            landmarks[i] = farthest;
+            if (i == 0)
+                Arrays.fill(closest, Double.POSITIVE_INFINITY);
+            double[] distances = distancesFrom(graph, farthest);
+            for (int id = 0; id < nodeCount; id++)
+                closest[id] = Math.min(closest[id], distances[id]);
+            // never pick the same landmark twice
+            closest[farthest] = -1;
+            for (int j = 0; j <= i; j++)
+                closest[landmarks[j]] = -1;
+        }
+        return landmarks;
+    }
+
+    // Returns the cost of the shortest path from source to every node in a graph
+    private static double[] distancesFrom(FrozenGraph<?, ?> graph, int source) {
+        DijkstraEngine engine = new DijkstraEngine(graph);
+        engine.searchAll(source);
+        double[] distances = new double[graph.getNodeCount()];
+        for (int id = 0; id < distances.length; id++)
+            distances[id] = engine.getDistance(id);
+        return distances;
+    }
+
+    /**
+     * Returns the ids of the landmarks used by this heuristic.
+     *
+     * @return the ids of the landmarks
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Estimates the cost of the shortest path between two nodes from the
+     * landmark tables. Nodes that were not in the graph when the tables were
+     * built are estimated at 0.
+     *
+     * @param from the data item in the node the path starts from
+     * @param to   the data item in the destination node of the path
+     * @return the largest lower bound given by any landmark
+     */
+    @Override
+    public double estimate(NodeType from, NodeType to) {
+        if (!graph.containsNode(from) || !graph.containsNode(to))
+            return 0;
+        return estimateById(graph.getNodeId(from), graph.getNodeId(to));
+    }
+
+    /**
+     * Estimates the cost of the shortest path between two nodes, given by id.
+     *
+     * @param from the id of the node the path starts from
+     * @param to   the id of the destination node of the path
+     * @return the largest lower bound given by any landmark
+     */
+    public double estimateById(int from, int to) {
+        double best = 0;
+        for (int i = 0; i < landmarks.length; i++) {
+            // bounds involving a node a landmark can't reach (or be reached from) give no information
+            double forward = fromLandmark[i][to] - fromLandmark[i][from];
+            if (forward > best && forward != Double.POSITIVE_INFINITY)
+                best = forward;
+            double backward = toLandmark[i][from] - toLandmark[i][to];
+            if (backward > best && backward != Double.POSITIVE_INFINITY)
+                best = backward;
+        }
+        return best;
+    }
+
+    /**
+     * Saves the landmark tables to a file, so they can be stored alongside a
+     * graph snapshot and read back without searching again.
+     *
+     * @param filePath the path of the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(String filePath) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(Paths.get(filePath))))) {
+            out.writeInt(MAGIC);
+            out.writeLong(fingerprint(graph));
+            out.writeInt(graph.getNodeCount());
+            out.writeInt(landmarks.length);
+            for (int i = 0; i < landmarks.length; i++) {
+                out.writeInt(landmarks[i]);
+                for (double distance : fromLandmark[i])
+                    out.writeDouble(distance);
+                for (double distance : toLandmark[i])
+                    out.writeDouble(distance);
+            }
+        }
+    }
+
+    /**
+     * Reads landmark tables saved by write.
+     *
+     * @param filePath the path of the file to read
+     * @param graph    the graph the tables were built from
+     * @return a heuristic using the saved tables
+     * @throws IOException if the file cannot be read, or was saved for a different graph
+     */
+    public static <NodeType> LandmarkHeuristic<NodeType> read(String filePath, FrozenGraph<NodeType, ?> graph)
+            throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(Paths.get(filePath))))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException(filePath + " is not a landmark table file");
+            if (in.readLong() != fingerprint(graph) || in.readInt() != graph.getNodeCount())
+                throw new IOException(filePath + " was saved for a different graph");
+            int count = in.readInt();
+            int[] landmarks = new int[count];
+            double[][] fromLandmark = new double[count][graph.getNodeCount()];
+            double[][] toLandmark = new double[count][graph.getNodeCount()];
+            for (int i = 0; i < count; i++) {
+                landmarks[i] = in.readInt();
+                for (int id = 0; id < graph.getNodeCount(); id++)
+                    fromLandmark[i][id] = in.readDouble();
+                for (int id = 0; id < graph.getNodeCount(); id++)
+                    toLandmark[i][id] = in.readDouble();
+            }
+            return new LandmarkHeuristic<>(graph, landmarks, fromLandmark, toLandmark);
+        }
+    }
+
+    // A checksum of the edges and weights of a graph, to notice tables saved for a different graph
+    private static long fingerprint(FrozenGraph<?, ?> graph) {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (int id = 0; id < graph.getNodeCount(); id++) {
+            for (int edge = graph.offsets[id]; edge < graph.offsets[id + 1]; edge++) {
+                buffer.clear();
+                buffer.putInt(id).putInt(graph.targets[edge]).putDouble(graph.weights[edge]);
+                crc.update(buffer.array(), 0, 16);
+            }
+        }
+        return crc.getValue();
+    }
+
+}
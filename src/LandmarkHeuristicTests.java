@@ -0,0 +1,138 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class tests LandmarkHeuristic, the ALT lower bounds used to guide A*, and the transpose of a FrozenGraph that
+ * its tables are built with
+ */
+public class LandmarkHeuristicTests {
+
+    // Creates two parts with no edges between them: a chain 0 -> 1 -> 2 -> 3 with a shortcut 0 -> 3 that costs more
+    // than the chain, and a cycle 10 -> 11 -> 10
+    private static DijkstraGraph<Integer, Integer> twoPartGraph() {
+        DijkstraGraph<Integer, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        for (int node : new int[] {0, 1, 2, 3, 10, 11})
+            graph.insertNode(node);
+        graph.insertEdge(0, 1, 2);
+        graph.insertEdge(1, 2, 3);
+        graph.insertEdge(2, 3, 4);
+        graph.insertEdge(0, 3, 20);
+        graph.insertEdge(10, 11, 1);
+        graph.insertEdge(11, 10, 1);
+        return graph;
+    }
+
+    /**
+     * This test checks that a landmark at the start of the chain gives the exact cost along the chain, and never more
+     * than the cost in the other direction, which can't be travelled at all
+     */
+    @Test
+    public void testLandmarkEstimateOnChain(){
+        FrozenGraph<Integer, Integer> frozen = twoPartGraph().freeze();
+        LandmarkHeuristic<Integer> landmarks = new LandmarkHeuristic<>(frozen, new int[] {frozen.getNodeId(0)});
+
+        Assertions.assertEquals(7, landmarks.estimate(1, 3));
+        Assertions.assertEquals(9, landmarks.estimate(0, 3));
+        Assertions.assertEquals(0, landmarks.estimate(3, 1));
+        Assertions.assertEquals(0, landmarks.estimate(2, 2));
+    }
+
+    /**
+     * This test checks that nodes a landmark can't reach, or that aren't in the graph, are estimated at 0 rather than
+     * infinity, so A* still searches them
+     */
+    @Test
+    public void testLandmarkEstimateWithoutBound(){
+        DijkstraGraph<Integer, Integer> graph = twoPartGraph();
+        FrozenGraph<Integer, Integer> frozen = graph.freeze();
+        LandmarkHeuristic<Integer> landmarks = new LandmarkHeuristic<>(frozen, new int[] {frozen.getNodeId(0)});
+
+        Assertions.assertEquals(0, landmarks.estimate(10, 11));
+        Assertions.assertEquals(0, landmarks.estimate(1, 10));
+        Assertions.assertEquals(0, landmarks.estimate(1, 99));
+        //A* with the landmark still finds routes in the part the landmark can't reach
+        graph.setHeuristic(landmarks);
+        Assertions.assertEquals(List.of(10, 11), graph.shortestPathData(10, 11));
+        Assertions.assertEquals(List.of(0, 1, 2, 3), graph.shortestPathData(0, 3));
+    }
+
+    /**
+     * This test checks that landmarks are chosen once each, no more than there are nodes, and in every part of a
+     * graph that isn't connected
+     */
+    @Test
+    public void testSelectLandmarks(){
+        FrozenGraph<Integer, Integer> frozen = twoPartGraph().freeze();
+
+        int[] two = LandmarkHeuristic.selectLandmarks(frozen, 2);
+        Assertions.assertEquals(2, two.length);
+        boolean inChain = false;
+        boolean inCycle = false;
+        for (int landmark : two) {
+            inChain |= frozen.getNodeData(landmark) < 10;
+            inCycle |= frozen.getNodeData(landmark) >= 10;
+        }
+        Assertions.assertTrue(inChain && inCycle);
+        int[] all = LandmarkHeuristic.selectLandmarks(frozen, 10);
+        Assertions.assertEquals(6, all.length);
+        Assertions.assertEquals(6, Arrays.stream(all).distinct().count());
+        Assertions.assertEquals(0, LandmarkHeuristic.selectLandmarks(frozen, 0).length);
+    }
+
+    /**
+     * This test saves the tables and reads them back, and checks that they are refused for a graph with different
+     * weights and for a file that isn't a table file
+     */
+    @Test
+    public void testLandmarkTablesSaved() throws IOException {
+        DijkstraGraph<Integer, Integer> graph = twoPartGraph();
+        FrozenGraph<Integer, Integer> frozen = graph.freeze();
+        LandmarkHeuristic<Integer> landmarks = new LandmarkHeuristic<>(frozen, 2);
+        Path file = Files.createTempFile("landmarks", ".alt");
+        Path other = Files.createTempFile("landmarks", ".alt");
+        try {
+            landmarks.write(file.toString());
+            LandmarkHeuristic<Integer> saved = LandmarkHeuristic.read(file.toString(), frozen);
+            Assertions.assertArrayEquals(landmarks.getLandmarks(), saved.getLandmarks());
+            for (int from : new int[] {0, 1, 2, 3, 10, 11})
+                for (int to : new int[] {0, 1, 2, 3, 10, 11})
+                    Assertions.assertEquals(landmarks.estimate(from, to), saved.estimate(from, to));
+
+            //The same nodes with one weight changed is a different graph
+            graph.insertEdge(1, 2, 4);
+            FrozenGraph<Integer, Integer> changed = graph.freeze();
+            Assertions.assertThrows(IOException.class, () -> LandmarkHeuristic.read(file.toString(), changed));
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(other))) {
+                out.writeInt(0);
+            }
+            Assertions.assertThrows(IOException.class, () -> LandmarkHeuristic.read(other.toString(), frozen));
+        } finally {
+            Files.delete(file);
+            Files.delete(other);
+        }
+    }
+
+    /**
+     * This test checks that the transpose keeps the node ids and reverses every edge with its weight
+     */
+    @Test
+    public void testFrozenGraphTranspose(){
+        FrozenGraph<Integer, Integer> frozen = twoPartGraph().freeze();
+        FrozenGraph<Integer, Integer> transpose = frozen.transpose();
+
+        Assertions.assertEquals(frozen.getEdgeCount(), transpose.getEdgeCount());
+        for (int node : new int[] {0, 1, 2, 3, 10, 11})
+            Assertions.assertEquals(frozen.getNodeId(node), transpose.getNodeId(node));
+        Assertions.assertEquals(20, (int) transpose.getEdge(3, 0));
+        Assertions.assertFalse(transpose.containsEdge(0, 3));
+        Assertions.assertEquals(List.of(3, 2, 1, 0), transpose.shortestPathData(3, 0));
+    }
+
+}
@@ -0,0 +1,110 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class counts how long searches take in a histogram, so percentiles
+ * such as the median and the 99th percentile can be read without keeping
+ * every time. Times below 16 nanoseconds each have their own bucket, and
+ * every power of two above that is split into 16 buckets, so a percentile is
+ * never more than one sixteenth above the real time.
+ *
+ * Times can be recorded by many threads at once.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 16; // the buckets each power of two is split into
+    private static final int SUB_BITS = 4; // log2 of SUB_BUCKETS
+
+    // The count of times in each bucket: one for each time below 16, then 16 for each power of two up to 2^62
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BITS) * SUB_BUCKETS);
+
+    /**
+     * Records the time a search took.
+     *
+     * @param nanos the time in nanoseconds, where negative times count as 0
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+    }
+
+    // The bucket a time falls in
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+        int power = 63 - Long.numberOfLeadingZeros(nanos); // at least SUB_BITS
+        int sub = (int) (nanos >>> (power - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (power - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // The largest time that falls in a bucket
+    private static long highestIn(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int power = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (power - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Returns the number of times recorded.
+     *
+     * @return the number of times
+     */
+    public long getCount() {
+        long count = 0;
+        for (int bucket = 0; bucket < counts.length(); bucket++)
+            count += counts.get(bucket);
+        return count;
+    }
+
+    /**
+     * Returns a time that at least some fraction of the recorded times are
+     * no longer than.
+     *
+     * @param fraction the fraction of times, such as 0.5 for the median or
+     *                 0.99 for the 99th percentile
+     * @return the time in nanoseconds, which is at most one sixteenth above
+     *         the real percentile, or 0 when no times were recorded
+     * @throws IllegalArgumentException if fraction is not between 0 and 1
+     */
+    public long getPercentile(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1))
+            throw new IllegalArgumentException("the fraction must be between 0 and 1");
+        long[] snapshot = new long[counts.length()];
+        long count = 0;
+        for (int bucket = 0; bucket < snapshot.length; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+            count += snapshot[bucket];
+        }
+        if (count == 0)
+            return 0;
+        // the rank of the time at the percentile, counting from 1
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < snapshot.length; bucket++) {
+            seen += snapshot[bucket];
+            if (seen >= rank)
+                return highestIn(bucket);
+        }
+        return highestIn(snapshot.length - 1);
+    }
+
+    /**
+     * Forgets every time recorded so far.
+     */
+    public void clear() {
+        for (int bucket = 0; bucket < counts.length(); bucket++)
+            counts.set(bucket, 0);
+    }
+
+    /**
+     * Describes the median, 99th and 99.9th percentile times in a sentence.
+     *
+     * @return a sentence with the percentiles in microseconds
+     */
+    public String getStatistics() {
+        return "Of " + getCount() + " route searches, 50% took at most " + getPercentile(0.5) / 1000 +
+                " microseconds, 99% took at most " + getPercentile(0.99) / 1000 + " and 99.9% took at most " +
+                getPercentile(0.999) / 1000 + ".";
+    }
+
+}
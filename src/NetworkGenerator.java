@@ -0,0 +1,310 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * This class generates random airline networks for testing how the graph
+ * and backend scale, from a few thousand to millions of airports and routes.
+ * The same sizes and seed always generate the same network.
+ *
+ * Networks are built by preferential attachment: each new route is more
+ * likely to touch an airport that already has many routes, so a few hubs
+ * end up with most of the routes and the number of routes per airport
+ * follows a power law, as in real airline networks. The first route of each
+ * airport connects it to one of the airports before it, so every airport can
+ * reach every other. Airports are placed in clusters around random regions
+ * of the globe, and the miles of each route are the great-circle distance
+ * between its airports, rounded up so GreatCircleHeuristic never
+ * overestimates them.
+ *
+ * Networks can be written as DOT files with lat and lon attributes on every
+ * airport, which Backend.readDataFromFile reads, or as snapshots that
+ * Backend.readDataFromSnapshot reads.
+ */
+public class NetworkGenerator {
+
+    private static final double EARTH_RADIUS_MILES = 3958.8; // the mean radius of the earth
+    private static final int AIRPORTS_PER_REGION = 500; // the number of airports in each cluster, on average
+    private static final double REGION_SPREAD = 6; // the standard deviation of airports around a region, in degrees
+    private static final double UNIFORM_CHANCE = 0.1; // the chance a route end is picked ignoring preference
+
+    private int airportCount;
+    private int routeCount;
+    private double[] latitudes; // the latitude of each airport in degrees
+    private double[] longitudes; // the longitude of each airport in degrees
+    private int[] routeStarts; // the first airport of each route
+    private int[] routeEnds; // the second airport of each route
+    private int[] routeMiles; // the miles between the airports of each route
+
+    /**
+     * Generates a network. Each route is flown in both directions, so it is
+     * stored as two edges once loaded.
+     *
+     * @param airports the number of airports, at least 2
+     * @param routes   the number of routes between different airports, at
+     *                 least airports - 1 and at most a quarter of all pairs,
+     *                 or exactly airports - 1 when that is more
+     * @param seed     the seed of the random numbers
+     * @throws IllegalArgumentException if there are too few airports, or too
+     *                                  few or many routes
+     */
+    public NetworkGenerator(int airports, int routes, long seed) {
+        if (airports < 2)
+            throw new IllegalArgumentException("a network needs at least 2 airports");
+        // the routes that connect every airport always fit, even in a network too small for a quarter of all pairs
+        long maxRoutes = Math.max(airports - 1, (long) airports * (airports - 1) / 4);
+        if (routes < airports - 1 || routes > maxRoutes)
+            throw new IllegalArgumentException("a network of " + airports + " airports needs between " +
+                    (airports - 1) + " and " + maxRoutes + " routes");
+        this.airportCount = airports;
+        this.routeCount = routes;
+        Random random = new Random(seed);
+        placeAirports(random);
+        connectAirports(random);
+    }
+
+    // Places each airport near the center of a random region
+    private void placeAirports(Random random) {
+        int regions = Math.max(1, airportCount / AIRPORTS_PER_REGION);
+        double[] regionLatitudes = new double[regions];
+        double[] regionLongitudes = new double[regions];
+        for (int i = 0; i < regions; i++) {
+            // keep regions away from the poles, where there are few airports
+            regionLatitudes[i] = -50 + random.nextDouble() * 115;
+            regionLongitudes[i] = -180 + random.nextDouble() * 360;
+        }
+        latitudes = new double[airportCount];
+        longitudes = new double[airportCount];
+        for (int i = 0; i < airportCount; i++) {
+            int region = random.nextInt(regions);
+            double latitude = regionLatitudes[region] + random.nextGaussian() * REGION_SPREAD;
+            double longitude = regionLongitudes[region] + random.nextGaussian() * REGION_SPREAD;
+            latitudes[i] = Math.max(-85, Math.min(85, latitude));
+            longitudes[i] = ((longitude + 540) % 360) - 180; // wrap around to between -180 and 180
+        }
+    }
+
+    // Adds the routes, first connecting each airport to an earlier one and then adding the rest between any airports
+    private void connectAirports(Random random) {
+        routeStarts = new int[routeCount];
+        routeEnds = new int[routeCount];
+        routeMiles = new int[routeCount];
+        // every route adds both of its airports here, so picking a random entry picks an airport with probability
+        // proportional to its number of routes
+        int[] ends = new int[2 * routeCount];
+        HashSet<Long> added = new HashSet<>();
+        int route = 0;
+        for (int airport = 1; airport < airportCount; airport++) {
+            int other = pick(random, ends, 2 * route, airport);
+            added.add(pairKey(airport, other));
+            ends[2 * route] = airport;
+            ends[2 * route + 1] = other;
+            addRoute(route++, airport, other);
+        }
+        while (route < routeCount) {
+            int first = pick(random, ends, 2 * route, airportCount);
+            int second = pick(random, ends, 2 * route, airportCount);
+            if (first == second || !added.add(pairKey(first, second)))
+                continue; // not a new route, so pick again
+            ends[2 * route] = first;
+            ends[2 * route + 1] = second;
+            addRoute(route++, first, second);
+        }
+    }
+
+    // Picks an airport below a limit, usually in proportion to its number of routes
+    private int pick(Random random, int[] ends, int endCount, int limit) {
+        if (endCount > 0 && random.nextDouble() >= UNIFORM_CHANCE) {
+            int airport = ends[random.nextInt(endCount)];
+            if (airport < limit)
+                return airport;
+        }
+        return random.nextInt(limit);
+    }
+
+    // The key of the route between two airports, the same in either order
+    private static long pairKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    // Stores a route, with its miles as the great-circle distance between its airports
+    private void addRoute(int route, int first, int second) {
+        routeStarts[route] = first;
+        routeEnds[route] = second;
+        double lat1 = Math.toRadians(latitudes[first]);
+        double lat2 = Math.toRadians(latitudes[second]);
+        double sinLatitude = Math.sin((lat2 - lat1) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(longitudes[second] - longitudes[first]) / 2);
+        double h = sinLatitude * sinLatitude + Math.cos(lat1) * Math.cos(lat2) * sinLongitude * sinLongitude;
+        double miles = 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1, Math.sqrt(h)));
+        routeMiles[route] = Math.max(1, (int) Math.ceil(miles));
+    }
+
+    /**
+     * Returns the code of an airport: three letters for the first 17,576
+     * airports (AAA to ZZZ), and then four letters, five letters and so on.
+     *
+     * @param airport the number of the airport
+     * @return the code of the airport
+     */
+    public static String airportCode(int airport) {
+        int length = 3;
+        long count = 26 * 26 * 26; // the number of codes with this many letters
+        while (airport >= count) {
+            airport -= count;
+            length++;
+            count *= 26;
+        }
+        char[] code = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            code[i] = (char) ('A' + airport % 26);
+            airport /= 26;
+        }
+        return new String(code);
+    }
+
+    /**
+     * Returns the number of airports in the network.
+     *
+     * @return the number of airports
+     */
+    public int getAirportCount() {
+        return airportCount;
+    }
+
+    /**
+     * Returns the number of routes in the network.
+     *
+     * @return the number of routes
+     */
+    public int getRouteCount() {
+        return routeCount;
+    }
+
+    /**
+     * Returns the latitude of an airport.
+     *
+     * @param airport the number of the airport
+     * @return the latitude in degrees
+     */
+    public double getLatitude(int airport) {
+        return latitudes[airport];
+    }
+
+    /**
+     * Returns the longitude of an airport.
+     *
+     * @param airport the number of the airport
+     * @return the longitude in degrees
+     */
+    public double getLongitude(int airport) {
+        return longitudes[airport];
+    }
+
+    /**
+     * Returns the number of routes that an airport has.
+     *
+     * @param airport the number of the airport
+     * @return the number of routes to or from the airport
+     */
+    public int getRouteCount(int airport) {
+        int routes = 0;
+        for (int route = 0; route < routeCount; route++)
+            if (routeStarts[route] == airport || routeEnds[route] == airport)
+                routes++;
+        return routes;
+    }
+
+    /**
+     * Writes the network to a DOT file in the format of flights.dot, with the
+     * coordinates of each airport as lat and lon attributes.
+     *
+     * @param filePath the path of the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeDot(String filePath) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath))) {
+            writer.write("graph flights {\n");
+            for (int airport = 0; airport < airportCount; airport++) {
+                writer.write("    \"" + airportCode(airport) + "\" [lat=\"" + latitudes[airport] + "\", lon=\"" +
+                        longitudes[airport] + "\"];\n");
+            }
+            for (int route = 0; route < routeCount; route++) {
+                writer.write("    \"" + airportCode(routeStarts[route]) + "\" -- \"" + airportCode(routeEnds[route]) +
+                        "\" [miles=" + routeMiles[route] + "];\n");
+            }
+            writer.write("}\n");
+        }
+    }
+
+    /**
+     * Writes the network to a snapshot file that GraphSnapshot can read. The
+     * coordinates of the airports are not part of a snapshot.
+     *
+     * @param filePath the path of the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeSnapshot(String filePath) throws IOException {
+        GraphSnapshot.write(toFrozenGraph(), filePath);
+    }
+
+    /**
+     * Creates a read-only graph of the network directly, with an edge in
+     * each direction for every route, without writing and parsing a file.
+     *
+     * @return a graph of the airports and routes in the network
+     */
+    public FrozenGraph<String, Integer> toFrozenGraph() {
+        String[] codes = new String[airportCount];
+        for (int airport = 0; airport < airportCount; airport++)
+            codes[airport] = airportCode(airport);
+        // count the edges leaving each airport, then fill each airport's row
+        int[] offsets = new int[airportCount + 1];
+        for (int route = 0; route < routeCount; route++) {
+            offsets[routeStarts[route] + 1]++;
+            offsets[routeEnds[route] + 1]++;
+        }
+        for (int airport = 0; airport < airportCount; airport++)
+            offsets[airport + 1] += offsets[airport];
+        int[] next = Arrays.copyOf(offsets, airportCount);
+        long[] packed = new long[2 * routeCount]; // (successor, miles) of each edge, so a row sorts by successor
+        for (int route = 0; route < routeCount; route++) {
+            packed[next[routeStarts[route]]++] = ((long) routeEnds[route] << 32) | routeMiles[route];
+            packed[next[routeEnds[route]]++] = ((long) routeStarts[route] << 32) | routeMiles[route];
+        }
+        int[] targets = new int[packed.length];
+        double[] weights = new double[packed.length];
+        for (int airport = 0; airport < airportCount; airport++) {
+            Arrays.sort(packed, offsets[airport], offsets[airport + 1]);
+            for (int edge = offsets[airport]; edge < offsets[airport + 1]; edge++) {
+                targets[edge] = (int) (packed[edge] >>> 32);
+                weights[edge] = (int) packed[edge];
+            }
+        }
+        return new FrozenGraph<>(codes, offsets, targets, weights, miles -> (int) miles);
+    }
+
+    /**
+     * Writes a generated network to a DOT file, and to a snapshot file if one
+     * is given.
+     *
+     * @param args the number of airports, the number of routes, the seed, the
+     *             DOT file and optionally the snapshot file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4 && args.length != 5) {
+            System.out.println("Usage: java NetworkGenerator <airports> <routes> <seed> <dot file> [snapshot file]");
+            return;
+        }
+        NetworkGenerator generator = new NetworkGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                Long.parseLong(args[2]));
+        generator.writeDot(args[3]);
+        if (args.length == 5)
+            generator.writeSnapshot(args[4]);
+    }
+
+}
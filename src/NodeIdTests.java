@@ -0,0 +1,94 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests the int ids graphs give their nodes, and inserting edges by those ids
+ */
+public class NodeIdTests {
+
+    /**
+     * This test checks that ids are given out in insertion order, and that interning data that is already in the
+     * graph returns its id, even when it comes from a different but equal object
+     */
+    @Test
+    public void testInternReturnsSameId(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new OpenAddressingMap<>());
+        Assertions.assertEquals(0, graph.internNode("ORD"));
+        graph.insertNode("MSN");
+        Assertions.assertEquals(2, graph.internNode("LAX"));
+        //A node inserted without interning is found by its data
+        Assertions.assertEquals(1, graph.internNode("MSN"));
+        Assertions.assertEquals(0, graph.internNode(new String("ORD")));
+        Assertions.assertEquals(3, graph.getNodeCount());
+        Assertions.assertEquals(2, graph.getNodeId("LAX"));
+        Assertions.assertEquals("MSN", graph.getNodeData(1));
+
+        Assertions.assertThrows(NullPointerException.class, () -> graph.internNode(null));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.getNodeId("JFK"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.getNodeData(-1));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.getNodeData(3));
+        Assertions.assertEquals(3, graph.getNodeCount());
+    }
+
+    /**
+     * This test checks that the id of a removed node is never given out again, so edges can't be inserted to it,
+     * and that interning the same data again makes a new node without the old node's edges
+     */
+    @Test
+    public void testRemovedIdsNotReused(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new OpenAddressingMap<>());
+        int ord = graph.internNode("ORD");
+        int msn = graph.internNode("MSN");
+        graph.insertEdgeById(ord, msn, 109);
+        graph.insertEdgeById(msn, ord, 109);
+
+        Assertions.assertTrue(graph.removeNode("MSN"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.getNodeData(msn));
+        long modCount = graph.getModCount();
+        Assertions.assertFalse(graph.insertEdgeById(ord, msn, 1));
+        Assertions.assertFalse(graph.insertEdgeById(msn, msn, 1));
+        Assertions.assertFalse(graph.insertEdgeById(ord, 7, 1));
+        Assertions.assertEquals(modCount, graph.getModCount());
+        Assertions.assertEquals(0, graph.getEdgeCount());
+
+        int newMsn = graph.internNode("MSN");
+        Assertions.assertEquals(2, newMsn);
+        Assertions.assertEquals(0, graph.getEdgeCount());
+        Assertions.assertFalse(graph.containsEdge("ORD", "MSN"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathData("ORD", "MSN"));
+        Assertions.assertTrue(graph.insertEdgeById(ord, newMsn, 80));
+        Assertions.assertEquals(List.of("ORD", "MSN"), graph.shortestPathData("ORD", "MSN"));
+    }
+
+    /**
+     * This test checks that inserting an edge by ids that is already in the graph updates its weight, and that
+     * searches and tracked trees see edges inserted by id like any other edge
+     */
+    @Test
+    public void testInsertEdgeByIdUpdatesWeight(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new OpenAddressingMap<>());
+        int ord = graph.internNode("ORD");
+        int msn = graph.internNode("MSN");
+        int lax = graph.internNode("LAX");
+        DynamicShortestPathTree<String, Integer> tree = graph.trackShortestPathTree("ORD");
+
+        Assertions.assertTrue(graph.insertEdgeById(ord, msn, 109));
+        Assertions.assertTrue(graph.insertEdgeById(msn, lax, 1800));
+        Assertions.assertEquals(1909, tree.shortestPathCost("LAX"));
+        Assertions.assertTrue(graph.insertEdgeById(ord, lax, 1750));
+        Assertions.assertEquals(List.of("ORD", "LAX"), tree.shortestPathData("LAX"));
+
+        //The same edge again only changes its weight
+        Assertions.assertTrue(graph.insertEdgeById(ord, msn, 90));
+        Assertions.assertEquals(3, graph.getEdgeCount());
+        Assertions.assertEquals(90, (int) graph.getEdge("ORD", "MSN"));
+        Assertions.assertEquals(90, tree.shortestPathCost("MSN"));
+        Assertions.assertTrue(graph.insertEdgeById(ord, lax, 2000));
+        Assertions.assertEquals(1890, graph.shortestPathCost("ORD", "LAX"));
+        Assertions.assertEquals(1890, tree.shortestPathCost("LAX"));
+    }
+
+}
@@ -0,0 +1,228 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This MapADT stores its keys and values directly in two parallel arrays
+ * using open addressing with linear probing: a key is stored at the first
+ * free slot at or after the slot its hash picks, so no node object is
+ * created for each entry and a lookup hashes the key only once. Removing a
+ * key shifts the keys after it back into the gap (backward shift deletion),
+ * so no tombstones are left behind and lookups stay short.
+ *
+ * The capacity is always a power of two of at most 2^30, and the arrays
+ * double when the number of keys would go above the capacity times the load
+ * factor (but never below one key). A map that is created with the number
+ * of keys it will hold never has to grow.
+ *
+ * @param <KeyType>   the type of the keys, which must not be null
+ * @param <ValueType> the type of the values
+ */
+public class OpenAddressingMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30; // the largest power of two an array can hold
+    private static final double DEFAULT_LOAD_FACTOR = 0.5;
+
+    private Object[] keys; // the key in each slot, or null for a free slot
+    private Object[] values; // the value of the key in each slot
+    private int size = 0; // the number of keys stored
+    private int mask; // the capacity minus one, used to wrap slot numbers around
+    private double loadFactor; // the largest fraction of the slots that may be used
+    private int threshold; // the largest number of keys before the arrays grow
+
+    /**
+     * Creates an empty map with the default capacity and load factor.
+     */
+    public OpenAddressingMap() {
+        this(DEFAULT_CAPACITY / 2, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates an empty map that can hold some number of keys without growing.
+     *
+     * @param expectedSize the number of keys the map is expected to hold
+     */
+    public OpenAddressingMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates an empty map that can hold some number of keys without growing,
+     * using no more than a fraction of its slots.
+     *
+     * @param expectedSize the number of keys the map is expected to hold
+     * @param loadFactor   the largest fraction of the slots to use, above 0 and below 1
+     * @throws IllegalArgumentException if expectedSize is negative, the load factor is out of range, or
+     *                                  expectedSize keys would need more than 2^30 slots at that load factor
+     */
+    public OpenAddressingMap(int expectedSize, double loadFactor) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("expected size can't be negative");
+        if (!(loadFactor > 0 && loadFactor < 1))
+            throw new IllegalArgumentException("load factor must be above 0 and below 1");
+        if (expectedSize > MAXIMUM_CAPACITY * loadFactor)
+            throw new IllegalArgumentException("expected size is too large for the load factor");
+        this.loadFactor = loadFactor;
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < MAXIMUM_CAPACITY && capacity * loadFactor < expectedSize)
+            capacity *= 2;
+        allocate(capacity);
+    }
+
+    // Creates empty arrays with a capacity that is a power of two
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        // a tiny load factor still allows one key, so the map always grows before every slot is used
+        threshold = Math.max(1, (int) (capacity * loadFactor));
+    }
+
+    // Picks the first slot to look for a key in, mixing the bits of its hash code so nearby codes spread out
+    private int home(Object key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    // Finds the slot holding a key, or the free slot where it would be put
+    private int find(Object key) {
+        int slot = home(key);
+        while (keys[slot] != null && !keys[slot].equals(key))
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    @Override
+    public void put(KeyType key, ValueType value) throws IllegalArgumentException {
+        if (!putIfAbsent(key, value))
+            throw new IllegalArgumentException("key " + key.toString() + " already present in map");
+    }
+
+    /**
+     * Adds a new key,value pair if the key is not already in the map, with a
+     * single lookup.
+     *
+     * @param key   the key of the key,value pair
+     * @param value the value that key maps to
+     * @return true if the pair was added, or false if the key was already
+     *         in the map (whose value is left as it was)
+     * @throws NullPointerException if key is null
+     */
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        if (key == null)
+            throw new NullPointerException("null keys not allowed");
+        int slot = find(key);
+        if (keys[slot] != null)
+            return false;
+        if (size >= threshold) {
+            grow();
+            slot = find(key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return true;
+    }
+
+    // Doubles the capacity, putting every key in its slot in the new arrays
+    private void grow() {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            // the arrays can't double again, so use the rest of the slots, leaving one free so every probe ends
+            if (size >= MAXIMUM_CAPACITY - 1)
+                throw new IllegalStateException("map is full");
+            threshold = MAXIMUM_CAPACITY - 1;
+            return;
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // The value stored in a slot, which has to be kept in an Object[] since the type of the values is erased
+    @SuppressWarnings("unchecked") // only put stores values, and they are all ValueTypes
+    private ValueType valueAt(int slot) {
+        return (ValueType) values[slot];
+    }
+
+    @Override
+    public boolean containsKey(KeyType key) {
+        if (key == null)
+            throw new NullPointerException("null keys not allowed");
+        return keys[find(key)] != null;
+    }
+
+    @Override
+    public ValueType get(KeyType key) throws NoSuchElementException {
+        if (key == null)
+            throw new NullPointerException("null keys not allowed");
+        int slot = find(key);
+        if (keys[slot] == null)
+            throw new NoSuchElementException("key " + key.toString() + " not in map");
+        return valueAt(slot);
+    }
+
+    /**
+     * Retrieves the value that a key maps to, or a default value when the
+     * key is not in the map, with a single lookup.
+     *
+     * @param key          the key to look up
+     * @param defaultValue the value to return when the key is not in the map
+     * @return the value that key maps to, or defaultValue
+     * @throws NullPointerException if key is null
+     */
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        if (key == null)
+            throw new NullPointerException("null keys not allowed");
+        int slot = find(key);
+        return keys[slot] == null ? defaultValue : valueAt(slot);
+    }
+
+    @Override
+    public ValueType remove(KeyType key) throws NoSuchElementException {
+        if (key == null)
+            throw new NullPointerException("null keys not allowed");
+        int gap = find(key);
+        if (keys[gap] == null)
+            throw new NoSuchElementException("key " + key.toString() + " not in map");
+        ValueType removed = valueAt(gap);
+        // move back each following key that may be stored at or before the gap, until a free slot is reached
+        for (int slot = (gap + 1) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            int home = home(keys[slot]);
+            // the key can move to the gap unless its home slot is after the gap (going around from the gap to slot)
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = null;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getCapacity() {
+        return keys.length;
+    }
+
+}
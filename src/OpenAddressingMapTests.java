@@ -0,0 +1,160 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests OpenAddressingMap, the linear probing MapADT
+ */
+public class OpenAddressingMapTests {
+
+    // A key with a chosen hash code, so tests can make keys collide
+    private static class Key {
+        final int id;
+        final int hash;
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).id == id;
+        }
+    }
+
+    /**
+     * This test fills a small map with clusters of keys that share a hash code, for every home slot including the
+     * last one, where probing wraps around to slot 0, and checks every key is still found after each removal shifts
+     * the keys after it back
+     */
+    @Test
+    public void testRemoveShiftsCollidingKeys(){
+        for (int hash = 0; hash < 64; hash++) {
+            OpenAddressingMap<Key, Integer> map = new OpenAddressingMap<>(0, 0.9);
+            List<Key> keys = new ArrayList<>();
+            //two clusters next to each other, so the second one is pushed along by the first
+            for (int id = 0; id < 12; id++) {
+                Key key = new Key(id, id < 6 ? hash : hash + 1);
+                keys.add(key);
+                map.put(key, id);
+            }
+            Assertions.assertEquals(16, map.getCapacity());
+            //remove from the middle of the clusters first
+            for (int id : new int[] {2, 7, 0, 11, 5, 6, 1, 3, 9, 4, 10, 8}) {
+                Assertions.assertEquals(id, (int) map.remove(keys.get(id)));
+                keys.set(id, null);
+                for (int other = 0; other < 12; other++) {
+                    if (keys.get(other) != null)
+                        Assertions.assertEquals(other, (int) map.get(keys.get(other)));
+                }
+            }
+            Assertions.assertEquals(0, map.getSize());
+        }
+    }
+
+    /**
+     * This test checks that the map doubles when the number of keys passes the capacity times the load factor, and
+     * that a map created with the number of keys it will hold never grows
+     */
+    @Test
+    public void testGrowsAtLoadFactor(){
+        OpenAddressingMap<Integer, Integer> map = new OpenAddressingMap<>();
+        Assertions.assertEquals(16, map.getCapacity());
+        for (int i = 0; i < 8; i++)
+            map.put(i, i);
+        Assertions.assertEquals(16, map.getCapacity());
+        map.put(8, 8);
+        Assertions.assertEquals(32, map.getCapacity());
+        for (int i = 0; i < 9; i++)
+            Assertions.assertEquals(i, (int) map.get(i));
+
+        OpenAddressingMap<Integer, Integer> sized = new OpenAddressingMap<>(1000);
+        int capacity = sized.getCapacity();
+        for (int i = 0; i < 1000; i++)
+            sized.put(i, i);
+        Assertions.assertEquals(capacity, sized.getCapacity());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OpenAddressingMap<Integer, Integer>(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OpenAddressingMap<Integer, Integer>(8, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OpenAddressingMap<Integer, Integer>(8, 0));
+    }
+
+    /**
+     * This test checks that a load factor so small that a map's capacity times the load factor is below one still
+     * lets the map hold keys, and that a map is not created with more slots than an array can hold
+     */
+    @Test
+    public void testExtremeLoadFactorsAndSizes(){
+        OpenAddressingMap<Integer, Integer> map = new OpenAddressingMap<>(0, 0.01);
+        for (int i = 0; i < 100; i++)
+            map.put(i, i);
+        for (int i = 0; i < 100; i++)
+            Assertions.assertEquals(i, (int) map.get(i));
+        Assertions.assertTrue(map.getCapacity() * 0.01 >= 100);
+        OpenAddressingMap<Integer, Integer> sized = new OpenAddressingMap<>(3, 0.01);
+        Assertions.assertEquals(512, sized.getCapacity());
+
+        //2^30 slots are the most a map can have
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new OpenAddressingMap<Integer, Integer>((1 << 29) + 1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new OpenAddressingMap<Integer, Integer>(Integer.MAX_VALUE, 0.99));
+    }
+
+    /**
+     * This test checks keys that are already in the map, keys that are not, and null keys
+     */
+    @Test
+    public void testExistingAndMissingKeys(){
+        OpenAddressingMap<String, Integer> map = new OpenAddressingMap<>();
+        map.put("ORD", 1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put("ORD", 2));
+        Assertions.assertFalse(map.putIfAbsent("ORD", 3));
+        Assertions.assertEquals(1, (int) map.get("ORD"));
+        Assertions.assertEquals(1, (int) map.getOrDefault("ORD", 0));
+        Assertions.assertEquals(0, (int) map.getOrDefault("MSN", 0));
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.get("MSN"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.remove("MSN"));
+        Assertions.assertThrows(NullPointerException.class, () -> map.put(null, 0));
+        Assertions.assertThrows(NullPointerException.class, () -> map.containsKey(null));
+        Assertions.assertEquals(1, map.getSize());
+
+        map.clear();
+        Assertions.assertEquals(0, map.getSize());
+        Assertions.assertFalse(map.containsKey("ORD"));
+        Assertions.assertTrue(map.putIfAbsent("ORD", 4));
+        Assertions.assertEquals(4, (int) map.get("ORD"));
+    }
+
+    /**
+     * This test uses the map as the node map of a graph, where removing nodes removes keys from the middle of the map
+     */
+    @Test
+    public void testMapInGraph(){
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new OpenAddressingMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "D", 1);
+        graph.insertEdge("A", "C", 3);
+        graph.insertEdge("C", "D", 3);
+
+        Assertions.assertEquals(List.of("A", "B", "D"), graph.shortestPathData("A", "D"));
+        Assertions.assertTrue(graph.removeNode("B"));
+        Assertions.assertFalse(graph.containsNode("B"));
+        Assertions.assertEquals(List.of("A", "C", "D"), graph.shortestPathData("A", "D"));
+        Assertions.assertEquals(3, graph.getNodeCount());
+    }
+
+}
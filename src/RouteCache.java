@@ -0,0 +1,244 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * This class is a bounded cache of shortest routes, keyed by their start and
+ * destination. When it is full, the route that was used least recently is
+ * evicted, and routes older than the time to live are evicted when they are
+ * next looked up. Every route is stored with the version of the graph it was
+ * found in, and looking a route up with a newer version empties the cache, so
+ * routes are never returned after the graph changes.
+ *
+ * All methods are synchronized, so one cache may be shared by many threads.
+ * The results stored must already be computed, since they are handed to every
+ * thread that looks them up.
+ */
+public class RouteCache<NodeType, EdgeType extends Number> {
+
+    // The start and destination of a route
+    private static class Key {
+        private final Object start;
+        private final Object destination;
+
+        Key(Object start, Object destination) {
+            this.start = start;
+            this.destination = destination;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key))
+                return false;
+            Key key = (Key) other;
+            return start.equals(key.start) && destination.equals(key.destination);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, destination);
+        }
+    }
+
+    // A cached route and the time it was stored
+    private static class Entry<NodeType, EdgeType extends Number> {
+        private final ShortestPathResult<NodeType, EdgeType> result;
+        private final long storedAt;
+
+        Entry(ShortestPathResult<NodeType, EdgeType> result, long storedAt) {
+            this.result = result;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private final int maxSize; // the most routes kept at once
+    private final long timeToLive; // how long a route is kept, in nanoseconds, or 0 to keep it until it is evicted
+    private final LongSupplier clock; // the current time in nanoseconds
+    private final LinkedHashMap<Key, Entry<NodeType, EdgeType>> entries; // ordered from least to most recently used
+    private long version = 0; // the version of the graph the cached routes were found in
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxSize          the most routes to keep at once
+     * @param timeToLiveMillis how long to keep a route, in milliseconds, or 0
+     *                         to keep it until it is evicted for space
+     */
+    public RouteCache(int maxSize, long timeToLiveMillis) {
+        this(maxSize, timeToLiveMillis, System::nanoTime);
+    }
+
+    /**
+     * Creates an empty cache that reads the time from a clock.
+     *
+     * @param maxSize          the most routes to keep at once
+     * @param timeToLiveMillis how long to keep a route, in milliseconds, or 0
+     *                         to keep it until it is evicted for space
+     * @param clock            returns the current time in nanoseconds
+     */
+    RouteCache(int maxSize, long timeToLiveMillis, LongSupplier clock) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("a route cache must hold at least one route");
+        if (timeToLiveMillis < 0)
+            throw new IllegalArgumentException("the time to live can't be negative");
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLiveMillis * 1_000_000L;
+        this.clock = clock;
+        // access order moves each route that is looked up to the end of the map
+        this.entries = new LinkedHashMap<Key, Entry<NodeType, EdgeType>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry<NodeType, EdgeType>> eldest) {
+                if (size() <= RouteCache.this.maxSize)
+                    return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Looks up the route between two nodes.
+     *
+     * @param start       the data item in the starting node of the route
+     * @param destination the data item in the destination node of the route
+     * @param version     the current version of the graph
+     * @return the cached route, or null if it is not cached, has expired or
+     *         was found in an older version of the graph
+     */
+    public synchronized ShortestPathResult<NodeType, EdgeType> get(NodeType start, NodeType destination,
+                                                                  long version) {
+        checkVersion(version);
+        Key key = new Key(start, destination);
+        Entry<NodeType, EdgeType> entry = entries.get(key);
+        if (entry != null && timeToLive > 0 && clock.getAsLong() - entry.storedAt >= timeToLive) {
+            entries.remove(key);
+            evictions++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result;
+    }
+
+    /**
+     * Stores the route between two nodes, evicting the least recently used
+     * route if the cache is full.
+     *
+     * @param start       the data item in the starting node of the route
+     * @param destination the data item in the destination node of the route
+     * @param version     the version of the graph the route was found in
+     * @param result      the route, whose data must already be computed
+     */
+    public synchronized void put(NodeType start, NodeType destination, long version,
+                                 ShortestPathResult<NodeType, EdgeType> result) {
+        checkVersion(version);
+        if (version != this.version)
+            return; // found in a version that is already out of date
+        entries.put(new Key(start, destination), new Entry<>(result, clock.getAsLong()));
+    }
+
+    // Empties the cache when the graph has moved on to a newer version
+    private void checkVersion(long version) {
+        if (version > this.version) {
+            if (!entries.isEmpty())
+                invalidations++;
+            entries.clear();
+            this.version = version;
+        }
+    }
+
+    /**
+     * Removes every route from the cache, for example when a different graph
+     * is loaded.
+     */
+    public synchronized void clear() {
+        if (!entries.isEmpty())
+            invalidations++;
+        entries.clear();
+    }
+
+    /**
+     * Removes the routes whose time to live has passed, without waiting for
+     * them to be looked up.
+     */
+    public synchronized void removeExpired() {
+        if (timeToLive == 0)
+            return;
+        long now = clock.getAsLong();
+        Iterator<Entry<NodeType, EdgeType>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().storedAt >= timeToLive) {
+                iterator.remove();
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of routes in the cache.
+     *
+     * @return the number of cached routes
+     */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a route.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a route.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of routes removed because the cache was full or
+     * their time to live had passed.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of times the cache was emptied because the graph
+     * changed or was replaced.
+     *
+     * @return the number of invalidations
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Describes the counters of the cache in a sentence.
+     *
+     * @return a sentence with the hits, misses, evictions and invalidations
+     */
+    public synchronized String getStatistics() {
+        return "The route cache has " + entries.size() + " of at most " + maxSize + " routes, with " + hits +
+                " hits, " + misses + " misses, " + evictions + " evictions and " + invalidations + " invalidations.";
+    }
+
+}
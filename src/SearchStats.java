@@ -0,0 +1,90 @@
+/**
+ * This class counts the work done by one shortest path search, to show why
+ * some searches are slower than others. A search only fills in the counters
+ * when it is given a SearchStats object, and when it isn't, nothing is
+ * counted or timed.
+ *
+ * The counters are filled in by the search that is given the object, so one
+ * object should be used by one search at a time.
+ */
+public class SearchStats {
+
+    int settled = 0; // the nodes whose cheapest path was found and whose edges were looked at
+    int relaxed = 0; // the edges looked at while settling nodes
+    int pushes = 0; // the entries added to the heap or whose key was lowered
+    int pops = 0; // the entries taken off the heap
+    int skipped = 0; // the entries taken off the heap whose node did not need settling
+    long nanos = 0; // the time the search took
+
+    /**
+     * Returns the number of nodes the search settled, which is the number
+     * whose edges it looked at.
+     *
+     * @return the number of settled nodes
+     */
+    public int getSettledCount() {
+        return settled;
+    }
+
+    /**
+     * Returns the number of edges the search looked at while settling nodes.
+     *
+     * @return the number of relaxed edges
+     */
+    public int getRelaxedCount() {
+        return relaxed;
+    }
+
+    /**
+     * Returns the number of entries the search added to its heap, or whose
+     * key it lowered.
+     *
+     * @return the number of heap pushes
+     */
+    public int getPushCount() {
+        return pushes;
+    }
+
+    /**
+     * Returns the number of entries the search took off its heap.
+     *
+     * @return the number of heap pops
+     */
+    public int getPopCount() {
+        return pops;
+    }
+
+    /**
+     * Returns the number of entries taken off the heap that were skipped
+     * without settling their node: stale entries for nodes already settled
+     * by a cheaper path, and in a contraction hierarchy, nodes pruned by
+     * stall-on-demand.
+     *
+     * @return the number of skipped entries
+     */
+    public int getSkippedCount() {
+        return skipped;
+    }
+
+    /**
+     * Returns the wall clock time the search took.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Describes the counters in a sentence.
+     *
+     * @return a sentence with every counter
+     */
+    @Override
+    public String toString() {
+        return "The search settled " + settled + " nodes, relaxed " + relaxed + " edges, pushed " + pushes +
+                " and popped " + pops + " heap entries, skipped " + skipped + " of them, and took " + nanos +
+                " nanoseconds.";
+    }
+
+}
@@ -1,8 +1,11 @@
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * This class holds the data of the shortest route between two airports
+ * This class holds the data of the shortest route between two airports. The route is computed the first time any of
+ * its data is requested, and the airports, the miles of each segment and the total miles found by that single search
+ * are kept together so later calls don't search the graph again.
  */
 public class ShortestPathResult<NodeType, EdgeType extends Number> implements ShortestPathResultInterface{
 
@@ -10,6 +13,11 @@ public class ShortestPathResult<NodeType, EdgeType extends Number> implements Sh
     private NodeType start; // The starting airport
     private NodeType destination; // The destination airport
 
+    private ArrayList<NodeType> route = null; // The airports along the route, null until the route is computed
+    private ArrayList<EdgeType> milesPerSegment = null; // The miles of each flight along the route
+    private double totalMiles; // The total miles along the route
+    private SearchStats stats = null; // The work done by the search that found the route, when it was counted
+
     /**
      * Creates a new ShortestPathResult object
      * @param graph the graph with all airports and flights
@@ -17,9 +25,78 @@ public class ShortestPathResult<NodeType, EdgeType extends Number> implements Sh
      * @param destinationAirport the destination airport
      */
     ShortestPathResult(GraphADT<NodeType, EdgeType> graph, NodeType startAirport, NodeType destinationAirport){
+        this(graph, startAirport, destinationAirport, null);
+    }
+
+    /**
+     * Creates a new ShortestPathResult object whose search fills in a SearchStats when the route is computed
+     * @param graph the graph with all airports and flights
+     * @param startAirport the start airport
+     * @param destinationAirport the destination airport
+     * @param stats the counters for the search to fill in, or null to not count anything
+     */
+    ShortestPathResult(GraphADT<NodeType, EdgeType> graph, NodeType startAirport, NodeType destinationAirport,
+                       SearchStats stats){
         this.graph = (DijkstraGraph) graph;
         this.start = startAirport;
         this.destination = destinationAirport;
+        this.stats = stats;
+    }
+
+    /**
+     * Creates a ShortestPathResult for a route that has already been found
+     * @param route the airports along the route
+     * @param milesPerSegment the miles of each flight along the route
+     * @param totalMiles the total miles along the route
+     */
+    ShortestPathResult(List<NodeType> route, List<EdgeType> milesPerSegment, double totalMiles){
+        this(route, milesPerSegment, totalMiles, null);
+    }
+
+    /**
+     * Creates a ShortestPathResult for a route that has already been found, along with the counters of its search
+     * @param route the airports along the route
+     * @param milesPerSegment the miles of each flight along the route
+     * @param totalMiles the total miles along the route
+     * @param stats the work done by the search that found the route, or null if it wasn't counted
+     */
+    ShortestPathResult(List<NodeType> route, List<EdgeType> milesPerSegment, double totalMiles, SearchStats stats){
+        this.stats = stats;
+        this.route = new ArrayList<>(route);
+        this.milesPerSegment = new ArrayList<>(milesPerSegment);
+        this.totalMiles = totalMiles;
+        if (!route.isEmpty()) {
+            this.start = route.get(0);
+            this.destination = route.get(route.size() - 1);
+        }
+    }
+
+    /**
+     * Runs the shortest path search the first time it is needed, and stores the airports, the weight of each edge
+     * that was followed and the total cost of the path it finds
+     * @throws java.util.NoSuchElementException when there is no route between the airports
+     */
+    private void computeRoute() {
+        if (route != null) {
+            return;
+        }
+        DijkstraGraph<NodeType, EdgeType>.SearchNode searchNode = graph.computeShortestPath(start, destination, stats);
+        ArrayList<NodeType> airports = new ArrayList<>();
+        ArrayList<EdgeType> miles = new ArrayList<>();
+        totalMiles = searchNode.cost;
+        // Walk back from the destination, reading each segment from the edge the search followed to reach it
+        while (searchNode != null) {
+            airports.add(searchNode.node.data);
+            if (searchNode.edge != null) {
+                miles.add(searchNode.edge.data);
+            }
+            searchNode = searchNode.predecessor;
+        }
+        // The search nodes are ordered from end to start, so reverse both lists
+        Collections.reverse(airports);
+        Collections.reverse(miles);
+        milesPerSegment = miles;
+        route = airports;
     }
 
     /**
@@ -28,7 +105,8 @@ public class ShortestPathResult<NodeType, EdgeType extends Number> implements Sh
      */
     @Override
     public List getRoute() {
-        return graph.shortestPathData(start, destination);
+        computeRoute();
+        return new ArrayList<>(route);
     }
 
     /**
@@ -36,20 +114,8 @@ public class ShortestPathResult<NodeType, EdgeType extends Number> implements Sh
      * @return the list of miles to travel for each segment of the route
      */
     public List getMilesPerSegment() {
-        // Create list to return
-        ArrayList<Integer> list = new ArrayList<>();
-        // Create a searchNode to traverse each edge along the route
-        DijkstraGraph.SearchNode searchNode = graph.computeShortestPath(start, destination);
-        // Loop through until we reach the start node
-        while (searchNode.predecessor!=null){
-            DijkstraGraph.SearchNode predecessor = searchNode.predecessor; // The predecessor of the current node
-            // Find the edge between the two nodes and store its weight
-            Integer edge = (Integer) graph.getEdge(predecessor.node.data, searchNode.node.data);
-            // Add the edge at the beginning of the list
-            list.add(0, edge);
-            searchNode = predecessor;
-        }
-        return list;
+        computeRoute();
+        return new ArrayList<>(milesPerSegment);
     }
 
     /**
@@ -58,6 +124,17 @@ public class ShortestPathResult<NodeType, EdgeType extends Number> implements Sh
      */
     @Override
     public Object getTotalMiles() {
-        return graph.shortestPathCost(start, destination);
+        computeRoute();
+        return totalMiles;
+    }
+
+    /**
+     * Getter method to retrieve the work done by the search that found the route, which is only counted when search
+     * statistics are turned on in the backend
+     * @return the counters and time of the search, or null if they were not counted
+     */
+    public SearchStats getSearchStats() {
+        computeRoute();
+        return stats;
     }
 }
@@ -0,0 +1,165 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class stores the result of one search from a source node to every node
+ * it can reach: the cost of the shortest path to each node, and the node and
+ * edge before it on that path. Once built it answers shortestPathData and
+ * shortestPathCost queries from its source to any node without searching
+ * again, so it can be kept and reused for as many queries as needed.
+ *
+ * Nodes are numbered with the ids of the FrozenGraph the tree was built from.
+ * The tree describes the graph at the time it was built, and is not changed
+ * when the graph it came from changes.
+ */
+public class ShortestPathTree<NodeType, EdgeType extends Number> {
+
+    private FrozenGraph<NodeType, EdgeType> graph; // the graph that was searched
+    private int source; // the id of the source node
+    private double[] distances; // the cost of the shortest path to each node, or infinity if it can't be reached
+    private int[] parents; // the node before each node on its shortest path, or -1 for the source and unreached nodes
+    private int[] parentEdges; // the position of the edge used to reach each node in the graph's CSR arrays, or -1
+
+    /**
+     * Copies the results of a search that settled every node reachable from
+     * source.
+     *
+     * @param graph  the graph that was searched
+     * @param engine the engine holding the results of the search
+     * @param source the id of the node the search started from
+     */
+    ShortestPathTree(FrozenGraph<NodeType, EdgeType> graph, DijkstraEngine engine, int source) {
+        this.graph = graph;
+        this.source = source;
+        int nodeCount = graph.getNodeCount();
+        distances = new double[nodeCount];
+        parents = new int[nodeCount];
+        parentEdges = new int[nodeCount];
+        for (int id = 0; id < nodeCount; id++) {
+            boolean settled = engine.isSettled(id);
+            distances[id] = engine.getDistance(id);
+            parents[id] = settled ? engine.getParent(id) : -1;
+            parentEdges[id] = settled ? engine.getParentEdge(id) : -1;
+        }
+    }
+
+    /**
+     * Returns the data stored in the source node of this tree.
+     *
+     * @return the data item in the source node
+     */
+    public NodeType getSource() {
+        return graph.getNodeData(source);
+    }
+
+    /**
+     * Returns the graph this tree was built from, whose ids number its nodes.
+     *
+     * @return the graph that was searched
+     */
+    public FrozenGraph<NodeType, EdgeType> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the cost of the shortest path from the source to a node.
+     *
+     * @param id the id of the node
+     * @return the cost of the path, or Double.POSITIVE_INFINITY if the node
+     *         cannot be reached from the source
+     */
+    public double getDistance(int id) {
+        return distances[id];
+    }
+
+    /**
+     * Returns the node before a node on the shortest path from the source.
+     *
+     * @param id the id of the node
+     * @return the id of the node before it, or -1 for the source and for
+     *         nodes that cannot be reached
+     */
+    public int getParent(int id) {
+        return parents[id];
+    }
+
+    /**
+     * Checks whether a node can be reached from the source.
+     *
+     * @param end the data item in the node to check
+     * @return true if there is a path from the source to the node, or false
+     *         if there is none or the node is not in the graph
+     */
+    public boolean canReach(NodeType end) {
+        return graph.containsNode(end) && distances[graph.getNodeId(end)] != Double.POSITIVE_INFINITY;
+    }
+
+    // Finds the id of a node, making sure the source can reach it
+    private int reachableId(NodeType end) {
+        if (!graph.containsNode(end))
+            throw new NoSuchElementException("Must refer to a node in the graph!");
+        int id = graph.getNodeId(end);
+        if (distances[id] == Double.POSITIVE_INFINITY)
+            throw new NoSuchElementException("No path from start to end!");
+        return id;
+    }
+
+    /**
+     * Returns the list of data values from nodes along the shortest path
+     * from the source to the node with the provided end value.
+     *
+     * @param end the data item in the destination node for the path
+     * @return list of data item from node along this shortest path
+     * @throws NoSuchElementException when no path from the source to end is
+     *                                found or when end does not correspond to
+     *                                a graph node
+     */
+    public List<NodeType> shortestPathData(NodeType end) {
+        ArrayList<NodeType> list = new ArrayList<>();
+        for (int id = reachableId(end); id != -1; id = parents[id])
+            list.add(graph.getNodeData(id));
+        Collections.reverse(list);
+        return list;
+    }
+
+    /**
+     * Returns the cost of the shortest path from the source to the node
+     * containing the end data.
+     *
+     * @param end the data item in the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     * @throws NoSuchElementException when no path from the source to end is
+     *                                found or when end does not correspond to
+     *                                a graph node
+     */
+    public double shortestPathCost(NodeType end) {
+        return distances[reachableId(end)];
+    }
+
+    /**
+     * Returns the nodes, the weight of each edge and the total cost of the
+     * shortest path from the source to the node containing the end data.
+     *
+     * @param end the data item in the destination node for the path
+     * @return the shortest path between these nodes
+     * @throws NoSuchElementException when no path from the source to end is
+     *                                found or when end does not correspond to
+     *                                a graph node
+     */
+    public ShortestPathResult<NodeType, EdgeType> shortestPathResult(NodeType end) {
+        int endId = reachableId(end);
+        ArrayList<NodeType> route = new ArrayList<>();
+        ArrayList<EdgeType> segments = new ArrayList<>();
+        for (int id = endId; id != -1; id = parents[id]) {
+            route.add(graph.getNodeData(id));
+            if (parentEdges[id] != -1)
+                segments.add(graph.getEdgeData(parentEdges[id]));
+        }
+        Collections.reverse(route);
+        Collections.reverse(segments);
+        return new ShortestPathResult<>(route, segments, distances[endId]);
+    }
+
+}
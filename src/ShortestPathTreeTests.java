@@ -0,0 +1,92 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests ShortestPathTree, the reusable result of one search from a source to every node
+ */
+public class ShortestPathTreeTests {
+
+    // Creates the graph from lecture, with a node G that nothing enters
+    private static DijkstraGraph<String, Integer> lectureGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+        graph.insertNode("E");
+        graph.insertNode("F");
+        graph.insertNode("G");
+
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "F", 3);
+        graph.insertEdge("A", "C", 2);
+        graph.insertEdge("C", "D", 2);
+        graph.insertEdge("D", "E", 2);
+        graph.insertEdge("E", "F", 2);
+        graph.insertEdge("G", "A", 1);
+        return graph;
+    }
+
+    /**
+     * This test checks that one tree answers the queries to every node from its source, with the same paths the
+     * graph finds one at a time
+     */
+    @Test
+    public void testTreeAnswersEveryDestination(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        ShortestPathTree<String, Integer> tree = graph.shortestPathTree("A");
+
+        Assertions.assertEquals("A", tree.getSource());
+        Assertions.assertEquals(List.of("A"), tree.shortestPathData("A"));
+        Assertions.assertEquals(0, tree.shortestPathCost("A"));
+        Assertions.assertEquals(List.of("A", "B", "F"), tree.shortestPathData("F"));
+        Assertions.assertEquals(List.of("A", "C", "D", "E"), tree.shortestPathData("E"));
+        Assertions.assertEquals(6, tree.shortestPathCost("E"));
+        ShortestPathResult<String, Integer> result = tree.shortestPathResult("F");
+        Assertions.assertEquals(List.of(1, 3), result.getMilesPerSegment());
+        Assertions.assertEquals(4.0, result.getTotalMiles());
+        //The source has no parent
+        Assertions.assertEquals(-1, tree.getParent(tree.getGraph().getNodeId("A")));
+    }
+
+    /**
+     * This test checks that nodes the source can't reach, and nodes not in the graph, are reported the same way a
+     * search would report them
+     */
+    @Test
+    public void testTreeUnreachableNodes(){
+        ShortestPathTree<String, Integer> tree = lectureGraph().shortestPathTree("A");
+        int g = tree.getGraph().getNodeId("G");
+
+        Assertions.assertFalse(tree.canReach("G"));
+        Assertions.assertFalse(tree.canReach("Z"));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, tree.getDistance(g));
+        Assertions.assertEquals(-1, tree.getParent(g));
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathData("G"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathCost("Z"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.shortestPathResult("G"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> lectureGraph().shortestPathTree("Z"));
+    }
+
+    /**
+     * This test checks that a tree keeps its results after the graph it was built from changes
+     */
+    @Test
+    public void testTreeKeepsResultsAfterChanges(){
+        DijkstraGraph<String, Integer> graph = lectureGraph();
+        ShortestPathTree<String, Integer> tree = graph.shortestPathTree("A");
+        graph.insertEdge("A", "F", 1);
+        graph.removeNode("D");
+
+        Assertions.assertEquals(List.of("A", "B", "F"), tree.shortestPathData("F"));
+        Assertions.assertEquals(6, tree.shortestPathCost("E"));
+        //A new tree sees the changes
+        ShortestPathTree<String, Integer> newTree = graph.shortestPathTree("A");
+        Assertions.assertEquals(List.of("A", "F"), newTree.shortestPathData("F"));
+        Assertions.assertFalse(newTree.canReach("E"));
+    }
+
+}
@@ -5,7 +5,7 @@ import java.util.Scanner;
 public class Tester {
     public static void main(String[] args) {
 
-        PlaceholderMap map = new PlaceholderMap();
+        OpenAddressingMap map = new OpenAddressingMap();
 
         DijkstraGraph<String, Integer> graph = new DijkstraGraph(map);
 
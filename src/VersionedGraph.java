@@ -0,0 +1,483 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class is a graph that can be changed while other threads search it.
+ * Each version of the graph is an immutable FrozenGraph. Writers collect node
+ * and edge changes in an Update, and committing the Update builds a new
+ * FrozenGraph from the current one with the changes applied (copy on write)
+ * and then publishes it with a single atomic store.
+ *
+ * Readers never block and never see a half applied Update: each query reads
+ * the current version once and runs entirely on it, and a reader that needs
+ * several queries to agree can pin a version with current() and query it
+ * directly. Commits are made one at a time, so no Update is lost. Building a
+ * version copies the whole graph, so changes should be batched into as few
+ * Updates as possible.
+ */
+public class VersionedGraph<NodeType, EdgeType extends Number> implements GraphADT<NodeType, EdgeType> {
+
+    private final AtomicReference<FrozenGraph<NodeType, EdgeType>> current; // the latest published version
+
+    /**
+     * Creates a versioned graph whose first version is a FrozenGraph.
+     *
+     * @param initial the first version of the graph
+     */
+    public VersionedGraph(FrozenGraph<NodeType, EdgeType> initial) {
+        current = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Returns the latest published version of the graph. The version that is
+     * returned never changes, so every query made on it sees the same graph.
+     *
+     * @return the current version
+     */
+    public FrozenGraph<NodeType, EdgeType> current() {
+        return current.get();
+    }
+
+    /**
+     * Starts collecting a batch of changes. Nothing is changed until the
+     * batch is committed.
+     *
+     * @return an empty batch of changes to this graph
+     */
+    public Update update() {
+        return new Update();
+    }
+
+    // One change of a batch: its kind, the node or the edge's predecessor, the edge's successor and its weight
+    private class Change {
+        private final int kind;
+        private final NodeType node;
+        private final NodeType other;
+        private final EdgeType weight;
+
+        private Change(int kind, NodeType node, NodeType other, EdgeType weight) {
+            this.kind = kind;
+            this.node = node;
+            this.other = other;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A batch of changes to a VersionedGraph, applied in the order they were
+     * made when the batch is committed. Changes that refer to nodes that are
+     * not in the graph at that point, insert a node that is already there or
+     * remove an edge that isn't, are skipped, like the matching GraphADT
+     * methods returning false. An Update is used by one writer thread.
+     */
+    public class Update {
+
+        // The kinds of changes
+        private static final int INSERT_NODE = 0;
+        private static final int REMOVE_NODE = 1;
+        private static final int INSERT_EDGE = 2;
+        private static final int REMOVE_EDGE = 3;
+
+        private final ArrayList<Change> changes = new ArrayList<>();
+
+        private Update() {
+        }
+
+        /**
+         * Inserts a new node, if no node holds the same data.
+         *
+         * @param data the data item stored in the new node
+         * @return this batch, to chain more changes
+         */
+        public Update insertNode(NodeType data) {
+            if (data == null)
+                throw new NullPointerException("null nodes not allowed");
+            changes.add(new Change(INSERT_NODE, data, null, null));
+            return this;
+        }
+
+        /**
+         * Removes a node and all of the edges to and from it.
+         *
+         * @param data the data item stored in the node to remove
+         * @return this batch, to chain more changes
+         */
+        public Update removeNode(NodeType data) {
+            if (data == null)
+                throw new NullPointerException("null nodes not allowed");
+            changes.add(new Change(REMOVE_NODE, data, null, null));
+            return this;
+        }
+
+        /**
+         * Inserts an edge, or changes the weight of the edge if it exists.
+         *
+         * @param pred   the data item in the edge's predecessor node
+         * @param succ   the data item in the edge's successor node
+         * @param weight the non-negative weight of the edge
+         * @return this batch, to chain more changes
+         */
+        public Update insertEdge(NodeType pred, NodeType succ, EdgeType weight) {
+            if (weight == null)
+                throw new NullPointerException("null weights not allowed");
+            changes.add(new Change(INSERT_EDGE, pred, succ, weight));
+            return this;
+        }
+
+        /**
+         * Removes an edge, if it exists.
+         *
+         * @param pred the data item in the edge's predecessor node
+         * @param succ the data item in the edge's successor node
+         * @return this batch, to chain more changes
+         */
+        public Update removeEdge(NodeType pred, NodeType succ) {
+            changes.add(new Change(REMOVE_EDGE, pred, succ, null));
+            return this;
+        }
+
+        /**
+         * Builds a new version of the graph with every change in this batch
+         * applied, and publishes it. When every change is skipped, nothing is
+         * published.
+         *
+         * @return the new version of the graph, or the current version when
+         *         none of the changes could be applied
+         */
+        public FrozenGraph<NodeType, EdgeType> commit() {
+            return apply(changes, null);
+        }
+    }
+
+    /**
+     * Applies a list of changes to the current version and publishes the
+     * result. Only one commit runs at a time, so each builds on the last.
+     * When none of the changes can be applied, the current version is kept,
+     * so the graph isn't copied and readers keep their engines.
+     *
+     * @param changes the changes to apply, in order
+     * @param applied set to whether each change could be applied, or null
+     * @return the version that was published, or the current version when
+     *         nothing was applied
+     */
+    private synchronized FrozenGraph<NodeType, EdgeType> apply(List<Change> changes, boolean[] applied) {
+        FrozenGraph<NodeType, EdgeType> base = current.get();
+        HashSet<NodeType> removed = new HashSet<>(); // nodes of base that are not in the new version
+        LinkedHashSet<NodeType> inserted = new LinkedHashSet<>(); // nodes that are new in the new version
+        // edges to insert or change, with a null weight for edges to remove, by predecessor and then successor
+        HashMap<NodeType, HashMap<NodeType, EdgeType>> edges = new HashMap<>();
+        boolean changed = false; // whether any change was applied
+
+        for (int i = 0; i < changes.size(); i++) {
+            Change change = changes.get(i);
+            NodeType node = change.node;
+            NodeType other = change.other;
+            boolean done;
+            switch (change.kind) {
+                case Update.INSERT_NODE:
+                    done = !exists(base, removed, inserted, node);
+                    if (done)
+                        inserted.add(node); // a base node removed earlier in the batch comes back with no edges
+                    break;
+                case Update.REMOVE_NODE:
+                    done = exists(base, removed, inserted, node);
+                    if (done) {
+                        if (!inserted.remove(node))
+                            removed.add(node);
+                        edges.remove(node);
+                        for (HashMap<NodeType, EdgeType> row : edges.values())
+                            row.remove(node);
+                    }
+                    break;
+                case Update.REMOVE_EDGE:
+                    done = exists(base, removed, inserted, node) && exists(base, removed, inserted, other)
+                            && edgeExists(base, inserted, edges, node, other);
+                    if (done)
+                        edges.computeIfAbsent(node, pred -> new HashMap<>()).put(other, null);
+                    break;
+                default:
+                    done = exists(base, removed, inserted, node) && exists(base, removed, inserted, other);
+                    if (done)
+                        edges.computeIfAbsent(node, pred -> new HashMap<>()).put(other, change.weight);
+                    break;
+            }
+            if (applied != null)
+                applied[i] = done;
+            changed |= done;
+        }
+
+        if (!changed)
+            return base;
+        FrozenGraph<NodeType, EdgeType> next = build(base, removed, inserted, edges);
+        next.version = base.version + 1;
+        current.set(next);
+        return next;
+    }
+
+    // Checks whether a node is in the version being built
+    private static <NodeType> boolean exists(FrozenGraph<NodeType, ?> base, HashSet<NodeType> removed,
+                                             LinkedHashSet<NodeType> inserted, NodeType node) {
+        return inserted.contains(node) || (base.containsNode(node) && !removed.contains(node));
+    }
+
+    // Checks whether an edge between two nodes that are in the version being built is in it too
+    private static <NodeType, EdgeType> boolean edgeExists(FrozenGraph<NodeType, ?> base,
+                                                           LinkedHashSet<NodeType> inserted,
+                                                           HashMap<NodeType, HashMap<NodeType, EdgeType>> edges,
+                                                           NodeType pred, NodeType succ) {
+        HashMap<NodeType, EdgeType> row = edges.get(pred);
+        if (row != null && row.containsKey(succ))
+            return row.get(succ) != null;
+        // inserted nodes, including base nodes removed and inserted again, have no edges of the base version
+        return !inserted.contains(pred) && !inserted.contains(succ) && base.containsEdge(pred, succ);
+    }
+
+    /**
+     * Copies the CSR arrays of the base version into a new FrozenGraph,
+     * leaving out removed nodes and the edges touching them, adding the new
+     * nodes after the old ones, and merging the changed edges into their
+     * rows so each row stays sorted by successor id.
+     */
+    private FrozenGraph<NodeType, EdgeType> build(FrozenGraph<NodeType, EdgeType> base, HashSet<NodeType> removed,
+                                                  LinkedHashSet<NodeType> inserted,
+                                                  HashMap<NodeType, HashMap<NodeType, EdgeType>> edges) {
+        // give the nodes their new ids: the old nodes that remain in order, then the inserted ones
+        int baseCount = base.getNodeCount();
+        int[] newIds = new int[baseCount];
+        ArrayList<NodeType> nodes = new ArrayList<>();
+        HashMap<NodeType, Integer> ids = new HashMap<>();
+        for (int id = 0; id < baseCount; id++) {
+            NodeType data = base.getNodeData(id);
+            newIds[id] = removed.contains(data) ? -1 : nodes.size();
+            if (newIds[id] != -1) {
+                ids.put(data, nodes.size());
+                nodes.add(data);
+            }
+        }
+        int keptCount = nodes.size(); // the nodes before this are old, and the ones after are new
+        for (NodeType data : inserted) {
+            ids.put(data, nodes.size());
+            nodes.add(data);
+        }
+
+        int nodeCount = nodes.size();
+        int[] offsets = new int[nodeCount + 1];
+        IntList targets = new IntList(base.getEdgeCount());
+        ArrayList<EdgeType> edgeData = new ArrayList<>(base.getEdgeCount());
+        for (int id = 0; id < nodeCount; id++) {
+            offsets[id] = targets.size;
+            NodeType data = nodes.get(id);
+            int oldId = id < keptCount ? base.getNodeId(data) : -1;
+            HashMap<NodeType, EdgeType> changed = edges.get(data);
+            if (changed == null && oldId != -1) {
+                // an unchanged row only needs its successors renumbered
+                for (int edge = base.offsets[oldId]; edge < base.offsets[oldId + 1]; edge++) {
+                    if (newIds[base.targets[edge]] != -1) {
+                        targets.add(newIds[base.targets[edge]]);
+                        edgeData.add(base.getEdgeData(edge));
+                    }
+                }
+                continue;
+            }
+            // merge the old row with the changes, sorted by the new successor ids
+            TreeMap<Integer, EdgeType> row = new TreeMap<>();
+            if (oldId != -1)
+                for (int edge = base.offsets[oldId]; edge < base.offsets[oldId + 1]; edge++)
+                    if (newIds[base.targets[edge]] != -1)
+                        row.put(newIds[base.targets[edge]], base.getEdgeData(edge));
+            if (changed != null) {
+                for (Map.Entry<NodeType, EdgeType> entry : changed.entrySet()) {
+                    if (entry.getValue() == null)
+                        row.remove(ids.get(entry.getKey()));
+                    else
+                        row.put(ids.get(entry.getKey()), entry.getValue());
+                }
+            }
+            for (Map.Entry<Integer, EdgeType> entry : row.entrySet()) {
+                targets.add(entry.getKey());
+                edgeData.add(entry.getValue());
+            }
+        }
+        offsets[nodeCount] = targets.size;
+
+        NodeType[] nodeData = nodes.toArray(FrozenGraph.newNodeArray(nodeCount));
+        double[] weights = new double[targets.size];
+        for (int edge = 0; edge < weights.length; edge++)
+            weights[edge] = edgeData.get(edge).doubleValue();
+        FrozenGraph<NodeType, EdgeType> next = new FrozenGraph<>(nodeData, offsets, targets.toArray(), weights,
+                base.edgeFactory);
+        next.edgeData = edgeData.toArray(FrozenGraph.newEdgeArray(edgeData.size()));
+        return next;
+    }
+
+    // A growable array of ints, so the targets of a large graph are not boxed
+    private static class IntList {
+        int[] values;
+        int size = 0;
+
+        IntList(int capacity) {
+            values = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    // Commits a single change, reporting whether it could be applied
+    private boolean applyOne(Change change) {
+        boolean[] applied = new boolean[1];
+        ArrayList<Change> changes = new ArrayList<>();
+        changes.add(change);
+        apply(changes, applied);
+        return applied[0];
+    }
+
+    /**
+     * Inserts a new node by committing a new version with just this change.
+     *
+     * @param data is the data item stored in the new node
+     * @return true if the data is unique and can be inserted into a new node,
+     *         or false if this data is already in the graph
+     * @throws NullPointerException if data is null
+     */
+    @Override
+    public boolean insertNode(NodeType data) {
+        if (data == null)
+            throw new NullPointerException("null nodes not allowed");
+        return applyOne(new Change(Update.INSERT_NODE, data, null, null));
+    }
+
+    /**
+     * Removes a node and its edges by committing a new version with just
+     * this change.
+     *
+     * @param data is the data item stored in the node to be removed
+     * @return true if a vertex with data is found and removed, or
+     *         false if that data value is not found in the graph
+     * @throws NullPointerException if data is null
+     */
+    @Override
+    public boolean removeNode(NodeType data) {
+        if (data == null)
+            throw new NullPointerException("null nodes not allowed");
+        return applyOne(new Change(Update.REMOVE_NODE, data, null, null));
+    }
+
+    @Override
+    public boolean containsNode(NodeType data) {
+        return current().containsNode(data);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return current().getNodeCount();
+    }
+
+    /**
+     * Inserts an edge or changes its weight by committing a new version with
+     * just this change.
+     *
+     * @param pred   is the data item contained in the new edge's predecesor node
+     * @param succ   is the data item contained in the new edge's successor node
+     * @param weight is the non-negative data item stored in the new edge
+     * @return true if the edge could be inserted or updated, or
+     *         false if the pred or succ data are not found in any graph nodes
+     */
+    @Override
+    public boolean insertEdge(NodeType pred, NodeType succ, EdgeType weight) {
+        if (weight == null)
+            throw new NullPointerException("null weights not allowed");
+        return applyOne(new Change(Update.INSERT_EDGE, pred, succ, weight));
+    }
+
+    /**
+     * Removes an edge by committing a new version with just this change.
+     *
+     * @param pred the data item contained in the source node for the edge
+     * @param succ the data item contained in the target node for the edge
+     * @return true if the edge could be removed, or
+     *         false if such an edge is not found in the graph
+     */
+    @Override
+    public boolean removeEdge(NodeType pred, NodeType succ) {
+        return applyOne(new Change(Update.REMOVE_EDGE, pred, succ, null));
+    }
+
+    @Override
+    public boolean containsEdge(NodeType pred, NodeType succ) {
+        return current().containsEdge(pred, succ);
+    }
+
+    @Override
+    public EdgeType getEdge(NodeType pred, NodeType succ) {
+        return current().getEdge(pred, succ);
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return current().getEdgeCount();
+    }
+
+    /**
+     * Returns the list of data values from nodes along the shortest path
+     * between two nodes, searching the version that is current when the
+     * search starts.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return list of data item from node along this shortest path
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    @Override
+    public List<NodeType> shortestPathData(NodeType start, NodeType end) {
+        return current().shortestPathData(start, end);
+    }
+
+    /**
+     * Returns the cost of the shortest path between two nodes, searching the
+     * version that is current when the search starts.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     * @throws NoSuchElementException when no path from start to end is found
+     *                                or when either start or end data do not
+     *                                correspond to a graph node
+     */
+    @Override
+    public double shortestPathCost(NodeType start, NodeType end) {
+        return current().shortestPathCost(start, end);
+    }
+
+    /**
+     * Returns the shortest path tree of a source node in the version that is
+     * current when the search starts.
+     *
+     * @param source the data item in the node the paths start from
+     * @return the shortest path tree rooted at the source
+     * @throws NoSuchElementException when source does not correspond to a
+     *                                graph node
+     */
+    @Override
+    public ShortestPathTree<NodeType, EdgeType> shortestPathTree(NodeType source) {
+        return current().shortestPathTree(source);
+    }
+
+}
@@ -0,0 +1,137 @@
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class tests VersionedGraph, the copy-on-write graph that publishes a new FrozenGraph for each batch of changes
+ */
+public class VersionedGraphTests {
+
+    // Creates a versioned graph whose first version is the graph from lecture
+    private static VersionedGraph<String, Integer> lectureGraph() {
+        DijkstraGraph<String, Integer> graph = new DijkstraGraph<>(new PlaceholderMap<>());
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertNode("D");
+        graph.insertNode("E");
+        graph.insertNode("F");
+
+        graph.insertEdge("A", "B", 1);
+        graph.insertEdge("B", "F", 3);
+        graph.insertEdge("A", "C", 2);
+        graph.insertEdge("C", "D", 2);
+        graph.insertEdge("D", "E", 2);
+        graph.insertEdge("E", "F", 2);
+        return new VersionedGraph<>(graph.freeze());
+    }
+
+    /**
+     * This test checks that nothing changes until a batch is committed, that committing publishes the next version
+     * with every change, and that a version pinned before the commit keeps answering with the old graph
+     */
+    @Test
+    public void testCommitPublishesNewVersion(){
+        VersionedGraph<String, Integer> versioned = lectureGraph();
+        FrozenGraph<String, Integer> pinned = versioned.current();
+
+        VersionedGraph<String, Integer>.Update update = versioned.update()
+                .insertNode("G")
+                .insertEdge("A", "G", 1)
+                .insertEdge("G", "F", 1)
+                .removeNode("C");
+        Assertions.assertSame(pinned, versioned.current());
+        FrozenGraph<String, Integer> committed = update.commit();
+
+        Assertions.assertSame(committed, versioned.current());
+        Assertions.assertEquals(pinned.getVersion() + 1, committed.getVersion());
+        Assertions.assertEquals(6, versioned.getNodeCount());
+        //C's two edges are gone and two were added
+        Assertions.assertEquals(6, versioned.getEdgeCount());
+        Assertions.assertEquals(List.of("A", "G", "F"), versioned.shortestPathData("A", "F"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> versioned.shortestPathData("A", "E"));
+        //The pinned version still has the old graph
+        Assertions.assertEquals(List.of("A", "B", "F"), pinned.shortestPathData("A", "F"));
+        Assertions.assertEquals(6, pinned.shortestPathCost("A", "E"));
+        Assertions.assertFalse(pinned.containsNode("G"));
+    }
+
+    /**
+     * This test checks that the changes in a batch are applied in order, so later changes see the earlier ones
+     */
+    @Test
+    public void testBatchAppliedInOrder(){
+        VersionedGraph<String, Integer> versioned = lectureGraph();
+
+        versioned.update()
+                //A node removed and inserted again comes back without its old edges
+                .removeNode("B")
+                .insertNode("B")
+                //An edge to a node removed earlier in the batch is skipped
+                .removeNode("D")
+                .insertEdge("C", "D", 1)
+                //An edge inserted and then removed is not in the new version
+                .insertEdge("A", "E", 1)
+                .removeEdge("A", "E")
+                //The last weight given to an edge wins
+                .insertEdge("E", "F", 7)
+                .insertEdge("E", "F", 4)
+                .commit();
+
+        Assertions.assertTrue(versioned.containsNode("B"));
+        Assertions.assertFalse(versioned.containsEdge("A", "B"));
+        Assertions.assertFalse(versioned.containsEdge("B", "F"));
+        Assertions.assertFalse(versioned.containsNode("D"));
+        Assertions.assertFalse(versioned.containsEdge("A", "E"));
+        Assertions.assertEquals(4, (int) versioned.getEdge("E", "F"));
+        Assertions.assertEquals(2, versioned.getEdgeCount());
+    }
+
+    /**
+     * This test checks that changes that can't be applied don't publish a new version, while a batch with at least
+     * one change that can does
+     */
+    @Test
+    public void testNoChangeNoVersion(){
+        VersionedGraph<String, Integer> versioned = lectureGraph();
+        FrozenGraph<String, Integer> unchanged = versioned.current();
+
+        Assertions.assertFalse(versioned.insertNode("A"));
+        Assertions.assertFalse(versioned.removeNode("Z"));
+        Assertions.assertFalse(versioned.insertEdge("A", "Z", 5));
+        Assertions.assertFalse(versioned.removeEdge("F", "A"));
+        Assertions.assertSame(unchanged, versioned.update().insertNode("B").removeEdge("F", "E").commit());
+        Assertions.assertSame(unchanged, versioned.current());
+        //Removing an edge inserted earlier in the same batch is applied
+        FrozenGraph<String, Integer> next = versioned.update().insertEdge("F", "A", 1).removeEdge("F", "A").commit();
+        Assertions.assertEquals(unchanged.getVersion() + 1, next.getVersion());
+        Assertions.assertFalse(next.containsEdge("F", "A"));
+    }
+
+    /**
+     * This test runs a reader while a writer switches between two versions, and checks the reader only ever sees one
+     * version or the other, never a batch half applied
+     */
+    @Test
+    public void testReaderSeesWholeVersions() throws InterruptedException {
+        VersionedGraph<String, Integer> versioned = lectureGraph();
+        boolean[] consistent = {true};
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                double cost = versioned.shortestPathCost("A", "F");
+                //4 through B before the first batch, or 8 through C, D and E after it
+                consistent[0] &= cost == 4 || cost == 8;
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 200; i++) {
+            versioned.update().removeEdge("A", "B").removeEdge("B", "F").commit();
+            versioned.update().insertEdge("A", "B", 1).insertEdge("B", "F", 3).commit();
+        }
+        reader.join();
+        Assertions.assertTrue(consistent[0]);
+    }
+
+}